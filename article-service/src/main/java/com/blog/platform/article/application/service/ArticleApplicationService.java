@@ -4,18 +4,26 @@ import com.blog.platform.article.application.dto.*;
 import com.blog.platform.article.application.saga.ArticlePublishSaga;
 import com.blog.platform.article.domain.exception.ArticleDomainException;
 import com.blog.platform.article.domain.repository.ArticleRepository;
+import com.blog.platform.article.infrastructure.cache.ArticleExistenceFilterSource;
 import com.blog.platform.article.infrastructure.elasticsearch.model.ArticleReadModel;
-import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleReadModelSyncService;
+import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleReadModelSyncQueue;
 import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleSearchService;
 import com.blog.platform.article.infrastructure.messaging.ArticleEventPublisher;
 import com.blog.platform.article.infrastructure.persistence.entity.ArticleBookmarkEntity;
 import com.blog.platform.article.infrastructure.persistence.entity.ArticleLikeEntity;
+import com.blog.platform.article.infrastructure.persistence.projection.ArticleCardView;
 import com.blog.platform.article.infrastructure.persistence.repository.ArticleBookmarkRepository;
 import com.blog.platform.article.infrastructure.persistence.repository.ArticleLikeRepository;
 import com.blog.platform.article.infrastructure.persistence.repository.ArticleJpaRepository;
+import com.blog.platform.article.infrastructure.statistics.ArticleReactionStore;
+import com.blog.platform.article.infrastructure.statistics.ArticleReactionStore.Reaction;
+import com.blog.platform.article.infrastructure.statistics.ArticleViewCountBuffer;
 import com.blog.platform.common.domain.DomainEventPublisher;
 import com.blog.platform.common.domain.article.*;
 import com.blog.platform.common.domain.user.UserId;
+import com.blog.platform.common.repository.CursorPage;
+import com.blog.platform.common.repository.KeysetCursor;
+import com.blog.platform.common.repository.TotalMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,16 +31,22 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,6 +55,18 @@ public class ArticleApplicationService {
     
     private static final Logger logger = LoggerFactory.getLogger(ArticleApplicationService.class);
     
+    public static final String ARTICLE_DETAIL_CACHE_PREFIX = "article:detail:";
+    
+    public static final Duration ARTICLE_DETAIL_CACHE_TTL = Duration.ofMinutes(30);
+    
+    private static final String ARTICLE_CARD_CACHE_PREFIX = "article:card:";
+    
+    private static final Duration ARTICLE_CARD_CACHE_TTL = Duration.ofMinutes(10);
+    
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
+    private static final String ARTICLE_COUNT_CACHE_PREFIX = "article:count:";
+    
     @Autowired
     private ArticleRepository articleRepository;
     
@@ -48,7 +74,7 @@ public class ArticleApplicationService {
     private ArticleSearchService searchService;
     
     @Autowired(required = false)
-    private ArticleReadModelSyncService readModelSyncService;
+    private ArticleReadModelSyncQueue readModelSyncQueue;
     
     @Autowired
     private DomainEventPublisher eventPublisher;
@@ -71,9 +97,27 @@ public class ArticleApplicationService {
     @Value("${feature.cqrs.enabled:false}")
     private boolean cqrsEnabled;
     
+    @Value("${article-service.reaction.max-status-batch:100}")
+    private int maxStatusBatch;
+    
     @Autowired
     private com.blog.platform.common.cache.CacheProtectionService cacheProtectionService;
     
+    @Autowired
+    private com.blog.platform.common.cache.CacheService cacheService;
+    
+    @Autowired
+    private com.blog.platform.common.cache.ApproximateCountService approximateCountService;
+    
+    @Autowired(required = false)
+    private com.blog.platform.common.cache.ExistenceFilterService existenceFilterService;
+    
+    @Autowired
+    private ArticleViewCountBuffer viewCountBuffer;
+    
+    @Autowired
+    private ArticleReactionStore reactionStore;
+    
     public ArticleDto createArticle(String authorId, CreateArticleRequest request) {
         if (authorId == null || authorId.trim().isEmpty()) {
             throw new ArticleDomainException("INVALID_AUTHOR", "作者ID不能为空");
@@ -87,6 +131,10 @@ public class ArticleApplicationService {
             Article article = Article.create(userId, title, content);
             Article savedArticle = articleRepository.save(article);
             
+            if (existenceFilterService != null) {
+                existenceFilterService.put(ArticleExistenceFilterSource.NAME, savedArticle.getId().getValue());
+            }
+            
             eventPublisher.publishEvents(savedArticle);
             savedArticle.clearDomainEvents();
             
@@ -97,8 +145,8 @@ public class ArticleApplicationService {
             );
             articleEventPublisher.publishArticleCreatedEvent(event);
             
-            if (cqrsEnabled && readModelSyncService != null) {
-                readModelSyncService.syncArticle(savedArticle.getId().getValue());
+            if (cqrsEnabled && readModelSyncQueue != null) {
+                readModelSyncQueue.enqueue(savedArticle.getId().getValue());
             }
             
             return toDto(savedArticle);
@@ -124,6 +172,7 @@ public class ArticleApplicationService {
             }
             
             Article savedArticle = articleRepository.save(article);
+            evictArticleCache(articleId);
             
             eventPublisher.publishEvents(savedArticle);
             savedArticle.clearDomainEvents();
@@ -136,8 +185,8 @@ public class ArticleApplicationService {
             );
             articleEventPublisher.publishArticleUpdatedEvent(event);
             
-            if (cqrsEnabled && readModelSyncService != null) {
-                readModelSyncService.syncArticle(savedArticle.getId().getValue());
+            if (cqrsEnabled && readModelSyncQueue != null) {
+                readModelSyncQueue.enqueue(savedArticle.getId().getValue());
             }
             
             return toDto(savedArticle);
@@ -159,11 +208,12 @@ public class ArticleApplicationService {
         if (articlePublishSaga != null && articlePublishSaga.isPresent()) {
             try {
                 articlePublishSaga.get().publishArticle(articleId, authorId);
+                evictArticleCache(articleId);
                 ArticlePublishedEvent event = new ArticlePublishedEvent(
                     articleId, authorId, article.getTitle().getValue(), LocalDateTime.now());
                 articleEventPublisher.publishArticlePublishedEvent(event);
-                if (cqrsEnabled && readModelSyncService != null) {
-                    readModelSyncService.syncArticle(articleId);
+                if (cqrsEnabled && readModelSyncQueue != null) {
+                    readModelSyncQueue.enqueue(articleId);
                 }
             } catch (Exception e) {
                 throw new ArticleDomainException("PUBLISH_FAILED", "文章发布失败: " + e.getMessage());
@@ -171,13 +221,14 @@ public class ArticleApplicationService {
         } else {
             article.publish();
             articleRepository.save(article);
+            evictArticleCache(articleId);
             eventPublisher.publishEvents(article);
             article.clearDomainEvents();
             ArticlePublishedEvent event = new ArticlePublishedEvent(
                 articleId, authorId, article.getTitle().getValue(), LocalDateTime.now());
             articleEventPublisher.publishArticlePublishedEvent(event);
-            if (cqrsEnabled && readModelSyncService != null) {
-                readModelSyncService.syncArticle(articleId);
+            if (cqrsEnabled && readModelSyncQueue != null) {
+                readModelSyncQueue.enqueue(articleId);
             }
         }
     }
@@ -192,6 +243,7 @@ public class ArticleApplicationService {
         try {
             article.archive();
             Article savedArticle = articleRepository.save(article);
+            evictArticleCache(articleId);
             
             eventPublisher.publishEvents(savedArticle);
             savedArticle.clearDomainEvents();
@@ -203,8 +255,8 @@ public class ArticleApplicationService {
             );
             articleEventPublisher.publishArticleArchivedEvent(event);
             
-            if (cqrsEnabled && readModelSyncService != null) {
-                readModelSyncService.syncArticle(savedArticle.getId().getValue());
+            if (cqrsEnabled && readModelSyncQueue != null) {
+                readModelSyncQueue.enqueue(savedArticle.getId().getValue());
             }
         } catch (IllegalStateException e) {
             throw new ArticleDomainException("ARCHIVE_FAILED", e.getMessage());
@@ -213,7 +265,7 @@ public class ArticleApplicationService {
     
     @Transactional(readOnly = true)
     public ArticleDto getArticleDetail(String articleId) {
-        String cacheKey = "article:detail:" + articleId;
+        String cacheKey = ARTICLE_DETAIL_CACHE_PREFIX + articleId;
         
         ArticleDto cachedArticle = cacheProtectionService.getWithAsyncRefresh(
             cacheKey,
@@ -222,32 +274,49 @@ public class ArticleApplicationService {
                 Article article = findArticleById(articleId);
                 return toDto(article);
             },
-            Duration.ofMinutes(30)
+            ARTICLE_DETAIL_CACHE_TTL
         );
         
-        if (cachedArticle != null && "PUBLISHED".equals(cachedArticle.getStatus())) {
-            java.util.concurrent.CompletableFuture.runAsync(() -> {
-                try {
-                    Article article = findArticleById(articleId);
-                    if (article.getStatus().isVisible()) {
-                        article.incrementViewCount();
-                        articleRepository.save(article);
-                        if (cqrsEnabled && readModelSyncService != null) {
-                            readModelSyncService.syncArticle(article.getId().getValue());
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.warn("异步更新文章浏览量失败: {}", articleId, e);
-                }
-            });
+        if (cachedArticle == null) {
+            throw new ArticleDomainException("ARTICLE_NOT_FOUND", "文章不存在: " + articleId);
+        }
+        
+        if (cachedArticle.getStatus() == ArticleStatus.PUBLISHED) {
+            viewCountBuffer.record(articleId);
         }
         
         return cachedArticle;
     }
     
+    /**
+     * 批量加载文章详情，不存在的文章不出现在结果中，供缓存预热使用
+     */
+    @Transactional(readOnly = true)
+    public Map<String, ArticleDto> loadArticleDetails(List<String> articleIds) {
+        Map<String, Article> found = findArticlesByIds(articleIds);
+        Map<String, ArticleDto> articles = new LinkedHashMap<>();
+        for (String articleId : articleIds) {
+            Article article = found.get(articleId);
+            if (article != null) {
+                articles.put(articleId, toDto(article));
+            }
+        }
+        return articles;
+    }
+    
     @Transactional(readOnly = true)
     public PageResult<ArticleListDto> getArticles(int page, int size, String status, String authorId, 
                                                     Long categoryId, String tag, String sort) {
+        return getArticles(page, size, status, authorId, categoryId, tag, sort, TotalMode.EXACT);
+    }
+    
+    /**
+     * 分页查询文章列表；totalMode为APPROX时总数取自短时缓存，为NONE时不计算总数
+     * （totalElements和totalPages为-1），两者都不执行COUNT
+     */
+    @Transactional(readOnly = true)
+    public PageResult<ArticleListDto> getArticles(int page, int size, String status, String authorId, 
+                                                    Long categoryId, String tag, String sort, TotalMode totalMode) {
         Sort sortObj = Sort.by("createdAt").descending();
         if (sort != null && !sort.isEmpty()) {
             String[] sortParts = sort.split(",");
@@ -259,23 +328,48 @@ public class ArticleApplicationService {
         }
         
         Pageable pageable = PageRequest.of(page, size, sortObj);
-        Page<Article> articlePage;
         
-        if (categoryId != null) {
-            articlePage = articleRepository.findPublishedArticles(pageable);
-        } else if (authorId != null && !authorId.trim().isEmpty()) {
-            UserId userId = UserId.of(authorId);
-            if (status != null && !status.trim().isEmpty()) {
-                ArticleStatus articleStatus = ArticleStatus.valueOf(status.toUpperCase());
-                articlePage = articleRepository.findByAuthorIdAndStatus(userId, articleStatus, pageable);
+        // 分类筛选暂按已发布列表处理
+        boolean byAuthor = categoryId == null && authorId != null && !authorId.trim().isEmpty();
+        ArticleStatus articleStatus = categoryId == null && status != null && !status.trim().isEmpty()
+                ? ArticleStatus.valueOf(status.toUpperCase())
+                : null;
+        
+        // 列表只查询卡片投影，不加载content
+        if (totalMode != TotalMode.EXACT) {
+            Slice<ArticleCardView> slice;
+            String countKey;
+            LongSupplier exactCount;
+            if (byAuthor && articleStatus != null) {
+                slice = articleJpaRepository.sliceCardsByAuthorIdAndStatus(authorId, articleStatus, pageable);
+                countKey = ARTICLE_COUNT_CACHE_PREFIX + "author:" + authorId + ":" + articleStatus;
+                exactCount = () -> articleJpaRepository.countByAuthorIdAndStatus(authorId, articleStatus);
+            } else if (byAuthor) {
+                slice = articleJpaRepository.sliceCardsByAuthorId(authorId, pageable);
+                countKey = ARTICLE_COUNT_CACHE_PREFIX + "author:" + authorId;
+                exactCount = () -> articleJpaRepository.countByAuthorId(authorId);
+            } else if (articleStatus != null) {
+                slice = articleJpaRepository.sliceCardsByStatus(articleStatus, pageable);
+                countKey = ARTICLE_COUNT_CACHE_PREFIX + "status:" + articleStatus;
+                exactCount = () -> articleJpaRepository.countByStatus(articleStatus);
             } else {
-                articlePage = articleRepository.findByAuthorId(userId, pageable);
+                slice = articleJpaRepository.slicePublishedCards(pageable);
+                countKey = ARTICLE_COUNT_CACHE_PREFIX + "status:" + ArticleStatus.PUBLISHED;
+                exactCount = () -> articleJpaRepository.countByStatus(ArticleStatus.PUBLISHED);
             }
-        } else if (status != null && !status.trim().isEmpty()) {
-            ArticleStatus articleStatus = ArticleStatus.valueOf(status.toUpperCase());
-            articlePage = articleRepository.findByStatus(articleStatus, pageable);
+            long total = totalMode == TotalMode.APPROX ? approximateCountService.count(countKey, exactCount) : -1;
+            return toPageResult(slice, total);
+        }
+        
+        Page<ArticleCardView> articlePage;
+        if (byAuthor && articleStatus != null) {
+            articlePage = articleJpaRepository.findCardsByAuthorIdAndStatus(authorId, articleStatus, pageable);
+        } else if (byAuthor) {
+            articlePage = articleJpaRepository.findCardsByAuthorId(authorId, pageable);
+        } else if (articleStatus != null) {
+            articlePage = articleJpaRepository.findCardsByStatus(articleStatus, pageable);
         } else {
-            articlePage = articleRepository.findPublishedArticles(pageable);
+            articlePage = articleJpaRepository.findPublishedCards(pageable);
         }
         
         List<ArticleListDto> articles = articlePage.getContent().stream()
@@ -295,11 +389,78 @@ public class ArticleApplicationService {
         );
     }
     
+    /**
+     * 由不带COUNT的分页结果构建PageResult，total小于0表示不计算总数；
+     * 近似总数不少于已经翻过的条数，避免与hasNext矛盾
+     */
+    private PageResult<ArticleListDto> toPageResult(Slice<ArticleCardView> slice, long total) {
+        List<ArticleListDto> articles = slice.getContent().stream()
+                .map(this::toListDto)
+                .collect(Collectors.toList());
+        
+        long totalElements = -1;
+        int totalPages = -1;
+        if (total >= 0) {
+            long seen = (long) slice.getNumber() * slice.getSize() + articles.size() + (slice.hasNext() ? 1 : 0);
+            totalElements = Math.max(total, seen);
+            totalPages = (int) ((totalElements + slice.getSize() - 1) / slice.getSize());
+        }
+        
+        return new PageResult<>(
+                articles,
+                slice.getNumber(),
+                slice.getSize(),
+                totalElements,
+                totalPages,
+                slice.isFirst(),
+                slice.isLast(),
+                slice.hasNext(),
+                slice.hasPrevious()
+        );
+    }
+    
+    /**
+     * 游标分页查询文章列表，不执行COUNT，深度翻页不随页码变慢。
+     * 已发布列表按(publishTime, id)倒序，作者和其他状态列表按(createdAt, id)倒序；
+     * 游标模式下排序固定，不支持sort参数。after为空表示第一页
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleListDto> getArticlesAfter(String after, int size, String status, String authorId) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+        ArticleStatus articleStatus = status != null && !status.trim().isEmpty()
+                ? ArticleStatus.valueOf(status.toUpperCase())
+                : null;
+        
+        Slice<ArticleCardView> slice;
+        boolean byPublishTime = false;
+        if (authorId != null && !authorId.trim().isEmpty()) {
+            slice = cursor == null
+                    ? articleJpaRepository.findCardSliceByAuthorId(authorId, articleStatus, pageable)
+                    : articleJpaRepository.findCardSliceByAuthorIdAfter(authorId, articleStatus,
+                            cursor.getSortKey(), cursor.getId(), pageable);
+        } else if (articleStatus != null && articleStatus != ArticleStatus.PUBLISHED) {
+            slice = cursor == null
+                    ? articleJpaRepository.findCardSliceByStatus(articleStatus, pageable)
+                    : articleJpaRepository.findCardSliceByStatusAfter(articleStatus,
+                            cursor.getSortKey(), cursor.getId(), pageable);
+        } else {
+            byPublishTime = true;
+            slice = cursor == null
+                    ? articleJpaRepository.findPublishedCardSlice(pageable)
+                    : articleJpaRepository.findPublishedCardSliceAfter(cursor.getSortKey(), cursor.getId(), pageable);
+        }
+        
+        boolean publishTimeKey = byPublishTime;
+        return CursorPage.from(slice, this::toListDto, card -> KeysetCursor.of(
+                publishTimeKey ? card.getPublishTime() : card.getCreatedAt(), card.getId()));
+    }
+    
     @Transactional(readOnly = true)
     public PageResult<ArticleListDto> searchArticles(String keyword, int page, int size) {
         if (searchService == null) {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Article> articlePage = articleRepository.findPublishedArticles(pageable);
+            Page<ArticleCardView> articlePage = articleJpaRepository.findPublishedCards(pageable);
             List<ArticleListDto> articles = articlePage.getContent().stream()
                     .map(this::toListDto)
                     .collect(Collectors.toList());
@@ -390,8 +551,9 @@ public class ArticleApplicationService {
         }
         
         articleRepository.deleteById(ArticleId.of(articleId));
-        if (cqrsEnabled && readModelSyncService != null) {
-            readModelSyncService.syncArticle(articleId);
+        evictArticleCache(articleId);
+        if (cqrsEnabled && readModelSyncQueue != null) {
+            readModelSyncQueue.enqueue(articleId);
         }
     }
     
@@ -400,6 +562,16 @@ public class ArticleApplicationService {
             throw new ArticleDomainException("UNAUTHORIZED", "请先登录");
         }
         
+        Boolean changed = applyReaction(Reaction.LIKE, articleId, userId, true);
+        if (changed != null) {
+            if (changed) {
+                logger.info("文章点赞成功: userId={}, articleId={}", userId, articleId);
+            } else {
+                logger.info("用户已点赞过该文章: userId={}, articleId={}", userId, articleId);
+            }
+            return;
+        }
+        
         Article article = findArticleById(articleId);
         
         if (articleLikeRepository.existsByArticleIdAndUserId(articleId, userId)) {
@@ -409,12 +581,13 @@ public class ArticleApplicationService {
         
         ArticleLikeEntity like = new ArticleLikeEntity(articleId, userId);
         articleLikeRepository.save(like);
+        reactionStore.evict(articleId);
         
         article.getStatistics().incrementLikeCount();
         articleRepository.save(article);
         
-        if (cqrsEnabled && readModelSyncService != null) {
-            readModelSyncService.syncArticle(articleId);
+        if (cqrsEnabled && readModelSyncQueue != null) {
+            readModelSyncQueue.enqueueStatistics(articleId);
         }
         
         logger.info("文章点赞成功: userId={}, articleId={}", userId, articleId);
@@ -425,6 +598,16 @@ public class ArticleApplicationService {
             throw new ArticleDomainException("UNAUTHORIZED", "请先登录");
         }
         
+        Boolean changed = applyReaction(Reaction.LIKE, articleId, userId, false);
+        if (changed != null) {
+            if (changed) {
+                logger.info("取消点赞成功: userId={}, articleId={}", userId, articleId);
+            } else {
+                logger.info("用户未点赞过该文章: userId={}, articleId={}", userId, articleId);
+            }
+            return;
+        }
+        
         Article article = findArticleById(articleId);
         
         if (!articleLikeRepository.existsByArticleIdAndUserId(articleId, userId)) {
@@ -433,12 +616,13 @@ public class ArticleApplicationService {
         }
         
         articleLikeRepository.deleteByArticleIdAndUserId(articleId, userId);
+        reactionStore.evict(articleId);
         
         article.getStatistics().decrementLikeCount();
         articleRepository.save(article);
         
-        if (cqrsEnabled && readModelSyncService != null) {
-            readModelSyncService.syncArticle(articleId);
+        if (cqrsEnabled && readModelSyncQueue != null) {
+            readModelSyncQueue.enqueueStatistics(articleId);
         }
         
         logger.info("取消点赞成功: userId={}, articleId={}", userId, articleId);
@@ -449,6 +633,16 @@ public class ArticleApplicationService {
             throw new ArticleDomainException("UNAUTHORIZED", "请先登录");
         }
         
+        Boolean changed = applyReaction(Reaction.BOOKMARK, articleId, userId, true);
+        if (changed != null) {
+            if (changed) {
+                logger.info("文章收藏成功: userId={}, articleId={}", userId, articleId);
+            } else {
+                logger.info("用户已收藏过该文章: userId={}, articleId={}", userId, articleId);
+            }
+            return;
+        }
+        
         Article article = findArticleById(articleId);
         
         if (articleBookmarkRepository.existsByArticleIdAndUserId(articleId, userId)) {
@@ -458,12 +652,13 @@ public class ArticleApplicationService {
         
         ArticleBookmarkEntity bookmark = new ArticleBookmarkEntity(articleId, userId);
         articleBookmarkRepository.save(bookmark);
+        reactionStore.evict(articleId);
         
         article.getStatistics().incrementBookmarkCount();
         articleRepository.save(article);
         
-        if (cqrsEnabled && readModelSyncService != null) {
-            readModelSyncService.syncArticle(articleId);
+        if (cqrsEnabled && readModelSyncQueue != null) {
+            readModelSyncQueue.enqueueStatistics(articleId);
         }
         
         logger.info("文章收藏成功: userId={}, articleId={}", userId, articleId);
@@ -474,6 +669,16 @@ public class ArticleApplicationService {
             throw new ArticleDomainException("UNAUTHORIZED", "请先登录");
         }
         
+        Boolean changed = applyReaction(Reaction.BOOKMARK, articleId, userId, false);
+        if (changed != null) {
+            if (changed) {
+                logger.info("取消收藏成功: userId={}, articleId={}", userId, articleId);
+            } else {
+                logger.info("用户未收藏过该文章: userId={}, articleId={}", userId, articleId);
+            }
+            return;
+        }
+        
         Article article = findArticleById(articleId);
         
         if (!articleBookmarkRepository.existsByArticleIdAndUserId(articleId, userId)) {
@@ -482,17 +687,39 @@ public class ArticleApplicationService {
         }
         
         articleBookmarkRepository.deleteByArticleIdAndUserId(articleId, userId);
+        reactionStore.evict(articleId);
         
         article.getStatistics().decrementBookmarkCount();
         articleRepository.save(article);
         
-        if (cqrsEnabled && readModelSyncService != null) {
-            readModelSyncService.syncArticle(articleId);
+        if (cqrsEnabled && readModelSyncQueue != null) {
+            readModelSyncQueue.enqueueStatistics(articleId);
         }
         
         logger.info("取消收藏成功: userId={}, articleId={}", userId, articleId);
     }
     
+    /**
+     * 通过Redis设置点赞/收藏状态，数据库由后台批量写入。
+     * 返回状态是否发生变化；Redis不可用时返回null，由调用方同步写库
+     */
+    private Boolean applyReaction(Reaction reaction, String articleId, String userId, boolean active) {
+        if (!reactionStore.isAvailable()) {
+            return null;
+        }
+        ArticleReactionStore.Result result;
+        try {
+            result = reactionStore.apply(reaction, articleId, userId, active);
+        } catch (Exception e) {
+            logger.warn("Redis写入点赞/收藏状态失败，回退到数据库: articleId={}, error={}", articleId, e.getMessage());
+            return null;
+        }
+        if (result == ArticleReactionStore.Result.ARTICLE_NOT_FOUND) {
+            throw new ArticleDomainException("ARTICLE_NOT_FOUND", "文章不存在: " + articleId);
+        }
+        return result == ArticleReactionStore.Result.CHANGED;
+    }
+    
     @Transactional(readOnly = true)
     public Map<String, Boolean> getLikeAndBookmarkStatus(String articleId, String userId) {
         Map<String, Boolean> status = new HashMap<>();
@@ -503,12 +730,80 @@ public class ArticleApplicationService {
             return status;
         }
         
+        if (reactionStore.isAvailable()) {
+            try {
+                status.put("liked", reactionStore.isMember(Reaction.LIKE, articleId, userId));
+                status.put("bookmarked", reactionStore.isMember(Reaction.BOOKMARK, articleId, userId));
+                return status;
+            } catch (Exception e) {
+                logger.warn("从Redis读取点赞/收藏状态失败，回退到数据库: articleId={}, error={}", articleId, e.getMessage());
+            }
+        }
+        
         status.put("liked", articleLikeRepository.existsByArticleIdAndUserId(articleId, userId));
         status.put("bookmarked", articleBookmarkRepository.existsByArticleIdAndUserId(articleId, userId));
         
         return status;
     }
     
+    /**
+     * 批量查询当前用户对一组文章的点赞/收藏状态，用于文章列表页。
+     * 返回{"liked": [...], "bookmarked": [...]}，只列出已点赞/已收藏的文章ID；
+     * 优先一次Redis管道查询，集合未加载的文章每张表一条IN查询补齐
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<String>> getLikeAndBookmarkStatuses(List<String> articleIds, String userId) {
+        List<String> ids = articleIds == null ? List.of() : articleIds.stream()
+                .filter(id -> id != null && !id.trim().isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        if (ids.size() > maxStatusBatch) {
+            throw new ArticleDomainException("TOO_MANY_IDS", "一次最多查询" + maxStatusBatch + "篇文章");
+        }
+        
+        Map<String, List<String>> statuses = new LinkedHashMap<>();
+        if (userId == null || userId.trim().isEmpty() || ids.isEmpty()) {
+            statuses.put("liked", List.of());
+            statuses.put("bookmarked", List.of());
+            return statuses;
+        }
+        
+        statuses.put("liked", reactedArticleIds(Reaction.LIKE, ids, userId));
+        statuses.put("bookmarked", reactedArticleIds(Reaction.BOOKMARK, ids, userId));
+        return statuses;
+    }
+    
+    private List<String> reactedArticleIds(Reaction reaction, List<String> ids, String userId) {
+        Map<String, Boolean> memberships = Map.of();
+        if (reactionStore.isAvailable()) {
+            try {
+                memberships = reactionStore.memberships(reaction, ids, userId);
+            } catch (Exception e) {
+                logger.warn("从Redis批量读取点赞/收藏状态失败，回退到数据库: articles={}, error={}", ids.size(), e.getMessage());
+            }
+        }
+        
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            if (!memberships.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        Set<String> reacted = new LinkedHashSet<>();
+        if (!missing.isEmpty()) {
+            reacted.addAll(reaction == Reaction.LIKE
+                    ? articleLikeRepository.findLikedArticleIds(userId, missing)
+                    : articleBookmarkRepository.findBookmarkedArticleIds(userId, missing));
+        }
+        memberships.forEach((id, member) -> {
+            if (member) {
+                reacted.add(id);
+            }
+        });
+        // 按请求顺序返回
+        return ids.stream().filter(reacted::contains).collect(Collectors.toList());
+    }
+    
     @Transactional(readOnly = true)
     public PageResult<ArticleListDto> getBookmarkedArticles(String userId, int page, int size) {
         if (userId == null || userId.trim().isEmpty()) {
@@ -518,16 +813,16 @@ public class ArticleApplicationService {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<ArticleBookmarkEntity> bookmarks = articleBookmarkRepository.findByUserId(userId, pageable);
         
-        List<ArticleListDto> articles = bookmarks.getContent().stream()
-                .map(bookmark -> {
-                    try {
-                        Article article = findArticleById(bookmark.getArticleId());
-                        return toListDto(article);
-                    } catch (Exception e) {
-                        logger.warn("获取收藏文章失败: {}", bookmark.getArticleId());
-                        return null;
-                    }
-                })
+        List<String> cacheKeys = bookmarks.getContent().stream()
+                .map(bookmark -> ARTICLE_CARD_CACHE_PREFIX + bookmark.getArticleId())
+                .collect(Collectors.toList());
+        
+        // 一次MGET读取列表卡片，只有未命中的文章才回源数据库
+        Map<String, ArticleListDto> cards = cacheService.getAll(cacheKeys, ArticleListDto.class,
+                this::loadArticleCards, ARTICLE_CARD_CACHE_TTL);
+        
+        List<ArticleListDto> articles = cacheKeys.stream()
+                .map(cards::get)
                 .filter(a -> a != null)
                 .collect(Collectors.toList());
         
@@ -544,6 +839,47 @@ public class ArticleApplicationService {
         );
     }
     
+    private Map<String, ArticleListDto> loadArticleCards(List<String> cacheKeys) {
+        Map<String, ArticleListDto> cards = new LinkedHashMap<>();
+        List<String> articleIds = cacheKeys.stream()
+                .map(cacheKey -> cacheKey.substring(ARTICLE_CARD_CACHE_PREFIX.length()))
+                .collect(Collectors.toList());
+        Map<String, ArticleCardView> found;
+        try {
+            found = articleJpaRepository.findCardsByIdIn(articleIds).stream()
+                    .collect(Collectors.toMap(ArticleCardView::getId, card -> card, (first, second) -> first));
+        } catch (Exception e) {
+            logger.warn("批量获取收藏文章失败: articles={}, error={}", articleIds.size(), e.getMessage());
+            return cards;
+        }
+        // 按缓存键顺序合并，已删除的文章不出现在结果中
+        for (String articleId : articleIds) {
+            ArticleCardView card = found.get(articleId);
+            if (card != null) {
+                cards.put(ARTICLE_CARD_CACHE_PREFIX + articleId, toListDto(card));
+            }
+        }
+        return cards;
+    }
+    
+    /**
+     * 一次IN查询加载多篇文章（含统计），按文章ID索引
+     */
+    private Map<String, Article> findArticlesByIds(List<String> articleIds) {
+        if (articleIds.isEmpty()) {
+            return Map.of();
+        }
+        List<ArticleId> ids = articleIds.stream().map(ArticleId::of).collect(Collectors.toList());
+        return articleRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(article -> article.getId().getValue(), article -> article,
+                        (first, second) -> first));
+    }
+    
+    private void evictArticleCache(String articleId) {
+        cacheService.delete(ARTICLE_DETAIL_CACHE_PREFIX + articleId);
+        cacheService.delete(ARTICLE_CARD_CACHE_PREFIX + articleId);
+    }
+    
     private Article findArticleById(String articleId) {
         return articleRepository.findById(ArticleId.of(articleId))
                 .orElseThrow(() -> new ArticleDomainException("ARTICLE_NOT_FOUND", "文章不存在: " + articleId));
@@ -564,25 +900,30 @@ public class ArticleApplicationService {
         );
     }
     
-    private ArticleListDto toListDto(Article article) {
-        String summary = article.getContent().getValue();
-        if (summary.length() > 200) {
-            summary = summary.substring(0, 200) + "...";
-        }
-        
+    private ArticleListDto toListDto(ArticleCardView card) {
         return new ArticleListDto(
-                article.getId().getValue(),
-                article.getAuthorId().getValue(),
-                article.getTitle().getValue(),
-                summary,
-                article.getStatus(),
-                article.getPublishTime(),
-                article.getCreatedAt(),
-                article.getUpdatedAt(),
-                toStatisticsDto(article.getStatistics())
+                card.getId(),
+                card.getAuthorId(),
+                card.getTitle(),
+                card.getSummary(),
+                card.getStatus(),
+                card.getPublishTime(),
+                card.getCreatedAt(),
+                card.getUpdatedAt(),
+                new ArticleStatisticsDto(
+                        valueOrZero(card.getViewCount()),
+                        valueOrZero(card.getLikeCount()),
+                        valueOrZero(card.getCommentCount()),
+                        valueOrZero(card.getShareCount()),
+                        valueOrZero(card.getBookmarkCount())
+                )
         );
     }
     
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0L;
+    }
+    
     private ArticleListDto fromReadModel(ArticleReadModel readModel) {
         return new ArticleListDto(
                 readModel.getId(),
@@ -615,16 +956,16 @@ public class ArticleApplicationService {
     public void incrementCommentCount(String articleId, String commentId, String operation) {
         Article article = findArticleById(articleId);
         articleRepository.save(article);
-        if (cqrsEnabled && readModelSyncService != null) {
-            readModelSyncService.syncArticle(articleId);
+        if (cqrsEnabled && readModelSyncQueue != null) {
+            readModelSyncQueue.enqueueStatistics(articleId);
         }
     }
     
     public void decrementCommentCount(String articleId, String commentId, String operation) {
         Article article = findArticleById(articleId);
         articleRepository.save(article);
-        if (cqrsEnabled && readModelSyncService != null) {
-            readModelSyncService.syncArticle(articleId);
+        if (cqrsEnabled && readModelSyncQueue != null) {
+            readModelSyncQueue.enqueueStatistics(articleId);
         }
     }
 }
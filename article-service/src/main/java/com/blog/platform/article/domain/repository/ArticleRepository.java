@@ -8,6 +8,7 @@ import com.blog.platform.common.repository.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +27,11 @@ public interface ArticleRepository extends Repository<Article, ArticleId> {
      */
     Optional<Article> findById(ArticleId articleId);
     
+    /**
+     * 根据ID批量查找文章（含统计），一次查询；不存在的文章不返回，结果顺序不保证
+     */
+    List<Article> findAllById(Collection<ArticleId> articleIds);
+    
     /**
      * 根据作者ID查找文章
      */
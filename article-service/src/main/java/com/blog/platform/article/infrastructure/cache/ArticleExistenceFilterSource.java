@@ -0,0 +1,39 @@
+package com.blog.platform.article.infrastructure.cache;
+
+import com.blog.platform.article.infrastructure.persistence.repository.ArticleJpaRepository;
+import com.blog.platform.common.cache.PagedExistenceFilterSource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 文章ID存在性过滤器数据源
+ */
+@Component
+public class ArticleExistenceFilterSource extends PagedExistenceFilterSource {
+    
+    public static final String NAME = "article";
+    
+    private final ArticleJpaRepository articleJpaRepository;
+    
+    public ArticleExistenceFilterSource(ArticleJpaRepository articleJpaRepository) {
+        super(NAME);
+        this.articleJpaRepository = articleJpaRepository;
+    }
+    
+    @Override
+    public List<String> getKeyPrefixes() {
+        return List.of("article:detail:");
+    }
+    
+    @Override
+    protected long countIds() {
+        return articleJpaRepository.count();
+    }
+    
+    @Override
+    protected List<String> findIdsAfter(String afterId, Pageable pageable) {
+        return articleJpaRepository.findIdsAfter(afterId, pageable);
+    }
+}
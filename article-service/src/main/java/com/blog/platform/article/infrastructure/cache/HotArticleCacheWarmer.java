@@ -0,0 +1,66 @@
+package com.blog.platform.article.infrastructure.cache;
+
+import com.blog.platform.article.application.dto.ArticleDto;
+import com.blog.platform.article.application.service.ArticleApplicationService;
+import com.blog.platform.article.infrastructure.persistence.repository.ArticleStatisticsJpaRepository;
+import com.blog.platform.common.cache.CacheWarmer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.blog.platform.article.application.service.ArticleApplicationService.ARTICLE_DETAIL_CACHE_PREFIX;
+
+/**
+ * 热门文章缓存预热器
+ * 按article_statistics.view_count选出浏览量最高的已发布文章，预热文章详情缓存
+ */
+@Component
+public class HotArticleCacheWarmer implements CacheWarmer {
+
+    private final ArticleStatisticsJpaRepository statisticsRepository;
+
+    private final ArticleApplicationService articleApplicationService;
+
+    public HotArticleCacheWarmer(ArticleStatisticsJpaRepository statisticsRepository,
+                                 ArticleApplicationService articleApplicationService) {
+        this.statisticsRepository = statisticsRepository;
+        this.articleApplicationService = articleApplicationService;
+    }
+
+    @Override
+    public String getName() {
+        return "hot-article";
+    }
+
+    @Override
+    public List<String> selectKeys(int limit) {
+        return statisticsRepository.findTopPublishedArticleIdsByViewCount(PageRequest.of(0, limit)).stream()
+                .map(articleId -> ARTICLE_DETAIL_CACHE_PREFIX + articleId)
+                .toList();
+    }
+
+    @Override
+    public Map<String, ?> load(List<String> keys) {
+        List<String> articleIds = keys.stream()
+                .map(key -> key.substring(ARTICLE_DETAIL_CACHE_PREFIX.length()))
+                .toList();
+        Map<String, ArticleDto> articles = articleApplicationService.loadArticleDetails(articleIds);
+        Map<String, ArticleDto> values = new LinkedHashMap<>();
+        articles.forEach((articleId, article) -> values.put(ARTICLE_DETAIL_CACHE_PREFIX + articleId, article));
+        return values;
+    }
+
+    @Override
+    public Duration getExpireTime() {
+        return ArticleApplicationService.ARTICLE_DETAIL_CACHE_TTL;
+    }
+
+    @Override
+    public boolean isRefreshable() {
+        return true;
+    }
+}
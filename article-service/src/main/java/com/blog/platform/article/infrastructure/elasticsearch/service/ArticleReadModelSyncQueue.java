@@ -0,0 +1,276 @@
+package com.blog.platform.article.infrastructure.elasticsearch.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章读模型异步同步队列
+ * 写请求只把文章ID登记到待同步集合（事务内的登记在提交后生效），由专用线程定时取出
+ * 已等待满debounce-ms的文章，一次查询加载并通过ES批量接口写入，请求线程不再等待ES。
+ * 同一文章在窗口内的多次变更（如连续点赞）合并为一次索引写入。
+ * 只有计数变化的文章走统计通道，以局部更新只写入计数字段，不重新提交和分析正文；
+ * 同一批次中已整篇同步的文章不再单独更新统计。
+ * 同步失败的文章放回集合并暂停retry-backoff-ms后重试
+ */
+@Component
+@ConditionalOnProperty(name = "article-service.enableSearch", havingValue = "true")
+public class ArticleReadModelSyncQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleReadModelSyncQueue.class);
+
+    private final ArticleReadModelSyncService syncService;
+
+    private final long debounceMillis;
+
+    private final long flushIntervalMillis;
+
+    private final long retryBackoffMillis;
+
+    private final int maxBatchSize;
+
+    /**
+     * 文章ID -> 最早一次未同步变更的登记时间
+     */
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 只有计数变化的文章ID -> 最早一次未同步变更的登记时间
+     */
+    private final Map<String, Long> pendingStatistics = new ConcurrentHashMap<>();
+
+    private final LongAdder syncedArticles = new LongAdder();
+
+    private final LongAdder coalescedChanges = new LongAdder();
+
+    private final LongAdder failedFlushes = new LongAdder();
+
+    private volatile long pausedUntil;
+
+    private volatile Timer flushTimer;
+
+    private volatile Timer lagTimer;
+
+    private ScheduledExecutorService worker;
+
+    public ArticleReadModelSyncQueue(ArticleReadModelSyncService syncService,
+                                     @Value("${article-service.read-model-sync.debounce-ms:500}") long debounceMillis,
+                                     @Value("${article-service.read-model-sync.flush-interval-ms:200}") long flushIntervalMillis,
+                                     @Value("${article-service.read-model-sync.retry-backoff-ms:5000}") long retryBackoffMillis,
+                                     @Value("${article-service.read-model-sync.max-batch-size:500}") int maxBatchSize) {
+        this.syncService = syncService;
+        this.debounceMillis = Math.max(debounceMillis, 0);
+        this.flushIntervalMillis = Math.max(flushIntervalMillis, 10);
+        this.retryBackoffMillis = Math.max(retryBackoffMillis, 0);
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+    }
+
+    @Autowired(required = false)
+    public void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("article.read-model.sync.pending", this, ArticleReadModelSyncQueue::getPendingCount)
+                .description("Articles waiting to be synced to the read model")
+                .register(registry);
+        Gauge.builder("article.read-model.sync.lag", this, ArticleReadModelSyncQueue::getLagMillis)
+                .description("Age in milliseconds of the oldest unsynced article change")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("article.read-model.sync.synced", syncedArticles, LongAdder::sum)
+                .description("Articles written to the read model")
+                .register(registry);
+        FunctionCounter.builder("article.read-model.sync.coalesced", coalescedChanges, LongAdder::sum)
+                .description("Article changes merged into an already pending sync")
+                .register(registry);
+        FunctionCounter.builder("article.read-model.sync.failures", failedFlushes, LongAdder::sum)
+                .description("Failed read model sync batches")
+                .register(registry);
+        flushTimer = Timer.builder("article.read-model.sync.flush")
+                .description("Time spent writing one batch to the read model")
+                .publishPercentileHistogram()
+                .register(registry);
+        lagTimer = Timer.builder("article.read-model.sync.delay")
+                .description("Delay between an article change and its read model write")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-read-model-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 登记文章需要同步；在事务中调用时等事务提交后再登记，避免同步线程读到提交前的数据
+     */
+    public void enqueue(String articleId) {
+        register(pending, articleId);
+    }
+
+    /**
+     * 登记文章只有点赞、收藏、评论等计数发生变化
+     */
+    public void enqueueStatistics(String articleId) {
+        register(pendingStatistics, articleId);
+    }
+
+    private void register(Map<String, Long> target, String articleId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(target, articleId, System.currentTimeMillis());
+                }
+            });
+        } else {
+            add(target, articleId, System.currentTimeMillis());
+        }
+    }
+
+    private void add(Map<String, Long> target, String articleId, long enqueuedAt) {
+        if (target.merge(articleId, enqueuedAt, Math::min) != enqueuedAt) {
+            coalescedChanges.increment();
+        }
+    }
+
+    /**
+     * 同步已等待满防抖窗口的文章，每批最多maxBatchSize篇；返回是否写入了数据
+     */
+    public synchronized boolean flush() {
+        long now = System.currentTimeMillis();
+        if (now < pausedUntil) {
+            return false;
+        }
+        return flushBatch(now - debounceMillis);
+    }
+
+    private void flushSafely() {
+        try {
+            while (flush()) {
+                // 积压超过一批时连续写入，直到没有到期的文章
+            }
+        } catch (Exception e) {
+            logger.error("文章读模型同步线程异常", e);
+        }
+    }
+
+    private boolean flushBatch(long dueBefore) {
+        Map<String, Long> batch = drain(pending, dueBefore, maxBatchSize);
+        Map<String, Long> statisticsBatch = drain(pendingStatistics, dueBefore, maxBatchSize - batch.size());
+        statisticsBatch.keySet().removeAll(batch.keySet());
+        if (batch.isEmpty() && statisticsBatch.isEmpty()) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!batch.isEmpty()) {
+                syncService.syncArticles(batch.keySet());
+            }
+            if (!statisticsBatch.isEmpty()) {
+                syncService.syncStatistics(statisticsBatch.keySet());
+            }
+        } catch (Exception e) {
+            failedFlushes.increment();
+            batch.forEach((articleId, enqueuedAt) -> restore(pending, articleId, enqueuedAt));
+            statisticsBatch.forEach((articleId, enqueuedAt) -> restore(pendingStatistics, articleId, enqueuedAt));
+            pausedUntil = System.currentTimeMillis() + retryBackoffMillis;
+            logger.warn("文章读模型批量同步失败，{}ms后重试: articles={}, statistics={}, error={}",
+                    retryBackoffMillis, batch.size(), statisticsBatch.size(), e.getMessage());
+            return false;
+        } finally {
+            Timer timer = flushTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        syncedArticles.add(batch.size() + statisticsBatch.size());
+        Timer timer = lagTimer;
+        if (timer != null) {
+            long now = System.currentTimeMillis();
+            batch.values().forEach(enqueuedAt -> timer.record(now - enqueuedAt, TimeUnit.MILLISECONDS));
+            statisticsBatch.values().forEach(enqueuedAt -> timer.record(now - enqueuedAt, TimeUnit.MILLISECONDS));
+        }
+        logger.debug("文章读模型同步完成: articles={}, statistics={}, elapsed={}ms", batch.size(),
+                statisticsBatch.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return true;
+    }
+
+    /**
+     * 取出到期的文章。先从集合移除再加载数据库，移除之后的新变更会重新登记并在下一批同步
+     */
+    private static Map<String, Long> drain(Map<String, Long> source, long dueBefore, int limit) {
+        Map<String, Long> batch = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : source.entrySet()) {
+            if (batch.size() >= limit) {
+                break;
+            }
+            Long enqueuedAt = entry.getValue();
+            if (enqueuedAt <= dueBefore && source.remove(entry.getKey(), enqueuedAt)) {
+                batch.put(entry.getKey(), enqueuedAt);
+            }
+        }
+        return batch;
+    }
+
+    private static void restore(Map<String, Long> target, String articleId, long enqueuedAt) {
+        target.merge(articleId, enqueuedAt, Math::min);
+    }
+
+    public int getPendingCount() {
+        return pending.size() + pendingStatistics.size();
+    }
+
+    /**
+     * 最早一条未同步变更距今的毫秒数，没有待同步文章时为0
+     */
+    public long getLagMillis() {
+        long oldest = Math.min(
+                pending.values().stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE),
+                pendingStatistics.values().stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE));
+        return oldest == Long.MAX_VALUE ? 0 : Math.max(System.currentTimeMillis() - oldest, 0);
+    }
+
+    /**
+     * 停机前不等防抖窗口，同步全部待处理的文章
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (worker != null) {
+            worker.shutdown();
+            try {
+                worker.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            while (getPendingCount() > 0 && flushBatch(Long.MAX_VALUE)) {
+                // 每批最多maxBatchSize篇，直到清空或同步失败
+            }
+        }
+    }
+}
@@ -3,17 +3,35 @@ package com.blog.platform.article.infrastructure.elasticsearch.service;
 import com.blog.platform.article.infrastructure.elasticsearch.model.ArticleReadModel;
 import com.blog.platform.article.infrastructure.elasticsearch.repository.ArticleReadModelRepository;
 import com.blog.platform.article.infrastructure.persistence.entity.ArticleEntity;
+import com.blog.platform.article.infrastructure.persistence.entity.ArticleStatisticsEntity;
 import com.blog.platform.article.infrastructure.persistence.entity.ArticleTagEntity;
 import com.blog.platform.article.infrastructure.persistence.repository.ArticleJpaRepository;
+import com.blog.platform.article.infrastructure.persistence.repository.ArticleStatisticsJpaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.ScriptType;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +46,32 @@ public class ArticleReadModelSyncService {
     @Autowired
     private ArticleJpaRepository articleJpaRepository;
     
+    @Autowired
+    private ArticleStatisticsJpaRepository statisticsJpaRepository;
+    
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+    
+    @Autowired
+    private ObjectProvider<ArticleReindexJob> reindexJob;
+    
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+    
+    /**
+     * How long the rebuilding index read from the shared checkpoint is reused;
+     * {@link ArticleReindexJob} waits this long after registering an index before copying
+     */
+    static final long REINDEX_TARGET_REFRESH_MILLIS = 1000;
+    
+    private volatile CachedReindexTarget cachedReindexTarget;
+    
+    private record CachedReindexTarget(IndexCoordinates target, long readAtMillis) {
+    }
+    
+    private static final String INCREMENT_VIEW_COUNT_SCRIPT =
+            "ctx._source.viewCount = (ctx._source.viewCount == null ? 0 : ctx._source.viewCount) + params.delta";
+    
     @Transactional(readOnly = true)
     public void syncArticle(String articleId) {
         try {
@@ -36,9 +80,11 @@ public class ArticleReadModelSyncService {
                 ArticleEntity article = articleOpt.get();
                 ArticleReadModel readModel = convertToReadModel(article);
                 readModelRepository.save(readModel);
+                mirrorToReindexTarget(List.of(readModel), List.of());
                 logger.info("Synced article {} to read model", articleId);
             } else {
                 readModelRepository.deleteById(articleId);
+                mirrorToReindexTarget(List.of(), List.of(articleId));
                 logger.info("Removed article {} from read model", articleId);
             }
         } catch (Exception e) {
@@ -46,47 +92,94 @@ public class ArticleReadModelSyncService {
         }
     }
     
+    /**
+     * Re-index a batch of articles with one bulk request; articles no longer in the database
+     * are removed from the read model. Failures are propagated so the caller can retry
+     */
     @Transactional(readOnly = true)
+    public void syncArticles(Collection<String> articleIds) {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        List<ArticleEntity> articles = articleJpaRepository.findAllByIdInWithTagsAndCategories(articleIds);
+        Set<String> missing = new HashSet<>(articleIds);
+        List<ArticleReadModel> readModels = new ArrayList<>(articles.size());
+        for (ArticleEntity article : articles) {
+            missing.remove(article.getId());
+            readModels.add(convertToReadModel(article));
+        }
+        if (!readModels.isEmpty()) {
+            readModelRepository.saveAll(readModels);
+        }
+        if (!missing.isEmpty()) {
+            readModelRepository.deleteAllById(missing);
+        }
+        mirrorToReindexTarget(readModels, missing);
+        logger.debug("Synced {} articles to read model, removed {}", readModels.size(), missing.size());
+    }
+    
+    /**
+     * Full rebuild into a fresh index behind the alias, see {@link ArticleReindexJob}
+     */
     public void syncAllArticles() {
         try {
-            logger.info("Starting full article sync to read model");
-            List<ArticleEntity> articles = articleJpaRepository.findAll();
-            
-            for (ArticleEntity article : articles) {
-                try {
-                    ArticleReadModel readModel = convertToReadModel(article);
-                    readModelRepository.save(readModel);
-                } catch (Exception e) {
-                    logger.error("Failed to sync article {} during full sync", article.getId(), e);
-                }
+            ArticleReindexJob job = reindexJob.getIfAvailable();
+            if (job != null) {
+                job.run();
             }
-            
-            logger.info("Completed full article sync, processed {} articles", articles.size());
         } catch (Exception e) {
             logger.error("Failed to complete full article sync", e);
         }
     }
     
+    /**
+     * The index being built by a full rebuild on any instance, read from the checkpoint the job keeps
+     * in Redis. Live syncs are also written to it so changes to already copied articles are not lost
+     * at the alias swap. Callers look it up after loading from the database, so a sync that still sees
+     * no target loaded its data before the copy started
+     */
+    IndexCoordinates reindexTarget() {
+        long now = System.currentTimeMillis();
+        CachedReindexTarget cached = cachedReindexTarget;
+        if (cached != null && now - cached.readAtMillis() < REINDEX_TARGET_REFRESH_MILLIS) {
+            return cached.target();
+        }
+        IndexCoordinates target = cached != null ? cached.target() : null;
+        try {
+            Object index = redisTemplate.opsForHash().get(ArticleReindexJob.CHECKPOINT_KEY, "index");
+            target = index != null ? IndexCoordinates.of(index.toString()) : null;
+        } catch (Exception e) {
+            logger.warn("Failed to read rebuilding index, keeping {}: {}",
+                    target != null ? target.getIndexName() : "none", e.getMessage());
+        }
+        cachedReindexTarget = new CachedReindexTarget(target, now);
+        return target;
+    }
+    
     public void removeArticle(String articleId) {
         try {
             readModelRepository.deleteById(articleId);
+            mirrorToReindexTarget(List.of(), List.of(articleId));
             logger.info("Removed article {} from read model", articleId);
         } catch (Exception e) {
             logger.error("Failed to remove article {} from read model", articleId, e);
         }
     }
     
+    /**
+     * Overwrite the given counters with a partial document update; the rest of the document,
+     * including the analyzed text fields, is left untouched. Null counters are not sent
+     */
     public void updateArticleStatistics(String articleId, Long viewCount, Long likeCount, 
                                        Long commentCount, Long shareCount) {
         try {
-            Optional<ArticleReadModel> readModelOpt = readModelRepository.findById(articleId);
-            if (readModelOpt.isPresent()) {
-                ArticleReadModel readModel = readModelOpt.get();
-                readModel.setViewCount(viewCount);
-                readModel.setLikeCount(likeCount);
-                readModel.setCommentCount(commentCount);
-                readModel.setShareCount(shareCount);
-                readModelRepository.save(readModel);
+            Map<String, Object> counters = new LinkedHashMap<>();
+            putIfNotNull(counters, "viewCount", viewCount);
+            putIfNotNull(counters, "likeCount", likeCount);
+            putIfNotNull(counters, "commentCount", commentCount);
+            putIfNotNull(counters, "shareCount", shareCount);
+            if (!counters.isEmpty()) {
+                updateCounters(Map.of(articleId, counters));
                 logger.debug("Updated statistics for article {} in read model", articleId);
             }
         } catch (Exception e) {
@@ -94,7 +187,141 @@ public class ArticleReadModelSyncService {
         }
     }
     
-    private ArticleReadModel convertToReadModel(ArticleEntity article) {
+    /**
+     * Copy the current counters of a batch of articles from the database with one bulk request of
+     * partial updates. Articles not in the read model yet are fully synced instead.
+     * Failures are propagated so the caller can retry
+     */
+    @Transactional(readOnly = true)
+    public void syncStatistics(Collection<String> articleIds) {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, Object>> changes = new LinkedHashMap<>();
+        for (ArticleStatisticsEntity statistics : statisticsJpaRepository.findAllById(articleIds)) {
+            Map<String, Object> counters = new LinkedHashMap<>();
+            counters.put("viewCount", statistics.getViewCount());
+            counters.put("likeCount", statistics.getLikeCount());
+            counters.put("commentCount", statistics.getCommentCount());
+            counters.put("shareCount", statistics.getShareCount());
+            counters.put("bookmarkCount", statistics.getBookmarkCount());
+            changes.put(statistics.getArticleId(), counters);
+        }
+        Set<String> missing = updateCounters(changes);
+        if (!missing.isEmpty()) {
+            syncArticles(missing);
+        }
+        logger.debug("Synced statistics for {} articles to read model", changes.size());
+    }
+    
+    /**
+     * Bulk partial updates of counter fields, returns the ids of documents that do not exist
+     */
+    private Set<String> updateCounters(Map<String, Map<String, Object>> changes) {
+        if (changes.isEmpty()) {
+            return Set.of();
+        }
+        List<UpdateQuery> queries = changes.entrySet().stream()
+                .map(entry -> UpdateQuery.builder(entry.getKey())
+                        .withDocument(Document.from(entry.getValue()))
+                        .withRetryOnConflict(3)
+                        .build())
+                .collect(Collectors.toList());
+        Set<String> missing = new HashSet<>();
+        try {
+            elasticsearchOperations.bulkUpdate(queries, ArticleReadModel.class);
+        } catch (BulkFailureException e) {
+            e.getFailedDocuments().forEach((id, failure) -> {
+                if (failure.status() == null || failure.status() != 404) {
+                    throw e;
+                }
+                missing.add(id);
+            });
+        }
+        mirrorCountersToReindexTarget(queries);
+        return missing;
+    }
+    
+    /**
+     * Counter updates carry absolute values, so repeating them on the rebuilding index is safe.
+     * Articles not copied yet fail here; the copy reads their counts from the database
+     */
+    private void mirrorCountersToReindexTarget(List<UpdateQuery> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+        IndexCoordinates target = reindexTarget();
+        if (target == null) {
+            return;
+        }
+        try {
+            elasticsearchOperations.bulkUpdate(queries, target);
+        } catch (Exception e) {
+            logger.debug("Skipped statistics for articles not yet in rebuilding index: {}", e.getMessage());
+        }
+    }
+    
+    private static void putIfNotNull(Map<String, Object> counters, String field, Long value) {
+        if (value != null) {
+            counters.put(field, value);
+        }
+    }
+    
+    /**
+     * Apply buffered view count deltas as one bulk request of scripted partial updates,
+     * without loading or re-indexing the documents.
+     * The deltas are already committed, so a rebuild copy may have read them from the database;
+     * the rebuilding index gets the absolute counts instead of the increments
+     */
+    public void incrementViewCounts(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            List<UpdateQuery> queries = deltas.entrySet().stream()
+                    .map(entry -> UpdateQuery.builder(entry.getKey())
+                            .withScript(INCREMENT_VIEW_COUNT_SCRIPT)
+                            .withScriptType(ScriptType.INLINE)
+                            .withLang("painless")
+                            .withParams(Map.of("delta", entry.getValue()))
+                            .build())
+                    .collect(Collectors.toList());
+            elasticsearchOperations.bulkUpdate(queries, ArticleReadModel.class);
+            logger.debug("Incremented view counts for {} articles in read model", deltas.size());
+            if (reindexTarget() != null) {
+                mirrorCountersToReindexTarget(statisticsJpaRepository.findAllById(deltas.keySet()).stream()
+                        .filter(statistics -> statistics.getViewCount() != null)
+                        .map(statistics -> UpdateQuery.builder(statistics.getArticleId())
+                                .withDocument(Document.from(Map.of("viewCount", statistics.getViewCount())))
+                                .withRetryOnConflict(3)
+                                .build())
+                        .collect(Collectors.toList()));
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to increment view counts for {} articles in read model: {}", deltas.size(), e.getMessage());
+        }
+    }
+    
+    private void mirrorToReindexTarget(List<ArticleReadModel> readModels, Collection<String> removedIds) {
+        IndexCoordinates target = reindexTarget();
+        if (target == null) {
+            return;
+        }
+        try {
+            if (!readModels.isEmpty()) {
+                List<IndexQuery> queries = readModels.stream()
+                        .map(readModel -> new IndexQueryBuilder().withId(readModel.getId()).withObject(readModel).build())
+                        .collect(Collectors.toList());
+                elasticsearchOperations.bulkIndex(queries, target);
+            }
+            removedIds.forEach(id -> elasticsearchOperations.delete(id, target));
+        } catch (Exception e) {
+            logger.warn("Failed to mirror {} articles to rebuilding index {}: {}",
+                    readModels.size() + removedIds.size(), target.getIndexName(), e.getMessage());
+        }
+    }
+    
+    ArticleReadModel convertToReadModel(ArticleEntity article) {
         ArticleReadModel readModel = new ArticleReadModel();
         
         readModel.setId(article.getId());
@@ -0,0 +1,348 @@
+package com.blog.platform.article.infrastructure.elasticsearch.service;
+
+import com.blog.platform.article.infrastructure.elasticsearch.model.ArticleReadModel;
+import com.blog.platform.article.infrastructure.persistence.repository.ArticleJpaRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.index.AliasData;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 文章读模型全量重建
+ * 按ID键集分批读取文章ID（内存中只保留进行中的批次），由工作线程并行加载、转换并以bulk请求
+ * 写入新建的带时间戳索引，全部完成后原子切换别名并删除旧索引，切换前读请求不受影响。
+ * 每个按顺序完成的批次都把最后一个ID写入Redis检查点，任务中断后再次启动会从检查点继续写入同一索引。
+ * 检查点中的索引名同时是所有实例共享的重建目标：各实例的实时同步从检查点读取（本地最多缓存1秒），
+ * 同时写入新索引，包括任务中断、等待续跑期间；任务登记索引后先等待缓存过期再开始复制。
+ * 整篇同步直接写入，计数以数据库中的当前值写入，尚未复制的文章跳过。
+ * 复制只创建新索引中不存在的文档，实时同步已写入的文档不会被复制时读到的旧数据覆盖；
+ * 批次加载之后、写入之前发生的删除或计数变化仍可能丢失，需等待后续同步修正
+ */
+@Component
+@ConditionalOnProperty(name = "article-service.enableSearch", havingValue = "true")
+public class ArticleReindexJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleReindexJob.class);
+
+    static final String CHECKPOINT_KEY = "article:reindex:checkpoint";
+
+    private static final DateTimeFormatter INDEX_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private static final long PROGRESS_LOG_INTERVAL_MILLIS = 10_000;
+
+    private final ArticleJpaRepository articleJpaRepository;
+
+    private final ArticleReadModelSyncService syncService;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong indexed = new AtomicLong();
+
+    private final AtomicLong completedRuns = new AtomicLong();
+
+    private volatile long total;
+
+    private volatile long startedAtMillis;
+
+    private volatile long indexedAtStart;
+
+    private volatile String targetIndex;
+
+    private volatile String lastId;
+
+    public ArticleReindexJob(ArticleJpaRepository articleJpaRepository,
+                             ArticleReadModelSyncService syncService,
+                             ElasticsearchOperations elasticsearchOperations,
+                             RedisTemplate<String, Object> redisTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${article-service.reindex.batch-size:1000}") int batchSize,
+                             @Value("${article-service.reindex.parallelism:4}") int parallelism) {
+        this.articleJpaRepository = articleJpaRepository;
+        this.syncService = syncService;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.redisTemplate = redisTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = Math.max(batchSize, 1);
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    @Autowired(required = false)
+    public void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("article.read-model.reindex.running", running, flag -> flag.get() ? 1 : 0)
+                .description("Whether a full read model rebuild is in progress")
+                .register(registry);
+        Gauge.builder("article.read-model.reindex.indexed", indexed, AtomicLong::get)
+                .description("Articles written by the current or last full rebuild")
+                .register(registry);
+        FunctionCounter.builder("article.read-model.reindex.completed", completedRuns, AtomicLong::get)
+                .description("Full read model rebuilds finished with an alias swap")
+                .register(registry);
+    }
+
+    /**
+     * 执行全量重建，阻塞到完成；已有任务在运行时直接返回false
+     */
+    public boolean run() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("文章读模型重建已在运行，忽略本次请求: target={}", targetIndex);
+            return false;
+        }
+        try {
+            String alias = elasticsearchOperations.getIndexCoordinatesFor(ArticleReadModel.class).getIndexName();
+            Map<Object, Object> checkpoint = redisTemplate.opsForHash().entries(CHECKPOINT_KEY);
+            IndexCoordinates target = resumeTarget(checkpoint);
+            if (target != null) {
+                lastId = String.valueOf(checkpoint.get("lastId"));
+                indexed.set(((Number) checkpoint.get("indexed")).longValue());
+                logger.info("从检查点继续重建文章读模型: target={}, lastId={}, indexed={}",
+                        target.getIndexName(), lastId, indexed.get());
+            } else {
+                target = createIndex(alias);
+                lastId = "";
+                indexed.set(0);
+                saveCheckpoint(target, lastId, 0);
+            }
+            targetIndex = target.getIndexName();
+            total = articleJpaRepository.count();
+            indexedAtStart = indexed.get();
+            startedAtMillis = System.currentTimeMillis();
+
+            awaitReindexTargetVisible();
+            copyArticles(target);
+            elasticsearchOperations.indexOps(target).refresh();
+            swapAlias(alias, target);
+            redisTemplate.delete(CHECKPOINT_KEY);
+            completedRuns.incrementAndGet();
+            logger.info("文章读模型重建完成: alias={}, target={}, indexed={}, elapsed={}s",
+                    alias, targetIndex, indexed.get(), (System.currentTimeMillis() - startedAtMillis) / 1000);
+            return true;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 其他实例缓存的重建目标过期后，它们之后的写入都会同步到新索引，此后开始复制
+     */
+    private void awaitReindexTargetVisible() {
+        try {
+            Thread.sleep(ArticleReadModelSyncService.REINDEX_TARGET_REFRESH_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("文章读模型重建被中断", e);
+        }
+    }
+
+    /**
+     * 检查点指向的索引仍存在时返回该索引，否则重新开始
+     */
+    private IndexCoordinates resumeTarget(Map<Object, Object> checkpoint) {
+        Object index = checkpoint.get("index");
+        if (index == null || checkpoint.get("lastId") == null || checkpoint.get("indexed") == null) {
+            return null;
+        }
+        IndexCoordinates target = IndexCoordinates.of(index.toString());
+        return elasticsearchOperations.indexOps(target).exists() ? target : null;
+    }
+
+    private IndexCoordinates createIndex(String alias) {
+        IndexCoordinates target = IndexCoordinates.of(alias + "_" + LocalDateTime.now().format(INDEX_SUFFIX));
+        IndexOperations indexOps = elasticsearchOperations.indexOps(target);
+        indexOps.create(indexOps.createSettings(ArticleReadModel.class), indexOps.createMapping(ArticleReadModel.class));
+        logger.info("开始重建文章读模型: target={}", target.getIndexName());
+        return target;
+    }
+
+    /**
+     * 读线程按ID顺序取批次并提交给工作线程，最多parallelism*2个批次在途；
+     * 按提交顺序确认完成的批次并推进检查点，任一批次失败即中止，检查点停在最后一个连续完成的批次
+     */
+    private void copyArticles(IndexCoordinates target) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "article-reindex-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<InFlightBatch> inFlight = new ArrayDeque<>();
+        int maxInFlight = parallelism * 2;
+        long lastLogAt = System.currentTimeMillis();
+        try {
+            String afterId = lastId;
+            while (true) {
+                List<String> ids = articleJpaRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                inFlight.add(new InFlightBatch(workers.submit(() -> indexBatch(ids, target)), afterId));
+                while (!inFlight.isEmpty() && (inFlight.size() >= maxInFlight || inFlight.peek().future().isDone())) {
+                    complete(inFlight.poll(), target);
+                }
+                if (System.currentTimeMillis() - lastLogAt >= PROGRESS_LOG_INTERVAL_MILLIS) {
+                    lastLogAt = System.currentTimeMillis();
+                    logProgress();
+                }
+                if (ids.size() < batchSize) {
+                    break;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                complete(inFlight.poll(), target);
+            }
+        } finally {
+            inFlight.forEach(batch -> batch.future().cancel(true));
+            workers.shutdownNow();
+        }
+    }
+
+    private int indexBatch(List<String> ids, IndexCoordinates target) {
+        List<ArticleReadModel> readModels = readOnlyTransaction.execute(status ->
+                articleJpaRepository.findAllByIdInWithTagsAndCategories(ids).stream()
+                        .map(syncService::convertToReadModel)
+                        .toList());
+        if (readModels == null || readModels.isEmpty()) {
+            return 0;
+        }
+        List<IndexQuery> queries = readModels.stream()
+                .map(readModel -> new IndexQueryBuilder().withId(readModel.getId()).withObject(readModel)
+                        .withOpType(IndexQuery.OpType.CREATE).build())
+                .toList();
+        try {
+            elasticsearchOperations.bulkIndex(queries, target);
+        } catch (BulkFailureException e) {
+            // 409表示文档已由实时同步写入，保留较新的版本
+            e.getFailedDocuments().forEach((id, failure) -> {
+                if (failure.status() == null || failure.status() != 409) {
+                    throw e;
+                }
+            });
+        }
+        return readModels.size();
+    }
+
+    private void complete(InFlightBatch batch, IndexCoordinates target) {
+        int count;
+        try {
+            count = batch.future().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("文章读模型重建被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("文章读模型重建批次失败，已保存检查点: lastId=" + lastId, e.getCause());
+        }
+        lastId = batch.lastId();
+        saveCheckpoint(target, lastId, indexed.addAndGet(count));
+    }
+
+    private void saveCheckpoint(IndexCoordinates target, String checkpointId, long indexedCount) {
+        Map<String, Object> checkpoint = new HashMap<>();
+        checkpoint.put("index", target.getIndexName());
+        checkpoint.put("lastId", checkpointId);
+        checkpoint.put("indexed", indexedCount);
+        redisTemplate.opsForHash().putAll(CHECKPOINT_KEY, checkpoint);
+    }
+
+    /**
+     * 在一次别名请求中把别名从旧索引移到新索引；别名同名的旧物理索引（未使用别名前创建的）在同一请求中删除
+     */
+    private void swapAlias(String alias, IndexCoordinates target) {
+        IndexOperations aliasOps = elasticsearchOperations.indexOps(IndexCoordinates.of(alias));
+        Map<String, Set<AliasData>> previous = Map.of();
+        boolean exists = aliasOps.exists();
+        if (exists) {
+            try {
+                previous = aliasOps.getAliases(alias);
+            } catch (Exception e) {
+                logger.debug("读取别名失败，按物理索引处理: alias={}, error={}", alias, e.getMessage());
+            }
+        }
+
+        AliasActions actions = new AliasActions();
+        previous.keySet().stream()
+                .filter(index -> !index.equals(target.getIndexName()))
+                .forEach(index -> actions.add(new AliasAction.Remove(
+                        AliasActionParameters.builder().withIndices(index).withAliases(alias).build())));
+        if (exists && previous.isEmpty()) {
+            actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder().withIndices(alias).build()));
+        }
+        actions.add(new AliasAction.Add(
+                AliasActionParameters.builder().withIndices(target.getIndexName()).withAliases(alias).build()));
+        elasticsearchOperations.indexOps(target).alias(actions);
+
+        previous.keySet().stream()
+                .filter(index -> !index.equals(target.getIndexName()))
+                .forEach(index -> {
+                    try {
+                        elasticsearchOperations.indexOps(IndexCoordinates.of(index)).delete();
+                    } catch (Exception e) {
+                        logger.warn("删除旧文章索引失败: index={}, error={}", index, e.getMessage());
+                    }
+                });
+    }
+
+    private void logProgress() {
+        ReindexProgress progress = getProgress();
+        logger.info("文章读模型重建进度: target={}, indexed={}/{}, rate={}/s, lastId={}",
+                progress.targetIndex(), progress.indexed(), progress.total(),
+                String.format("%.1f", progress.docsPerSecond()), progress.lastId());
+    }
+
+    public ReindexProgress getProgress() {
+        long elapsedMillis = Math.max(System.currentTimeMillis() - startedAtMillis, 1);
+        double rate = running.get() ? (indexed.get() - indexedAtStart) * 1000.0 / elapsedMillis : 0;
+        return new ReindexProgress(running.get(), targetIndex, indexed.get(), total, rate, lastId);
+    }
+
+    public record ReindexProgress(boolean running, String targetIndex, long indexed, long total,
+                                  double docsPerSecond, String lastId) {
+    }
+
+    private record InFlightBatch(Future<Integer> future, String lastId) {
+    }
+}
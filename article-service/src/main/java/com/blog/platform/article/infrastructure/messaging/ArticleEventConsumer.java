@@ -4,14 +4,18 @@ import com.blog.platform.common.domain.article.ArticleCreatedEvent;
 import com.blog.platform.common.domain.article.ArticlePublishedEvent;
 import com.blog.platform.common.domain.article.ArticleUpdatedEvent;
 import com.blog.platform.common.messaging.MessageConstants;
-import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleReadModelSyncService;
+import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleReadModelSyncQueue;
 import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
 import org.apache.rocketmq.spring.core.RocketMQListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
+/**
+ * 文章事件消费者
+ * 读模型同步统一登记到{@link ArticleReadModelSyncQueue}，与写请求登记的同一篇文章在防抖窗口内合并为一次索引写入
+ */
 @Service
 public class ArticleEventConsumer {
 
@@ -27,18 +31,21 @@ public class ArticleEventConsumer {
 
         private static final Logger logger = LoggerFactory.getLogger(ArticleCreatedEventConsumer.class);
 
-        @Autowired(required = false)
-        private ArticleReadModelSyncService readModelSyncService;
+        private final ObjectProvider<ArticleReadModelSyncQueue> readModelSyncQueue;
+
+        public ArticleCreatedEventConsumer(ObjectProvider<ArticleReadModelSyncQueue> readModelSyncQueue) {
+            this.readModelSyncQueue = readModelSyncQueue;
+        }
 
         @Override
         public void onMessage(ArticleCreatedEvent event) {
             try {
                 logger.info("Processing article created event for article: {}", event.getAggregateId());
                 
-                if (readModelSyncService != null) {
-                    readModelSyncService.syncArticle(event.getAggregateId());
-                    logger.info("Synced article to read model: {}", event.getAggregateId());
-                }
+                readModelSyncQueue.ifAvailable(queue -> {
+                    queue.enqueue(event.getAggregateId());
+                    logger.info("Queued read model sync for article: {}", event.getAggregateId());
+                });
                 
                 logger.info("Successfully processed article created event for article: {}", event.getAggregateId());
             } catch (Exception e) {
@@ -58,18 +65,21 @@ public class ArticleEventConsumer {
 
         private static final Logger logger = LoggerFactory.getLogger(ArticlePublishedEventConsumer.class);
 
-        @Autowired(required = false)
-        private ArticleReadModelSyncService readModelSyncService;
+        private final ObjectProvider<ArticleReadModelSyncQueue> readModelSyncQueue;
+
+        public ArticlePublishedEventConsumer(ObjectProvider<ArticleReadModelSyncQueue> readModelSyncQueue) {
+            this.readModelSyncQueue = readModelSyncQueue;
+        }
 
         @Override
         public void onMessage(ArticlePublishedEvent event) {
             try {
                 logger.info("Processing article published event for article: {}", event.getAggregateId());
                 
-                if (readModelSyncService != null) {
-                    readModelSyncService.syncArticle(event.getAggregateId());
-                    logger.info("Updated search index for published article: {}", event.getAggregateId());
-                }
+                readModelSyncQueue.ifAvailable(queue -> {
+                    queue.enqueue(event.getAggregateId());
+                    logger.info("Queued read model sync for article: {}", event.getAggregateId());
+                });
                 
                 logger.info("Successfully processed article published event for article: {}", event.getAggregateId());
             } catch (Exception e) {
@@ -89,18 +99,21 @@ public class ArticleEventConsumer {
 
         private static final Logger logger = LoggerFactory.getLogger(ArticleUpdatedEventConsumer.class);
 
-        @Autowired(required = false)
-        private ArticleReadModelSyncService readModelSyncService;
+        private final ObjectProvider<ArticleReadModelSyncQueue> readModelSyncQueue;
+
+        public ArticleUpdatedEventConsumer(ObjectProvider<ArticleReadModelSyncQueue> readModelSyncQueue) {
+            this.readModelSyncQueue = readModelSyncQueue;
+        }
 
         @Override
         public void onMessage(ArticleUpdatedEvent event) {
             try {
                 logger.info("Processing article updated event for article: {}", event.getAggregateId());
                 
-                if (readModelSyncService != null) {
-                    readModelSyncService.syncArticle(event.getAggregateId());
-                    logger.info("Updated read model for article: {}", event.getAggregateId());
-                }
+                readModelSyncQueue.ifAvailable(queue -> {
+                    queue.enqueue(event.getAggregateId());
+                    logger.info("Queued read model sync for article: {}", event.getAggregateId());
+                });
                 
                 logger.info("Successfully processed article updated event for article: {}", event.getAggregateId());
             } catch (Exception e) {
@@ -0,0 +1,38 @@
+package com.blog.platform.article.infrastructure.persistence.projection;
+
+import com.blog.platform.common.domain.article.ArticleStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章列表卡片投影
+ * 只包含列表展示需要的列和统计，不读取content大字段
+ */
+public interface ArticleCardView {
+    
+    String getId();
+    
+    String getAuthorId();
+    
+    String getTitle();
+    
+    String getSummary();
+    
+    ArticleStatus getStatus();
+    
+    LocalDateTime getPublishTime();
+    
+    LocalDateTime getCreatedAt();
+    
+    LocalDateTime getUpdatedAt();
+    
+    Long getViewCount();
+    
+    Long getLikeCount();
+    
+    Long getCommentCount();
+    
+    Long getShareCount();
+    
+    Long getBookmarkCount();
+}
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -25,6 +27,9 @@ public interface ArticleBookmarkRepository extends JpaRepository<ArticleBookmark
     @Query("SELECT ab FROM ArticleBookmarkEntity ab WHERE ab.userId = :userId ORDER BY ab.createdAt DESC")
     Page<ArticleBookmarkEntity> findByUserId(@Param("userId") String userId, Pageable pageable);
     
+    @Query("SELECT ab.articleId FROM ArticleBookmarkEntity ab WHERE ab.userId = :userId AND ab.articleId IN :articleIds")
+    List<String> findBookmarkedArticleIds(@Param("userId") String userId, @Param("articleIds") Collection<String> articleIds);
+    
     @Query("SELECT COUNT(ab) FROM ArticleBookmarkEntity ab WHERE ab.articleId = :articleId")
     long countByArticleId(@Param("articleId") String articleId);
     
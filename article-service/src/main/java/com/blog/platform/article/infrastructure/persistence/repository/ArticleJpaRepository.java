@@ -1,15 +1,18 @@
 package com.blog.platform.article.infrastructure.persistence.repository;
 
 import com.blog.platform.article.infrastructure.persistence.entity.ArticleEntity;
+import com.blog.platform.article.infrastructure.persistence.projection.ArticleCardView;
 import com.blog.platform.common.domain.article.ArticleStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,6 +56,112 @@ public interface ArticleJpaRepository extends JpaRepository<ArticleEntity, Strin
     @Query("SELECT a FROM ArticleEntity a WHERE a.authorId = :authorId AND a.status = 'PUBLISHED' ORDER BY a.publishTime DESC")
     Page<ArticleEntity> findPublishedArticlesByAuthor(@Param("authorId") String authorId, Pageable pageable);
     
+    /**
+     * Select list for list-card projections; never reads the content column.
+     * Every saved article has a summary (V7 backfilled older rows)
+     */
+    String CARD_SELECT = "SELECT a.id AS id, a.authorId AS authorId, a.title AS title, " +
+            "a.summary AS summary, a.status AS status, " +
+            "a.publishTime AS publishTime, a.createdAt AS createdAt, a.updatedAt AS updatedAt, " +
+            "COALESCE(s.viewCount, 0) AS viewCount, COALESCE(s.likeCount, 0) AS likeCount, " +
+            "COALESCE(s.commentCount, 0) AS commentCount, COALESCE(s.shareCount, 0) AS shareCount, " +
+            "COALESCE(s.bookmarkCount, 0) AS bookmarkCount " +
+            "FROM ArticleEntity a LEFT JOIN a.statistics s ";
+    
+    /**
+     * Find list cards of published articles
+     */
+    @Query(value = CARD_SELECT + "WHERE a.status = 'PUBLISHED' ORDER BY a.publishTime DESC",
+           countQuery = "SELECT COUNT(a) FROM ArticleEntity a WHERE a.status = 'PUBLISHED'")
+    Page<ArticleCardView> findPublishedCards(Pageable pageable);
+    
+    /**
+     * Find list cards by status
+     */
+    @Query(value = CARD_SELECT + "WHERE a.status = :status",
+           countQuery = "SELECT COUNT(a) FROM ArticleEntity a WHERE a.status = :status")
+    Page<ArticleCardView> findCardsByStatus(@Param("status") ArticleStatus status, Pageable pageable);
+    
+    /**
+     * Find list cards by author
+     */
+    @Query(value = CARD_SELECT + "WHERE a.authorId = :authorId",
+           countQuery = "SELECT COUNT(a) FROM ArticleEntity a WHERE a.authorId = :authorId")
+    Page<ArticleCardView> findCardsByAuthorId(@Param("authorId") String authorId, Pageable pageable);
+    
+    /**
+     * Find list cards by author and status
+     */
+    @Query(value = CARD_SELECT + "WHERE a.authorId = :authorId AND a.status = :status",
+           countQuery = "SELECT COUNT(a) FROM ArticleEntity a WHERE a.authorId = :authorId AND a.status = :status")
+    Page<ArticleCardView> findCardsByAuthorIdAndStatus(@Param("authorId") String authorId,
+                                                       @Param("status") ArticleStatus status,
+                                                       Pageable pageable);
+    
+    /**
+     * Same filters as the card page queries above, returned as slices so no count query runs
+     */
+    @Query(CARD_SELECT + "WHERE a.status = 'PUBLISHED' ORDER BY a.publishTime DESC")
+    Slice<ArticleCardView> slicePublishedCards(Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE a.status = :status")
+    Slice<ArticleCardView> sliceCardsByStatus(@Param("status") ArticleStatus status, Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE a.authorId = :authorId")
+    Slice<ArticleCardView> sliceCardsByAuthorId(@Param("authorId") String authorId, Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE a.authorId = :authorId AND a.status = :status")
+    Slice<ArticleCardView> sliceCardsByAuthorIdAndStatus(@Param("authorId") String authorId,
+                                                         @Param("status") ArticleStatus status,
+                                                         Pageable pageable);
+    
+    /**
+     * Find list cards by ids in a single query (order not guaranteed)
+     */
+    @Query(CARD_SELECT + "WHERE a.id IN :articleIds")
+    List<ArticleCardView> findCardsByIdIn(@Param("articleIds") Collection<String> articleIds);
+    
+    /**
+     * Keyset page of published cards, newest first (idx_status_publish_time)
+     */
+    @Query(CARD_SELECT + "WHERE a.status = 'PUBLISHED' ORDER BY a.publishTime DESC, a.id DESC")
+    Slice<ArticleCardView> findPublishedCardSlice(Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE a.status = 'PUBLISHED' " +
+           "AND (a.publishTime < :publishTime OR (a.publishTime = :publishTime AND a.id < :id)) " +
+           "ORDER BY a.publishTime DESC, a.id DESC")
+    Slice<ArticleCardView> findPublishedCardSliceAfter(@Param("publishTime") LocalDateTime publishTime,
+                                                       @Param("id") String id, Pageable pageable);
+    
+    /**
+     * Keyset page of cards by status, newest first (idx_status_created)
+     */
+    @Query(CARD_SELECT + "WHERE a.status = :status ORDER BY a.createdAt DESC, a.id DESC")
+    Slice<ArticleCardView> findCardSliceByStatus(@Param("status") ArticleStatus status, Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE a.status = :status " +
+           "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    Slice<ArticleCardView> findCardSliceByStatusAfter(@Param("status") ArticleStatus status,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") String id, Pageable pageable);
+    
+    /**
+     * Keyset page of an author's cards, optionally filtered by status, newest first
+     */
+    @Query(CARD_SELECT + "WHERE a.authorId = :authorId AND (:status IS NULL OR a.status = :status) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    Slice<ArticleCardView> findCardSliceByAuthorId(@Param("authorId") String authorId,
+                                                   @Param("status") ArticleStatus status, Pageable pageable);
+    
+    @Query(CARD_SELECT + "WHERE a.authorId = :authorId AND (:status IS NULL OR a.status = :status) " +
+           "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    Slice<ArticleCardView> findCardSliceByAuthorIdAfter(@Param("authorId") String authorId,
+                                                        @Param("status") ArticleStatus status,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") String id, Pageable pageable);
+    
     /**
      * Find articles published after a specific date
      */
@@ -65,12 +174,25 @@ public interface ArticleJpaRepository extends JpaRepository<ArticleEntity, Strin
     @Query("SELECT a FROM ArticleEntity a LEFT JOIN FETCH a.statistics WHERE a.id = :articleId")
     Optional<ArticleEntity> findByIdWithStatistics(@Param("articleId") String articleId);
     
+    /**
+     * Find articles by ids with statistics in a single query (order not guaranteed)
+     */
+    @Query("SELECT a FROM ArticleEntity a LEFT JOIN FETCH a.statistics WHERE a.id IN :articleIds")
+    List<ArticleEntity> findAllByIdInWithStatistics(@Param("articleIds") Collection<String> articleIds);
+    
     /**
      * Find article with tags
      */
     @Query("SELECT a FROM ArticleEntity a LEFT JOIN FETCH a.tags WHERE a.id = :articleId")
     Optional<ArticleEntity> findByIdWithTags(@Param("articleId") String articleId);
     
+    /**
+     * Find articles by ids with statistics, tags and categories in a single query (order not guaranteed)
+     */
+    @Query("SELECT DISTINCT a FROM ArticleEntity a LEFT JOIN FETCH a.statistics LEFT JOIN FETCH a.tags " +
+           "LEFT JOIN FETCH a.categories c LEFT JOIN FETCH c.category WHERE a.id IN :articleIds")
+    List<ArticleEntity> findAllByIdInWithTagsAndCategories(@Param("articleIds") Collection<String> articleIds);
+    
     /**
      * Find article with categories
      */
@@ -102,6 +224,11 @@ public interface ArticleJpaRepository extends JpaRepository<ArticleEntity, Strin
      */
     long countByStatus(ArticleStatus status);
     
+    /**
+     * Count articles by author and status
+     */
+    long countByAuthorIdAndStatus(String authorId, ArticleStatus status);
+    
     /**
      * Count published articles by author
      */
@@ -119,4 +246,10 @@ public interface ArticleJpaRepository extends JpaRepository<ArticleEntity, Strin
      */
     @Query("SELECT a FROM ArticleEntity a JOIN a.categories ac WHERE ac.categoryId = :categoryId AND a.status = 'PUBLISHED'")
     Page<ArticleEntity> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    /**
+     * Find article IDs after the given ID (keyset batches for full scans)
+     */
+    @Query("SELECT a.id FROM ArticleEntity a WHERE a.id > :afterId ORDER BY a.id")
+    List<String> findIdsAfter(@Param("afterId") String afterId, Pageable pageable);
 }
\ No newline at end of file
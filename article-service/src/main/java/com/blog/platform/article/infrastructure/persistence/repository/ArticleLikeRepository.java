@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,6 +22,9 @@ public interface ArticleLikeRepository extends JpaRepository<ArticleLikeEntity,
     @Query("DELETE FROM ArticleLikeEntity al WHERE al.articleId = :articleId AND al.userId = :userId")
     void deleteByArticleIdAndUserId(@Param("articleId") String articleId, @Param("userId") String userId);
     
+    @Query("SELECT al.articleId FROM ArticleLikeEntity al WHERE al.userId = :userId AND al.articleId IN :articleIds")
+    List<String> findLikedArticleIds(@Param("userId") String userId, @Param("articleIds") Collection<String> articleIds);
+    
     @Query("SELECT COUNT(al) FROM ArticleLikeEntity al WHERE al.articleId = :articleId")
     long countByArticleId(@Param("articleId") String articleId);
 }
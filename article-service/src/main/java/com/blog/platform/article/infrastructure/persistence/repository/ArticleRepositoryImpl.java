@@ -11,6 +11,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -44,6 +45,20 @@ public class ArticleRepositoryImpl implements ArticleRepository {
         return entityOpt.map(this::toDomain);
     }
     
+    @Override
+    public List<Article> findAllById(Collection<ArticleId> articleIds) {
+        if (articleIds.isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = articleIds.stream()
+                .map(ArticleId::getValue)
+                .distinct()
+                .collect(Collectors.toList());
+        return jpaRepository.findAllByIdInWithStatistics(ids).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     public List<Article> findByAuthorId(UserId authorId) {
         List<ArticleEntity> entities = jpaRepository.findByAuthorId(authorId.getValue());
@@ -1,6 +1,7 @@
 package com.blog.platform.article.infrastructure.persistence.repository;
 
 import com.blog.platform.article.infrastructure.persistence.entity.ArticleStatisticsEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -23,7 +24,13 @@ public interface ArticleStatisticsJpaRepository extends JpaRepository<ArticleSta
      */
     @Query("SELECT s FROM ArticleStatisticsEntity s ORDER BY s.viewCount DESC")
     List<ArticleStatisticsEntity> findTopByViewCount();
-    
+
+    /**
+     * Find IDs of the most viewed published articles
+     */
+    @Query("SELECT s.articleId FROM ArticleStatisticsEntity s JOIN s.article a WHERE a.status = 'PUBLISHED' ORDER BY s.viewCount DESC")
+    List<String> findTopPublishedArticleIdsByViewCount(Pageable pageable);
+
     /**
      * Find articles with most likes
      */
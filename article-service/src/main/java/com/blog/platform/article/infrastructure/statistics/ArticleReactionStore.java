@@ -0,0 +1,423 @@
+package com.blog.platform.article.infrastructure.statistics;
+
+import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleReadModelSyncQueue;
+import com.blog.platform.common.cache.CacheService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章点赞/收藏状态
+ * 每篇文章的点赞和收藏用户保存在Redis集合中，
+ * 点赞/取消点赞只需执行一次Lua脚本：修改集合并把最终状态记入待写入哈希。
+ * 待写入哈希按(类型, 文章, 用户)合并，多次切换只保留最后状态，由定时任务批量写入
+ * article_likes/article_bookmarks，并按表中实际行数重算article_statistics中的计数。
+ * 待写入哈希按文章ID分成固定数量的分片，文章集合与所在分片的待写入哈希使用相同的hash tag，
+ * 保证Redis Cluster下脚本访问的键位于同一个slot。
+ *
+ * 集合在文章第一次被访问时从数据库加载（集合中固定包含一个哨兵成员，表示已加载），
+ * 之后每次写入续期；Redis不可用时由调用方回退到同步写库
+ */
+@Component
+public class ArticleReactionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleReactionStore.class);
+
+    private static final String KEY_PREFIX = "blog:article:reaction:";
+
+    /**
+     * 待写入哈希的分片数，修改后旧分片中未写入的变化不会再被读取
+     */
+    static final int PENDING_SHARDS = 16;
+
+    private static final String FLUSH_LOCK = "article:reaction:flush";
+
+    /**
+     * 集合已从数据库加载的标记，用户ID不会取该值
+     */
+    private static final String LOADED_SENTINEL = "~";
+
+    private static final char FIELD_SEPARATOR = '|';
+
+    /**
+     * 返回-1表示集合未加载；1表示状态发生变化；0表示已经是目标状态
+     */
+    private static final RedisScript<Long> TOGGLE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "local changed " +
+            "if ARGV[2] == '1' then changed = redis.call('SADD', KEYS[1], ARGV[1]) " +
+            "else changed = redis.call('SREM', KEYS[1], ARGV[1]) end " +
+            "if changed == 1 then redis.call('HSET', KEYS[2], ARGV[3], ARGV[2]) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[4]) " +
+            "return changed",
+            Long.class);
+
+    /**
+     * 加载集合，集合已存在时不做任何修改
+     */
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "local n = #ARGV " +
+            "for i = 2, n, 1000 do redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + 999, n))) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> IS_MEMBER_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "return redis.call('SISMEMBER', KEYS[1], ARGV[1])",
+            Long.class);
+
+    public enum Reaction {
+        LIKE("like", "article_likes", "like_count"),
+        BOOKMARK("bookmark", "article_bookmarks", "bookmark_count");
+
+        private final String field;
+        private final String table;
+        private final String countColumn;
+
+        Reaction(String field, String table, String countColumn) {
+            this.field = field;
+            this.table = table;
+            this.countColumn = countColumn;
+        }
+
+        static Reaction ofField(String field) {
+            for (Reaction reaction : values()) {
+                if (reaction.field.equals(field)) {
+                    return reaction;
+                }
+            }
+            throw new IllegalArgumentException("Unknown reaction: " + field);
+        }
+    }
+
+    public enum Result {
+        CHANGED, UNCHANGED, ARTICLE_NOT_FOUND
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final CacheService cacheService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectProvider<ArticleReadModelSyncQueue> readModelSyncQueue;
+
+    private final boolean enabled;
+
+    private final boolean cqrsEnabled;
+
+    private final Duration ttl;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final LongAdder flushedChanges = new LongAdder();
+
+    private final LongAdder failedFlushes = new LongAdder();
+
+    private volatile Timer flushTimer;
+
+    public ArticleReactionStore(RedisTemplate<String, Object> redisTemplate,
+                                CacheService cacheService,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ObjectProvider<ArticleReadModelSyncQueue> readModelSyncQueue,
+                                @Value("${article-service.reaction.enabled:true}") boolean enabled,
+                                @Value("${feature.cqrs.enabled:false}") boolean cqrsEnabled,
+                                @Value("${article-service.reaction.ttl-hours:168}") long ttlHours) {
+        this.redisTemplate = redisTemplate;
+        this.cacheService = cacheService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.readModelSyncQueue = readModelSyncQueue;
+        this.enabled = enabled;
+        this.cqrsEnabled = cqrsEnabled;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    @Autowired(required = false)
+    public void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("article.reactions.flushed", flushedChanges, LongAdder::sum)
+                .description("Like and bookmark changes written to the database")
+                .register(registry);
+        FunctionCounter.builder("article.reactions.flush.failures", failedFlushes, LongAdder::sum)
+                .description("Failed like and bookmark flushes")
+                .register(registry);
+        flushTimer = Timer.builder("article.reactions.flush")
+                .description("Time spent writing buffered like and bookmark changes")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Redis可用且未禁用时才走快速路径
+     */
+    public boolean isAvailable() {
+        return enabled && cacheService.isRedisAvailable();
+    }
+
+    /**
+     * 设置用户对文章的点赞/收藏状态，集合已加载时只有一次Redis往返
+     */
+    public Result apply(Reaction reaction, String articleId, String userId, boolean active) {
+        Long changed = toggle(reaction, articleId, userId, active);
+        if (changed != null && changed < 0) {
+            if (!load(reaction, articleId)) {
+                return Result.ARTICLE_NOT_FOUND;
+            }
+            changed = toggle(reaction, articleId, userId, active);
+        }
+        return changed != null && changed == 1 ? Result.CHANGED : Result.UNCHANGED;
+    }
+
+    /**
+     * 用户是否点赞/收藏了文章，文章不存在时返回false
+     */
+    public boolean isMember(Reaction reaction, String articleId, String userId) {
+        Long member = isMemberRaw(reaction, articleId, userId);
+        if (member != null && member < 0) {
+            if (!load(reaction, articleId)) {
+                return false;
+            }
+            member = isMemberRaw(reaction, articleId, userId);
+        }
+        return member != null && member == 1;
+    }
+
+    /**
+     * 批量查询用户对多篇文章的点赞/收藏状态，一次管道往返，每篇文章两条SISMEMBER
+     * （哨兵成员表示集合已加载）。只返回集合已加载的文章，未加载的由调用方查询数据库
+     */
+    public Map<String, Boolean> memberships(Reaction reaction, Collection<String> articleIds, String userId) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(articleIds));
+        Map<String, Boolean> memberships = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return memberships;
+        }
+        byte[] sentinel = LOADED_SENTINEL.getBytes(StandardCharsets.UTF_8);
+        byte[] member = userId.getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String articleId : ids) {
+                byte[] key = membersKey(reaction, articleId).getBytes(StandardCharsets.UTF_8);
+                connection.setCommands().sIsMember(key, sentinel);
+                connection.setCommands().sIsMember(key, member);
+            }
+            return null;
+        }, RedisSerializer.string());
+        if (results == null || results.size() != ids.size() * 2) {
+            return memberships;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i * 2))) {
+                memberships.put(ids.get(i), Boolean.TRUE.equals(results.get(i * 2 + 1)));
+            }
+        }
+        return memberships;
+    }
+
+    /**
+     * 删除文章的Redis状态，下次访问时从数据库重新加载；同步写库后调用
+     */
+    public void evict(String articleId) {
+        try {
+            List<String> keys = new ArrayList<>();
+            for (Reaction reaction : Reaction.values()) {
+                keys.add(membersKey(reaction, articleId));
+            }
+            redisTemplate.delete(keys);
+        } catch (Exception e) {
+            logger.warn("清理文章点赞状态失败: articleId={}, error={}", articleId, e.getMessage());
+        }
+    }
+
+    private Long toggle(Reaction reaction, String articleId, String userId, boolean active) {
+        String pendingField = reaction.field + FIELD_SEPARATOR + articleId + FIELD_SEPARATOR + userId;
+        return redisTemplate.execute(TOGGLE_SCRIPT, RedisSerializer.string(), null,
+                List.of(membersKey(reaction, articleId), pendingKey(shard(articleId))),
+                userId, active ? "1" : "0", pendingField, String.valueOf(ttl.toSeconds()));
+    }
+
+    private Long isMemberRaw(Reaction reaction, String articleId, String userId) {
+        return redisTemplate.execute(IS_MEMBER_SCRIPT, RedisSerializer.string(), null,
+                List.of(membersKey(reaction, articleId)), userId);
+    }
+
+    /**
+     * 从数据库加载文章的点赞/收藏用户，文章不存在时返回false
+     */
+    private boolean load(Reaction reaction, String articleId) {
+        Integer articles = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM articles WHERE id = ?", Integer.class, articleId);
+        if (articles == null || articles == 0) {
+            return false;
+        }
+        List<String> userIds = jdbcTemplate.queryForList(
+                "SELECT user_id FROM " + reaction.table + " WHERE article_id = ?", String.class, articleId);
+        List<String> args = new ArrayList<>(userIds.size() + 2);
+        args.add(String.valueOf(ttl.toSeconds()));
+        args.add(LOADED_SENTINEL);
+        args.addAll(userIds);
+        redisTemplate.execute(LOAD_SCRIPT, RedisSerializer.string(), null,
+                List.of(membersKey(reaction, articleId)), args.toArray());
+        return true;
+    }
+
+    /**
+     * 批量写入待持久化的状态变化；多实例通过分布式锁保证同一时间只有一个实例写入。
+     * 每个分片的待写入哈希先改名为处理中哈希再读取，写库成功后删除；写库失败或进程退出时处理中哈希保留，
+     * 下次重新写入（插入忽略重复、删除和重算计数都可重复执行）
+     */
+    @Scheduled(fixedDelayString = "${article-service.reaction.flush-interval-ms:1000}")
+    public void flush() {
+        if (!isAvailable()) {
+            return;
+        }
+        String lockValue = instanceId + ":" + Thread.currentThread().threadId();
+        if (!cacheService.tryLock(FLUSH_LOCK, lockValue, Duration.ofSeconds(60))) {
+            return;
+        }
+        try {
+            Map<byte[], byte[]> changes = new LinkedHashMap<>();
+            List<String> processingKeys = new ArrayList<>();
+            for (int shard = 0; shard < PENDING_SHARDS; shard++) {
+                Map<byte[], byte[]> shardChanges = takePending(shard);
+                if (shardChanges != null && !shardChanges.isEmpty()) {
+                    changes.putAll(shardChanges);
+                    processingKeys.add(processingKey(shard));
+                }
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                Set<String> articleIds = write(changes);
+                // 各分片位于不同slot，逐个删除
+                processingKeys.forEach(redisTemplate::delete);
+                flushedChanges.add(changes.size());
+                logger.debug("点赞/收藏写入完成: changes={}, articles={}, elapsed={}ms", changes.size(),
+                        articleIds.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                syncReadModel(articleIds);
+            } catch (Exception e) {
+                failedFlushes.increment();
+                logger.warn("点赞/收藏批量写入失败，下次重试: changes={}, error={}", changes.size(), e.getMessage());
+            } finally {
+                Timer timer = flushTimer;
+                if (timer != null) {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("读取待写入的点赞/收藏失败: {}", e.getMessage());
+        } finally {
+            cacheService.releaseLock(FLUSH_LOCK, lockValue);
+        }
+    }
+
+    private Map<byte[], byte[]> takePending(int shard) {
+        byte[] pendingKey = pendingKey(shard).getBytes(StandardCharsets.UTF_8);
+        byte[] processingKey = processingKey(shard).getBytes(StandardCharsets.UTF_8);
+        return redisTemplate.execute((RedisCallback<Map<byte[], byte[]>>) connection -> {
+            // 上次未完成的批次优先写入
+            if (!Boolean.TRUE.equals(connection.keyCommands().exists(processingKey))) {
+                if (!Boolean.TRUE.equals(connection.keyCommands().exists(pendingKey))) {
+                    return null;
+                }
+                connection.keyCommands().renameNX(pendingKey, processingKey);
+            }
+            return connection.hashCommands().hGetAll(processingKey);
+        });
+    }
+
+    /**
+     * 在一个事务中写入成员变化并重算计数，返回涉及的文章ID
+     */
+    private Set<String> write(Map<byte[], byte[]> changes) {
+        Map<Reaction, List<Object[]>> inserts = new EnumMap<>(Reaction.class);
+        Map<Reaction, List<Object[]>> deletes = new EnumMap<>(Reaction.class);
+        Map<Reaction, Set<String>> touched = new EnumMap<>(Reaction.class);
+        Set<String> articleIds = new LinkedHashSet<>();
+
+        changes.forEach((rawField, rawState) -> {
+            String[] parts = new String(rawField, StandardCharsets.UTF_8).split("\\|", 3);
+            if (parts.length != 3) {
+                return;
+            }
+            Reaction reaction = Reaction.ofField(parts[0]);
+            Object[] row = new Object[]{parts[1], parts[2]};
+            boolean active = "1".equals(new String(rawState, StandardCharsets.UTF_8));
+            (active ? inserts : deletes).computeIfAbsent(reaction, r -> new ArrayList<>()).add(row);
+            touched.computeIfAbsent(reaction, r -> new LinkedHashSet<>()).add(parts[1]);
+            articleIds.add(parts[1]);
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            inserts.forEach((reaction, rows) -> jdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO " + reaction.table + " (article_id, user_id) VALUES (?, ?)", rows));
+            deletes.forEach((reaction, rows) -> jdbcTemplate.batchUpdate(
+                    "DELETE FROM " + reaction.table + " WHERE article_id = ? AND user_id = ?", rows));
+            touched.forEach((reaction, ids) -> jdbcTemplate.batchUpdate(
+                    "UPDATE article_statistics SET " + reaction.countColumn + " = (SELECT COUNT(*) FROM "
+                            + reaction.table + " WHERE article_id = ?) WHERE article_id = ?",
+                    ids.stream().map(id -> new Object[]{id, id}).toList()));
+        });
+        return articleIds;
+    }
+
+    private void syncReadModel(Set<String> articleIds) {
+        ArticleReadModelSyncQueue syncQueue = cqrsEnabled ? readModelSyncQueue.getIfAvailable() : null;
+        if (syncQueue != null) {
+            articleIds.forEach(syncQueue::enqueueStatistics);
+        }
+    }
+
+    static int shard(String articleId) {
+        return Math.floorMod(articleId.hashCode(), PENDING_SHARDS);
+    }
+
+    static String pendingKey(int shard) {
+        return KEY_PREFIX + "{" + shard + "}:pending";
+    }
+
+    static String processingKey(int shard) {
+        return KEY_PREFIX + "{" + shard + "}:pending:processing";
+    }
+
+    /**
+     * 与文章所在分片的待写入哈希使用相同的hash tag
+     */
+    private static String membersKey(Reaction reaction, String articleId) {
+        return KEY_PREFIX + "{" + shard(articleId) + "}:" + reaction.field + ":" + articleId;
+    }
+}
@@ -0,0 +1,235 @@
+package com.blog.platform.article.infrastructure.statistics;
+
+import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleReadModelSyncService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章浏览量写回缓冲
+ * 浏览只在内存中按文章累加（每篇文章一个计数器），定时批量写入数据库
+ * （UPDATE article_statistics SET view_count = view_count + ?）并对搜索索引做局部更新，
+ * 不再为每次浏览加载和保存整个文章聚合。
+ * 单次刷新的文章数量和缓冲的文章数量都有上限，超出缓冲上限的新文章浏览直接丢弃并计数；
+ * 每次刷新从上次停下的位置继续遍历，文章数超过单次上限时轮流写入，不会总是跳过同一批文章。
+ * 已无新增浏览的文章在刷新时移出缓冲：计数器先以CAS从0置为RETIRED再移除，
+ * 记录浏览时遇到RETIRED的计数器改用新的计数器，因此不会有浏览落在已移除的计数器上。
+ * 写库失败的增量放回缓冲，下次刷新重试
+ */
+@Component
+public class ArticleViewCountBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleViewCountBuffer.class);
+
+    static final String INCREMENT_SQL =
+            "UPDATE article_statistics SET view_count = view_count + ? WHERE article_id = ?";
+
+    /**
+     * 已移出缓冲的计数器
+     */
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectProvider<ArticleReadModelSyncService> readModelSyncService;
+
+    private final boolean cqrsEnabled;
+
+    private final int maxPendingArticles;
+
+    private final int maxArticlesPerFlush;
+
+    private final Map<String, AtomicLong> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 遍历位置跨刷新保留；ConcurrentHashMap的迭代器弱一致，不会因并发修改失败
+     */
+    private Iterator<Map.Entry<String, AtomicLong>> cursor = Collections.emptyIterator();
+
+    private final AtomicLong pendingViews = new AtomicLong();
+
+    private final LongAdder flushedViews = new LongAdder();
+
+    private final LongAdder droppedViews = new LongAdder();
+
+    private final LongAdder failedFlushes = new LongAdder();
+
+    private volatile Timer flushTimer;
+
+    public ArticleViewCountBuffer(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectProvider<ArticleReadModelSyncService> readModelSyncService,
+                                  @Value("${feature.cqrs.enabled:false}") boolean cqrsEnabled,
+                                  @Value("${article-service.view-count.max-pending-articles:100000}") int maxPendingArticles,
+                                  @Value("${article-service.view-count.max-articles-per-flush:1000}") int maxArticlesPerFlush) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.readModelSyncService = readModelSyncService;
+        this.cqrsEnabled = cqrsEnabled;
+        this.maxPendingArticles = Math.max(maxPendingArticles, 1);
+        this.maxArticlesPerFlush = Math.max(maxArticlesPerFlush, 1);
+    }
+
+    @Autowired(required = false)
+    public void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("article.views.pending.articles", pending, Map::size)
+                .description("Articles with view counts waiting to be flushed")
+                .register(registry);
+        Gauge.builder("article.views.pending", pendingViews, AtomicLong::get)
+                .description("Views waiting to be flushed")
+                .register(registry);
+        FunctionCounter.builder("article.views.flushed", flushedViews, LongAdder::sum)
+                .description("Views written to the database")
+                .register(registry);
+        FunctionCounter.builder("article.views.dropped", droppedViews, LongAdder::sum)
+                .description("Views dropped because the buffer was full")
+                .register(registry);
+        FunctionCounter.builder("article.views.flush.failures", failedFlushes, LongAdder::sum)
+                .description("Failed view count flushes")
+                .register(registry);
+        flushTimer = Timer.builder("article.views.flush")
+                .description("Time spent flushing buffered view counts")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * 记录一次浏览
+     */
+    public void record(String articleId) {
+        while (true) {
+            AtomicLong counter = pending.get(articleId);
+            if (counter == null) {
+                if (pending.size() >= maxPendingArticles) {
+                    droppedViews.increment();
+                    return;
+                }
+                counter = pending.computeIfAbsent(articleId, id -> new AtomicLong());
+            }
+            if (counter.getAndUpdate(views -> views == RETIRED ? views : views + 1) != RETIRED) {
+                pendingViews.incrementAndGet();
+                return;
+            }
+            // 计数器刚被刷新线程移出，换用新的计数器
+            pending.remove(articleId, counter);
+        }
+    }
+
+    /**
+     * 定时刷新，每次最多写入maxArticlesPerFlush篇文章，剩余的留到下次
+     */
+    @Scheduled(fixedDelayString = "${article-service.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        flushBatch();
+    }
+
+    /**
+     * 写入一批增量，返回是否写入了数据
+     */
+    private synchronized boolean flushBatch() {
+        Map<String, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try {
+            List<Object[]> args = new ArrayList<>(deltas.size());
+            deltas.forEach((articleId, delta) -> args.add(new Object[]{delta, articleId}));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INCREMENT_SQL, args));
+        } catch (Exception e) {
+            failedFlushes.increment();
+            deltas.forEach(this::restore);
+            logger.warn("批量写入文章浏览量失败，下次重试: articles={}, error={}", deltas.size(), e.getMessage());
+            return false;
+        } finally {
+            Timer timer = flushTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        long views = deltas.values().stream().mapToLong(Long::longValue).sum();
+        flushedViews.add(views);
+        logger.debug("文章浏览量写入完成: articles={}, views={}, elapsed={}ms",
+                deltas.size(), views, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        // 搜索索引只是读模型，失败时等待下次全量同步修正，不回滚数据库
+        ArticleReadModelSyncService syncService = cqrsEnabled ? readModelSyncService.getIfAvailable() : null;
+        if (syncService != null) {
+            syncService.incrementViewCounts(deltas);
+        }
+        return true;
+    }
+
+    /**
+     * 取出待写入的增量，从上次停下的位置继续，每篇文章最多访问一次；
+     * 已无新增浏览的文章从缓冲中移除
+     */
+    private Map<String, Long> drain() {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        int remaining = pending.size();
+        while (remaining-- > 0 && deltas.size() < maxArticlesPerFlush) {
+            if (!cursor.hasNext()) {
+                cursor = pending.entrySet().iterator();
+                if (!cursor.hasNext()) {
+                    break;
+                }
+            }
+            Map.Entry<String, AtomicLong> entry = cursor.next();
+            AtomicLong counter = entry.getValue();
+            long delta = counter.getAndUpdate(views -> views == RETIRED ? views : 0);
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+                pendingViews.addAndGet(-delta);
+            } else if (delta == 0 && counter.compareAndSet(0, RETIRED)) {
+                pending.remove(entry.getKey(), counter);
+            }
+        }
+        return deltas;
+    }
+
+    private void restore(String articleId, long delta) {
+        // 刷新串行执行，此时缓冲中的计数器不会被移出
+        pending.computeIfAbsent(articleId, id -> new AtomicLong()).addAndGet(delta);
+        pendingViews.addAndGet(delta);
+    }
+
+    public long getPendingViews() {
+        return pendingViews.get();
+    }
+
+    /**
+     * 停机前写入全部缓冲的浏览量
+     */
+    @PreDestroy
+    public void shutdown() {
+        while (flushBatch()) {
+            // 每批最多maxArticlesPerFlush篇，直到没有待写入的浏览或写入失败
+        }
+    }
+}
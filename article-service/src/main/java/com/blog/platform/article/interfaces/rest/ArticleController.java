@@ -2,6 +2,8 @@ package com.blog.platform.article.interfaces.rest;
 
 import com.blog.platform.article.application.dto.*;
 import com.blog.platform.article.application.service.ArticleApplicationService;
+import com.blog.platform.common.repository.CursorPage;
+import com.blog.platform.common.repository.TotalMode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -9,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -79,9 +82,25 @@ public class ArticleController {
             @RequestParam(required = false) String authorId,
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) String tag,
-            @RequestParam(required = false) String sort) {
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String totalMode) {
         
-        PageResult<ArticleListDto> articles = articleService.getArticles(page, size, status, authorId, categoryId, tag, sort);
+        PageResult<ArticleListDto> articles = articleService.getArticles(page, size, status, authorId, categoryId, tag, sort,
+                TotalMode.parse(totalMode, TotalMode.EXACT));
+        return ResponseEntity.ok(ApiResponse.success(articles));
+    }
+    
+    /**
+     * 游标分页：带after参数（第一页传空值）时使用，响应中的nextCursor作为下一页的after
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<ApiResponse<CursorPage<ArticleListDto>>> getArticlesAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String authorId) {
+        
+        CursorPage<ArticleListDto> articles = articleService.getArticlesAfter(after, size, status, authorId);
         return ResponseEntity.ok(ApiResponse.success(articles));
     }
     
@@ -120,9 +139,22 @@ public class ArticleController {
             @PathVariable String authorId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String totalMode) {
+        
+        PageResult<ArticleListDto> articles = articleService.getArticles(page, size, status, authorId, null, null, null,
+                TotalMode.parse(totalMode, TotalMode.EXACT));
+        return ResponseEntity.ok(ApiResponse.success(articles));
+    }
+    
+    @GetMapping(value = "/author/{authorId}", params = "after")
+    public ResponseEntity<ApiResponse<CursorPage<ArticleListDto>>> getArticlesByAuthorAfter(
+            @PathVariable String authorId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String status) {
         
-        PageResult<ArticleListDto> articles = articleService.getArticles(page, size, status, authorId, null, null, null);
+        CursorPage<ArticleListDto> articles = articleService.getArticlesAfter(after, size, status, authorId);
         return ResponseEntity.ok(ApiResponse.success(articles));
     }
     
@@ -170,6 +202,15 @@ public class ArticleController {
         return ResponseEntity.ok(ApiResponse.success("取消收藏成功", null));
     }
     
+    @GetMapping("/like-status")
+    public ResponseEntity<ApiResponse<Map<String, List<String>>>> getLikeStatuses(
+            @RequestParam List<String> ids,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        
+        Map<String, List<String>> statuses = articleService.getLikeAndBookmarkStatuses(ids, userId);
+        return ResponseEntity.ok(ApiResponse.success(statuses));
+    }
+    
     @GetMapping("/{articleId}/like-status")
     public ResponseEntity<ApiResponse<Map<String, Boolean>>> getLikeStatus(
             @PathVariable String articleId,
@@ -184,9 +225,11 @@ public class ArticleController {
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String totalMode) {
         
-        PageResult<ArticleListDto> articles = articleService.getArticles(page, size, status, userId, null, null, null);
+        PageResult<ArticleListDto> articles = articleService.getArticles(page, size, status, userId, null, null, null,
+                TotalMode.parse(totalMode, TotalMode.EXACT));
         return ResponseEntity.ok(ApiResponse.success(articles));
     }
     
@@ -0,0 +1,9 @@
+-- Article Service: 补齐摘要
+
+-- 列表卡片只查询 summary 列，不再读取 content；历史数据中摘要为空的文章按保存时的规则从正文截取
+UPDATE articles
+SET summary = CASE
+    WHEN CHAR_LENGTH(content) > 200 THEN CONCAT(LEFT(content, 200), '...')
+    ELSE content
+END
+WHERE summary IS NULL;
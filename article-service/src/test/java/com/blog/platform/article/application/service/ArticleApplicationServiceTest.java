@@ -0,0 +1,68 @@
+package com.blog.platform.article.application.service;
+
+import com.blog.platform.article.application.dto.ArticleDto;
+import com.blog.platform.article.infrastructure.statistics.ArticleViewCountBuffer;
+import com.blog.platform.common.cache.CacheProtectionService;
+import com.blog.platform.common.domain.article.ArticleStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ArticleApplicationServiceTest {
+
+    private CacheProtectionService cacheProtectionService;
+
+    private ArticleViewCountBuffer viewCountBuffer;
+
+    private ArticleApplicationService articleService;
+
+    @BeforeEach
+    void setUp() {
+        cacheProtectionService = mock(CacheProtectionService.class);
+        viewCountBuffer = mock(ArticleViewCountBuffer.class);
+        articleService = new ArticleApplicationService();
+        ReflectionTestUtils.setField(articleService, "cacheProtectionService", cacheProtectionService);
+        ReflectionTestUtils.setField(articleService, "viewCountBuffer", viewCountBuffer);
+    }
+
+    @Test
+    void getArticleDetail_ShouldRecordViewOfPublishedArticle() {
+        // Given
+        cacheArticle("article-1", ArticleStatus.PUBLISHED);
+
+        // When
+        ArticleDto article = articleService.getArticleDetail("article-1");
+
+        // Then
+        assertThat(article.getId()).isEqualTo("article-1");
+        verify(viewCountBuffer).record("article-1");
+    }
+
+    @Test
+    void getArticleDetail_ShouldNotRecordViewOfDraft() {
+        // Given
+        cacheArticle("article-2", ArticleStatus.DRAFT);
+
+        // When
+        articleService.getArticleDetail("article-2");
+
+        // Then
+        verify(viewCountBuffer, never()).record(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cacheArticle(String articleId, ArticleStatus status) {
+        ArticleDto article = new ArticleDto();
+        article.setId(articleId);
+        article.setStatus(status);
+        when(cacheProtectionService.getWithAsyncRefresh(eq(ArticleApplicationService.ARTICLE_DETAIL_CACHE_PREFIX + articleId),
+                eq(ArticleDto.class), any(Supplier.class), any(Duration.class))).thenReturn(article);
+    }
+}
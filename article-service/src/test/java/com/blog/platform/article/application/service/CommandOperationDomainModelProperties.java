@@ -4,7 +4,7 @@ import com.blog.platform.article.application.dto.ArticleDto;
 import com.blog.platform.article.application.dto.CreateArticleRequest;
 import com.blog.platform.article.application.dto.UpdateArticleRequest;
 import com.blog.platform.article.domain.repository.ArticleRepository;
-import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleReadModelSyncService;
+import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleReadModelSyncQueue;
 import com.blog.platform.article.infrastructure.messaging.ArticleEventPublisher;
 import com.blog.platform.common.domain.DomainEventPublisher;
 import com.blog.platform.common.domain.article.*;
@@ -39,7 +39,7 @@ class CommandOperationDomainModelProperties {
         
         // Setup mocks
         ArticleRepository articleRepository = Mockito.mock(ArticleRepository.class);
-        ArticleReadModelSyncService readModelSyncService = Mockito.mock(ArticleReadModelSyncService.class);
+        ArticleReadModelSyncQueue readModelSyncQueue = Mockito.mock(ArticleReadModelSyncQueue.class);
         DomainEventPublisher eventPublisher = Mockito.mock(DomainEventPublisher.class);
         ArticleEventPublisher articleEventPublisher = Mockito.mock(ArticleEventPublisher.class);
         com.blog.platform.common.cache.CacheProtectionService cacheProtectionService = 
@@ -48,7 +48,7 @@ class CommandOperationDomainModelProperties {
         ArticleApplicationService articleService = new ArticleApplicationService();
         // Use reflection or setter injection for testing
         setField(articleService, "articleRepository", articleRepository);
-        setField(articleService, "readModelSyncService", readModelSyncService);
+        setField(articleService, "readModelSyncQueue", readModelSyncQueue);
         setField(articleService, "eventPublisher", eventPublisher);
         setField(articleService, "articleEventPublisher", articleEventPublisher);
         setField(articleService, "cacheProtectionService", cacheProtectionService);
@@ -88,7 +88,7 @@ class CommandOperationDomainModelProperties {
         
         // Setup mocks
         ArticleRepository articleRepository = Mockito.mock(ArticleRepository.class);
-        ArticleReadModelSyncService readModelSyncService = Mockito.mock(ArticleReadModelSyncService.class);
+        ArticleReadModelSyncQueue readModelSyncQueue = Mockito.mock(ArticleReadModelSyncQueue.class);
         DomainEventPublisher eventPublisher = Mockito.mock(DomainEventPublisher.class);
         ArticleEventPublisher articleEventPublisher = Mockito.mock(ArticleEventPublisher.class);
         com.blog.platform.common.cache.CacheProtectionService cacheProtectionService = 
@@ -96,7 +96,7 @@ class CommandOperationDomainModelProperties {
         
         ArticleApplicationService articleService = new ArticleApplicationService();
         setField(articleService, "articleRepository", articleRepository);
-        setField(articleService, "readModelSyncService", readModelSyncService);
+        setField(articleService, "readModelSyncQueue", readModelSyncQueue);
         setField(articleService, "eventPublisher", eventPublisher);
         setField(articleService, "articleEventPublisher", articleEventPublisher);
         setField(articleService, "cacheProtectionService", cacheProtectionService);
@@ -139,7 +139,7 @@ class CommandOperationDomainModelProperties {
         
         // Setup mocks
         ArticleRepository articleRepository = Mockito.mock(ArticleRepository.class);
-        ArticleReadModelSyncService readModelSyncService = Mockito.mock(ArticleReadModelSyncService.class);
+        ArticleReadModelSyncQueue readModelSyncQueue = Mockito.mock(ArticleReadModelSyncQueue.class);
         DomainEventPublisher eventPublisher = Mockito.mock(DomainEventPublisher.class);
         ArticleEventPublisher articleEventPublisher = Mockito.mock(ArticleEventPublisher.class);
         com.blog.platform.article.application.saga.ArticlePublishSaga articlePublishSaga = 
@@ -149,7 +149,7 @@ class CommandOperationDomainModelProperties {
         
         ArticleApplicationService articleService = new ArticleApplicationService();
         setField(articleService, "articleRepository", articleRepository);
-        setField(articleService, "readModelSyncService", readModelSyncService);
+        setField(articleService, "readModelSyncQueue", readModelSyncQueue);
         setField(articleService, "eventPublisher", eventPublisher);
         setField(articleService, "articleEventPublisher", articleEventPublisher);
         setField(articleService, "articlePublishSaga", Optional.of(articlePublishSaga));
@@ -194,7 +194,7 @@ class CommandOperationDomainModelProperties {
         
         // Setup mocks
         ArticleRepository articleRepository = Mockito.mock(ArticleRepository.class);
-        ArticleReadModelSyncService readModelSyncService = Mockito.mock(ArticleReadModelSyncService.class);
+        ArticleReadModelSyncQueue readModelSyncQueue = Mockito.mock(ArticleReadModelSyncQueue.class);
         DomainEventPublisher eventPublisher = Mockito.mock(DomainEventPublisher.class);
         ArticleEventPublisher articleEventPublisher = Mockito.mock(ArticleEventPublisher.class);
         com.blog.platform.common.cache.CacheProtectionService cacheProtectionService = 
@@ -202,7 +202,7 @@ class CommandOperationDomainModelProperties {
         
         ArticleApplicationService articleService = new ArticleApplicationService();
         setField(articleService, "articleRepository", articleRepository);
-        setField(articleService, "readModelSyncService", readModelSyncService);
+        setField(articleService, "readModelSyncQueue", readModelSyncQueue);
         setField(articleService, "eventPublisher", eventPublisher);
         setField(articleService, "articleEventPublisher", articleEventPublisher);
         setField(articleService, "cacheProtectionService", cacheProtectionService);
@@ -0,0 +1,100 @@
+package com.blog.platform.article.infrastructure.elasticsearch.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ArticleReadModelSyncQueueTest {
+
+    private final ArticleReadModelSyncService syncService = mock(ArticleReadModelSyncService.class);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldCoalesceRepeatedArticlesIntoOneBatch() {
+        // Given
+        ArticleReadModelSyncQueue queue = new ArticleReadModelSyncQueue(syncService, 0, 200, 0, 500);
+        queue.enqueue("article-1");
+        queue.enqueue("article-1");
+        queue.enqueue("article-2");
+        queue.enqueue("article-1");
+
+        // When
+        boolean flushed = queue.flush();
+
+        // Then
+        assertThat(flushed).isTrue();
+        ArgumentCaptor<Collection<String>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(syncService).syncArticles(ids.capture());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder("article-1", "article-2");
+        assertThat(queue.getPendingCount()).isZero();
+
+        // Nothing left to sync
+        assertThat(queue.flush()).isFalse();
+        verifyNoMoreInteractions(syncService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldSendCounterOnlyChangesAsStatisticsUpdates() {
+        // Given
+        ArticleReadModelSyncQueue queue = new ArticleReadModelSyncQueue(syncService, 0, 200, 0, 500);
+        queue.enqueueStatistics("article-1");
+        queue.enqueueStatistics("article-1");
+        queue.enqueueStatistics("article-2");
+        queue.enqueue("article-2");
+
+        // When
+        queue.flush();
+
+        // Then
+        ArgumentCaptor<Collection<String>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(syncService).syncArticles(ids.capture());
+        assertThat(ids.getValue()).containsExactly("article-2");
+        verify(syncService).syncStatistics(ids.capture());
+        assertThat(ids.getValue()).containsExactly("article-1");
+        assertThat(queue.getPendingCount()).isZero();
+    }
+
+    @Test
+    void flush_ShouldWaitForDebounceWindow() {
+        // Given
+        ArticleReadModelSyncQueue queue = new ArticleReadModelSyncQueue(syncService, 60_000, 200, 0, 500);
+        queue.enqueue("article-1");
+
+        // When
+        boolean flushed = queue.flush();
+
+        // Then
+        assertThat(flushed).isFalse();
+        verifyNoInteractions(syncService);
+        assertThat(queue.getPendingCount()).isEqualTo(1);
+
+        // Shutdown flushes without waiting
+        queue.shutdown();
+        verify(syncService).syncArticles(anyCollection());
+        assertThat(queue.getPendingCount()).isZero();
+    }
+
+    @Test
+    void flush_ShouldKeepArticlesWhenSyncFails() {
+        // Given
+        doThrow(new IllegalStateException("es down")).doNothing().when(syncService).syncArticles(anyCollection());
+        ArticleReadModelSyncQueue queue = new ArticleReadModelSyncQueue(syncService, 0, 200, 0, 500);
+        queue.enqueue("article-1");
+
+        // When
+        boolean failed = queue.flush();
+
+        // Then
+        assertThat(failed).isFalse();
+        assertThat(queue.getPendingCount()).isEqualTo(1);
+        assertThat(queue.flush()).isTrue();
+        assertThat(queue.getPendingCount()).isZero();
+        verify(syncService, times(2)).syncArticles(anyCollection());
+    }
+}
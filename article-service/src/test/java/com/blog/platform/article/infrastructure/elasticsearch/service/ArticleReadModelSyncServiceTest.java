@@ -0,0 +1,142 @@
+package com.blog.platform.article.infrastructure.elasticsearch.service;
+
+import com.blog.platform.article.infrastructure.elasticsearch.model.ArticleReadModel;
+import com.blog.platform.article.infrastructure.elasticsearch.repository.ArticleReadModelRepository;
+import com.blog.platform.article.infrastructure.persistence.entity.ArticleStatisticsEntity;
+import com.blog.platform.article.infrastructure.persistence.repository.ArticleJpaRepository;
+import com.blog.platform.article.infrastructure.persistence.repository.ArticleStatisticsJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.ScriptType;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ArticleReadModelSyncServiceTest {
+
+    private ArticleStatisticsJpaRepository statisticsJpaRepository;
+
+    private ArticleJpaRepository articleJpaRepository;
+
+    private ElasticsearchOperations elasticsearchOperations;
+
+    private HashOperations<String, Object, Object> hashOps;
+
+    private ArticleReadModelSyncService syncService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        statisticsJpaRepository = mock(ArticleStatisticsJpaRepository.class);
+        articleJpaRepository = mock(ArticleJpaRepository.class);
+        elasticsearchOperations = mock(ElasticsearchOperations.class);
+        syncService = new ArticleReadModelSyncService();
+        ReflectionTestUtils.setField(syncService, "statisticsJpaRepository", statisticsJpaRepository);
+        ReflectionTestUtils.setField(syncService, "articleJpaRepository", articleJpaRepository);
+        ReflectionTestUtils.setField(syncService, "elasticsearchOperations", elasticsearchOperations);
+        ReflectionTestUtils.setField(syncService, "readModelRepository", mock(ArticleReadModelRepository.class));
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        hashOps = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn((HashOperations) hashOps);
+        ReflectionTestUtils.setField(syncService, "redisTemplate", redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncStatistics_ShouldSendOnlyCounterFieldsInOneBulkRequest() {
+        // Given
+        when(statisticsJpaRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(statistics("article-1", 10), statistics("article-2", 20)));
+
+        // When
+        syncService.syncStatistics(List.of("article-1", "article-2"));
+
+        // Then
+        ArgumentCaptor<List<UpdateQuery>> queries = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchOperations).bulkUpdate(queries.capture(), eq(ArticleReadModel.class));
+        assertThat(queries.getValue()).hasSize(2);
+        UpdateQuery first = queries.getValue().get(0);
+        assertThat(first.getId()).isEqualTo("article-1");
+        assertThat(first.getScript()).isNull();
+        assertThat(first.getDocument()).containsOnlyKeys(
+                "viewCount", "likeCount", "commentCount", "shareCount", "bookmarkCount");
+        assertThat(first.getDocument()).containsEntry("likeCount", 10L);
+        verifyNoInteractions(articleJpaRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void incrementViewCounts_ShouldSendInlineScriptUpdates() {
+        // When
+        syncService.incrementViewCounts(Map.of("article-1", 3L));
+
+        // Then
+        ArgumentCaptor<List<UpdateQuery>> queries = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchOperations).bulkUpdate(queries.capture(), eq(ArticleReadModel.class));
+        UpdateQuery query = queries.getValue().get(0);
+        assertThat(query.getScriptType()).isEqualTo(ScriptType.INLINE);
+        assertThat(query.getParams()).containsEntry("delta", 3L);
+        assertThat(query.getDocument()).isNull();
+    }
+
+    @Test
+    void syncStatistics_ShouldFullySyncArticlesMissingFromReadModel() {
+        // Given
+        when(statisticsJpaRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(statistics("article-1", 10), statistics("article-2", 20)));
+        doThrow(new BulkFailureException("missing",
+                Map.of("article-2", new BulkFailureException.FailureDetails(404, "document_missing_exception"))))
+                .when(elasticsearchOperations).bulkUpdate(anyList(), eq(ArticleReadModel.class));
+
+        // When
+        syncService.syncStatistics(List.of("article-1", "article-2"));
+
+        // Then
+        verify(articleJpaRepository).findAllByIdInWithTagsAndCategories(Set.of("article-2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void incrementViewCounts_ShouldWriteAbsoluteCountsToRebuildingIndex() {
+        // Given
+        // A rebuild running on another instance registered its index in the shared checkpoint
+        IndexCoordinates target = IndexCoordinates.of("articles_20240101000000");
+        when(hashOps.get(ArticleReindexJob.CHECKPOINT_KEY, "index")).thenReturn(target.getIndexName());
+        ArticleStatisticsEntity committed = statistics("article-1", 0);
+        committed.setViewCount(42L);
+        when(statisticsJpaRepository.findAllById(anyIterable())).thenReturn(List.of(committed));
+
+        // When
+        syncService.incrementViewCounts(Map.of("article-1", 2L));
+
+        // Then
+        ArgumentCaptor<List<UpdateQuery>> live = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchOperations).bulkUpdate(live.capture(), eq(ArticleReadModel.class));
+        assertThat(live.getValue().get(0).getScript()).isNotNull();
+        ArgumentCaptor<List<UpdateQuery>> mirrored = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchOperations).bulkUpdate(mirrored.capture(), eq(target));
+        UpdateQuery query = mirrored.getValue().get(0);
+        assertThat(query.getScript()).isNull();
+        assertThat(query.getDocument()).containsOnly(Map.entry("viewCount", 42L));
+    }
+
+    private static ArticleStatisticsEntity statistics(String articleId, long likeCount) {
+        ArticleStatisticsEntity statistics = new ArticleStatisticsEntity();
+        statistics.setArticleId(articleId);
+        statistics.setLikeCount(likeCount);
+        return statistics;
+    }
+}
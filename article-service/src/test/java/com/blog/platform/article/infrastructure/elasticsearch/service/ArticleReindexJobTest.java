@@ -0,0 +1,174 @@
+package com.blog.platform.article.infrastructure.elasticsearch.service;
+
+import com.blog.platform.article.infrastructure.elasticsearch.model.ArticleReadModel;
+import com.blog.platform.article.infrastructure.persistence.entity.ArticleEntity;
+import com.blog.platform.article.infrastructure.persistence.repository.ArticleJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ArticleReindexJobTest {
+
+    private ArticleJpaRepository articleJpaRepository;
+
+    private ArticleReadModelSyncService syncService;
+
+    private ElasticsearchOperations elasticsearchOperations;
+
+    private IndexOperations indexOps;
+
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private HashOperations<String, Object, Object> hashOps;
+
+    private ArticleReindexJob job;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        articleJpaRepository = mock(ArticleJpaRepository.class);
+        syncService = mock(ArticleReadModelSyncService.class);
+        elasticsearchOperations = mock(ElasticsearchOperations.class);
+        indexOps = mock(IndexOperations.class);
+        redisTemplate = mock(RedisTemplate.class);
+        hashOps = mock(HashOperations.class);
+
+        when(redisTemplate.opsForHash()).thenReturn((HashOperations) hashOps);
+        when(elasticsearchOperations.getIndexCoordinatesFor(ArticleReadModel.class)).thenReturn(IndexCoordinates.of("articles"));
+        when(elasticsearchOperations.indexOps(any(IndexCoordinates.class))).thenReturn(indexOps);
+        when(indexOps.createSettings(ArticleReadModel.class)).thenReturn(new Settings());
+        when(indexOps.createMapping(ArticleReadModel.class)).thenReturn(Document.create());
+        when(indexOps.exists()).thenReturn(true);
+        when(articleJpaRepository.findAllByIdInWithTagsAndCategories(anyCollection())).thenAnswer(invocation ->
+                ((Collection<String>) invocation.getArgument(0)).stream().map(ArticleReindexJobTest::article).toList());
+        when(syncService.convertToReadModel(any(ArticleEntity.class))).thenAnswer(invocation -> {
+            ArticleReadModel readModel = new ArticleReadModel();
+            readModel.setId(((ArticleEntity) invocation.getArgument(0)).getId());
+            return readModel;
+        });
+
+        job = new ArticleReindexJob(articleJpaRepository, syncService, elasticsearchOperations, redisTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 2, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_ShouldCopyInBatchesAndSwapAlias() {
+        // Given
+        when(hashOps.entries(ArticleReindexJob.CHECKPOINT_KEY)).thenReturn(Map.of());
+        when(articleJpaRepository.findIdsAfter(eq(""), any(Pageable.class))).thenReturn(List.of("a1", "a2"));
+        when(articleJpaRepository.findIdsAfter(eq("a2"), any(Pageable.class))).thenReturn(List.of("a3"));
+        when(indexOps.getAliases("articles")).thenReturn(Map.of("articles_old", Set.of()));
+
+        // When
+        boolean completed = job.run();
+
+        // Then
+        assertThat(completed).isTrue();
+        verify(indexOps).create(any(Map.class), any(Document.class));
+        ArgumentCaptor<IndexCoordinates> target = ArgumentCaptor.forClass(IndexCoordinates.class);
+        verify(elasticsearchOperations, times(2)).bulkIndex(anyList(), target.capture());
+        String targetIndex = target.getValue().getIndexName();
+        assertThat(targetIndex).startsWith("articles_").isNotEqualTo("articles_old");
+
+        ArgumentCaptor<AliasActions> actions = ArgumentCaptor.forClass(AliasActions.class);
+        verify(indexOps).alias(actions.capture());
+        List<AliasAction> aliasActions = actions.getValue().getActions();
+        assertThat(aliasActions).hasSize(2);
+        assertThat(aliasActions.get(0)).isInstanceOf(AliasAction.Remove.class);
+        assertThat(aliasActions.get(0).getParameters().getIndices()).containsExactly("articles_old");
+        assertThat(aliasActions.get(1)).isInstanceOf(AliasAction.Add.class);
+        assertThat(aliasActions.get(1).getParameters().getIndices()).containsExactly(targetIndex);
+        verify(indexOps).delete();
+
+        ArgumentCaptor<Map<String, Object>> checkpoint = ArgumentCaptor.forClass(Map.class);
+        verify(hashOps, atLeastOnce()).putAll(eq(ArticleReindexJob.CHECKPOINT_KEY), checkpoint.capture());
+        assertThat(checkpoint.getValue()).containsEntry("lastId", "a3").containsEntry("indexed", 3L);
+        verify(redisTemplate).delete(ArticleReindexJob.CHECKPOINT_KEY);
+        // The target is published in the shared checkpoint before any article is copied
+        InOrder order = inOrder(hashOps, elasticsearchOperations);
+        order.verify(hashOps, calls(1)).putAll(eq(ArticleReindexJob.CHECKPOINT_KEY),
+                argThat(map -> targetIndex.equals(map.get("index"))));
+        order.verify(elasticsearchOperations, calls(1)).bulkIndex(anyList(), eq(target.getValue()));
+        assertThat(job.getProgress().running()).isFalse();
+        assertThat(job.getProgress().indexed()).isEqualTo(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_ShouldResumeFromCheckpoint() {
+        // Given
+        when(hashOps.entries(ArticleReindexJob.CHECKPOINT_KEY)).thenReturn(
+                Map.of("index", "articles_20240101000000", "lastId", "a2", "indexed", 2));
+        when(articleJpaRepository.findIdsAfter(eq("a2"), any(Pageable.class))).thenReturn(List.of("a3"));
+        when(indexOps.getAliases("articles")).thenReturn(Map.of());
+
+        // When
+        job.run();
+
+        // Then
+        verify(indexOps, never()).create(any(Map.class), any(Document.class));
+        verify(articleJpaRepository, never()).findIdsAfter(eq(""), any(Pageable.class));
+        verify(elasticsearchOperations).bulkIndex(anyList(), eq(IndexCoordinates.of("articles_20240101000000")));
+        ArgumentCaptor<Map<String, Object>> checkpoint = ArgumentCaptor.forClass(Map.class);
+        verify(hashOps).putAll(eq(ArticleReindexJob.CHECKPOINT_KEY), checkpoint.capture());
+        assertThat(checkpoint.getValue()).containsEntry("indexed", 3L);
+
+        // Alias name was still a physical index: removed in the same request as the alias is added
+        ArgumentCaptor<AliasActions> actions = ArgumentCaptor.forClass(AliasActions.class);
+        verify(indexOps).alias(actions.capture());
+        assertThat(actions.getValue().getActions().get(0)).isInstanceOf(AliasAction.RemoveIndex.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_ShouldKeepDocumentsAlreadyWrittenByLiveSync() {
+        // Given
+        when(hashOps.entries(ArticleReindexJob.CHECKPOINT_KEY)).thenReturn(Map.of());
+        when(articleJpaRepository.findIdsAfter(eq(""), any(Pageable.class))).thenReturn(List.of("a1"));
+        when(indexOps.getAliases("articles")).thenReturn(Map.of());
+        doThrow(new BulkFailureException("conflict",
+                Map.of("a1", new BulkFailureException.FailureDetails(409, "version_conflict_engine_exception"))))
+                .when(elasticsearchOperations).bulkIndex(anyList(), any(IndexCoordinates.class));
+
+        // When
+        boolean completed = job.run();
+
+        // Then
+        assertThat(completed).isTrue();
+        ArgumentCaptor<List<IndexQuery>> queries = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchOperations).bulkIndex(queries.capture(), any(IndexCoordinates.class));
+        assertThat(queries.getValue()).extracting(IndexQuery::getOpType).containsOnly(IndexQuery.OpType.CREATE);
+        verify(indexOps).alias(any(AliasActions.class));
+    }
+
+    private static ArticleEntity article(String id) {
+        ArticleEntity entity = new ArticleEntity();
+        entity.setId(id);
+        return entity;
+    }
+}
@@ -1,6 +1,8 @@
 package com.blog.platform.article.infrastructure.persistence.repository;
 
 import com.blog.platform.article.infrastructure.persistence.entity.ArticleEntity;
+import com.blog.platform.article.infrastructure.persistence.entity.ArticleStatisticsEntity;
+import com.blog.platform.article.infrastructure.persistence.projection.ArticleCardView;
 import com.blog.platform.common.domain.article.ArticleStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
@@ -206,4 +210,67 @@ class ArticleJpaRepositoryTest {
         // Then
         assertThat(count).isEqualTo(2); // testArticle + publishedByAuthor
     }
-}
\ No newline at end of file
+    
+    @Test
+    void findPublishedCards_ShouldProjectSummaryAndStatistics() {
+        // Given
+        ArticleStatisticsEntity statistics = new ArticleStatisticsEntity(testArticle);
+        statistics.setViewCount(42L);
+        statistics.setLikeCount(3L);
+        entityManager.persistAndFlush(statistics);
+        ArticleEntity draftArticle = new ArticleEntity("article-002", "author-001", "Draft", "Content");
+        entityManager.persistAndFlush(draftArticle);
+        entityManager.clear();
+        
+        // When
+        Page<ArticleCardView> cards = articleRepository.findPublishedCards(
+                PageRequest.of(0, 10, Sort.by("createdAt").descending()));
+        
+        // Then
+        assertThat(cards.getTotalElements()).isEqualTo(1);
+        ArticleCardView card = cards.getContent().get(0);
+        assertThat(card.getId()).isEqualTo("article-001");
+        assertThat(card.getSummary()).isEqualTo("Test summary");
+        assertThat(card.getViewCount()).isEqualTo(42L);
+        assertThat(card.getLikeCount()).isEqualTo(3L);
+    }
+    
+    @Test
+    void findCardsByIdIn_ShouldDefaultMissingStatisticsToZero() {
+        // Given
+        ArticleEntity anotherArticle = new ArticleEntity("article-002", "author-002", "Another", "Another content");
+        entityManager.persistAndFlush(anotherArticle);
+        
+        // When
+        List<ArticleCardView> cards = articleRepository.findCardsByIdIn(List.of("article-002", "missing"));
+        
+        // Then
+        assertThat(cards).hasSize(1);
+        assertThat(cards.get(0).getAuthorId()).isEqualTo("author-002");
+        assertThat(cards.get(0).getViewCount()).isZero();
+    }
+    
+    @Test
+    void findPublishedCardSliceAfter_ShouldContinueFromKeysetWithoutGaps() {
+        // Given: 与testArticle发布时间相同的文章按ID决胜
+        LocalDateTime publishTime = testArticle.getPublishTime();
+        for (int i = 2; i <= 4; i++) {
+            ArticleEntity article = new ArticleEntity("article-00" + i, "author-001", "Article " + i, "Content " + i);
+            article.setStatus(ArticleStatus.PUBLISHED);
+            article.setPublishTime(i == 4 ? publishTime.minusDays(1) : publishTime);
+            entityManager.persistAndFlush(article);
+        }
+        
+        // When
+        Slice<ArticleCardView> first = articleRepository.findPublishedCardSlice(PageRequest.of(0, 2));
+        ArticleCardView last = first.getContent().get(1);
+        Slice<ArticleCardView> second = articleRepository.findPublishedCardSliceAfter(
+                last.getPublishTime(), last.getId(), PageRequest.of(0, 2));
+        
+        // Then
+        assertThat(first.getContent()).extracting(ArticleCardView::getId).containsExactly("article-003", "article-002");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(ArticleCardView::getId).containsExactly("article-001", "article-004");
+        assertThat(second.hasNext()).isFalse();
+    }
+}
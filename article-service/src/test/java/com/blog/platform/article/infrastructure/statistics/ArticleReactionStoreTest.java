@@ -0,0 +1,158 @@
+package com.blog.platform.article.infrastructure.statistics;
+
+import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleReadModelSyncQueue;
+import com.blog.platform.common.cache.CacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ArticleReactionStoreTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private RedisHashCommands hashCommands;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ArticleReadModelSyncQueue syncQueue;
+
+    private ArticleReactionStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        hashCommands = mock(RedisHashCommands.class);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(connection.hashCommands()).thenReturn(hashCommands);
+        when(keyCommands.exists(any(byte[].class))).thenReturn(true);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+
+        CacheService cacheService = mock(CacheService.class);
+        when(cacheService.isRedisAvailable()).thenReturn(true);
+        when(cacheService.tryLock(anyString(), anyString(), any())).thenReturn(true);
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        syncQueue = mock(ArticleReadModelSyncQueue.class);
+        ObjectProvider<ArticleReadModelSyncQueue> syncQueues = mock(ObjectProvider.class);
+        when(syncQueues.getIfAvailable()).thenReturn(syncQueue);
+        store = new ArticleReactionStore(redisTemplate, cacheService, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), syncQueues, true, true, 168);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteCoalescedChangesAndRecountTouchedArticles() {
+        // Given
+        Map<String, Map<byte[], byte[]>> pending = new LinkedHashMap<>();
+        pendingShard(pending, "article-1").put(bytes("like|article-1|user-1"), bytes("1"));
+        pendingShard(pending, "article-1").put(bytes("like|article-1|user-2"), bytes("0"));
+        pendingShard(pending, "article-2").put(bytes("bookmark|article-2|user-1"), bytes("1"));
+        when(hashCommands.hGetAll(any(byte[].class)))
+                .thenAnswer(invocation -> pending.get(new String((byte[]) invocation.getArgument(0), StandardCharsets.UTF_8)));
+
+        // When
+        store.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(
+                eq("INSERT IGNORE INTO article_likes (article_id, user_id) VALUES (?, ?)"), rows.capture());
+        assertThat(rows.getValue()).containsExactly(new Object[]{"article-1", "user-1"});
+        verify(jdbcTemplate).batchUpdate(
+                eq("DELETE FROM article_likes WHERE article_id = ? AND user_id = ?"), rows.capture());
+        assertThat(rows.getValue()).containsExactly(new Object[]{"article-1", "user-2"});
+        verify(jdbcTemplate).batchUpdate(
+                eq("INSERT IGNORE INTO article_bookmarks (article_id, user_id) VALUES (?, ?)"), anyList());
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE article_statistics SET like_count"), rows.capture());
+        assertThat(rows.getValue()).containsExactly(new Object[]{"article-1", "article-1"});
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE article_statistics SET bookmark_count"), anyList());
+        for (String processingKey : pending.keySet()) {
+            verify(redisTemplate).delete(processingKey);
+        }
+        verify(syncQueue).enqueueStatistics("article-1");
+        verify(syncQueue).enqueueStatistics("article-2");
+    }
+
+    @Test
+    void flush_ShouldKeepProcessingBatchWhenDatabaseWriteFails() {
+        // Given
+        String processingKey = ArticleReactionStore.processingKey(ArticleReactionStore.shard("article-1"));
+        when(hashCommands.hGetAll(any(byte[].class))).thenReturn(Map.of());
+        when(hashCommands.hGetAll(bytes(processingKey))).thenReturn(Map.of(bytes("like|article-1|user-1"), bytes("1")));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("db down"));
+
+        // When
+        store.flush();
+
+        // Then
+        verify(redisTemplate, never()).delete(anyString());
+        verifyNoInteractions(syncQueue);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void memberships_ShouldReturnOnlyLoadedArticlesFromOnePipeline() {
+        // Given: article-1已加载且已点赞，article-2已加载未点赞，article-3未加载
+        when(redisTemplate.executePipelined(any(RedisCallback.class), any(RedisSerializer.class)))
+                .thenReturn(List.of(true, true, true, false, false, false));
+
+        // When
+        Map<String, Boolean> memberships = store.memberships(ArticleReactionStore.Reaction.LIKE,
+                List.of("article-1", "article-2", "article-3", "article-1"), "user-1");
+
+        // Then
+        assertThat(memberships).containsExactly(
+                Map.entry("article-1", true), Map.entry("article-2", false));
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class), any(RedisSerializer.class));
+    }
+
+    @Test
+    void apply_ShouldKeepScriptKeysInOneClusterSlot() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), isNull(), anyList(), any(Object[].class)))
+                .thenReturn(1L);
+
+        // When
+        store.apply(ArticleReactionStore.Reaction.LIKE, "article-1", "user-1", true);
+
+        // Then: 集合与待写入哈希的hash tag一致，Redis Cluster不会返回CROSSSLOT
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.captor();
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), isNull(), keys.capture(),
+                any(Object[].class));
+        String tag = "{" + ArticleReactionStore.shard("article-1") + "}";
+        assertThat(keys.getValue()).hasSize(2).allSatisfy(key -> assertThat(key).contains(tag));
+    }
+
+    private static Map<byte[], byte[]> pendingShard(Map<String, Map<byte[], byte[]>> pending, String articleId) {
+        return pending.computeIfAbsent(ArticleReactionStore.processingKey(ArticleReactionStore.shard(articleId)),
+                key -> new LinkedHashMap<>());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
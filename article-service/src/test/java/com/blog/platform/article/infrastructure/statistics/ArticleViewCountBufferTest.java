@@ -0,0 +1,167 @@
+package com.blog.platform.article.infrastructure.statistics;
+
+import com.blog.platform.article.infrastructure.elasticsearch.service.ArticleReadModelSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ArticleViewCountBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ArticleReadModelSyncService syncService;
+
+    private ArticleViewCountBuffer buffer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        syncService = mock(ArticleReadModelSyncService.class);
+        ObjectProvider<ArticleReadModelSyncService> syncServices = mock(ObjectProvider.class);
+        when(syncServices.getIfAvailable()).thenReturn(syncService);
+        buffer = new ArticleViewCountBuffer(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), syncServices, true, 2, 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteAccumulatedDeltasInOneBatch() {
+        // Given
+        buffer.record("article-1");
+        buffer.record("article-1");
+        buffer.record("article-1");
+        buffer.record("article-2");
+
+        // When
+        buffer.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(ArticleViewCountBuffer.INCREMENT_SQL), args.capture());
+        Map<Object, Object> deltas = args.getValue().stream().collect(Collectors.toMap(row -> row[1], row -> row[0]));
+        assertThat(deltas).containsEntry("article-1", 3L).containsEntry("article-2", 1L);
+        verify(syncService).incrementViewCounts(Map.of("article-1", 3L, "article-2", 1L));
+        assertThat(buffer.getPendingViews()).isZero();
+
+        // Nothing new to write
+        buffer.flush();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flush_ShouldKeepDeltasWhenDatabaseWriteFails() {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+        buffer.record("article-1");
+        buffer.record("article-1");
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertThat(buffer.getPendingViews()).isEqualTo(2);
+        verifyNoInteractions(syncService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldRotateThroughArticlesBeyondTheBatchLimit() {
+        // Given
+        buffer = new ArticleViewCountBuffer(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(ObjectProvider.class),
+                false, 10, 1);
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+
+        // When: both articles keep getting views, only one fits in each flush
+        for (int i = 0; i < 4; i++) {
+            buffer.record("article-1");
+            buffer.record("article-2");
+            buffer.flush();
+        }
+
+        // Then
+        verify(jdbcTemplate, times(4)).batchUpdate(eq(ArticleViewCountBuffer.INCREMENT_SQL), args.capture());
+        List<Object> flushed = args.getAllValues().stream().map(batch -> batch.get(0)[1]).toList();
+        assertThat(flushed.subList(0, 2)).containsExactlyInAnyOrder("article-1", "article-2");
+        assertThat(flushed.subList(2, 4)).containsExactlyElementsOf(flushed.subList(0, 2));
+        // 每次写入文章的全部累计浏览，最后只剩下一次浏览未写入
+        assertThat(buffer.getPendingViews()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_ShouldCollectAllViewsAcrossIdleArticleRemoval() throws Exception {
+        // Given
+        int threads = 4;
+        int viewsPerThread = 20_000;
+        buffer = new ArticleViewCountBuffer(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(ObjectProvider.class),
+                false, 10, 10);
+        AtomicLong written = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(row -> written.addAndGet((Long) row[0]));
+            return new int[batch.size()];
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When: views arrive in bursts while the buffer keeps flushing and removing idle counters
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < viewsPerThread; i++) {
+                        buffer.record("article-1");
+                        if (i % 100 == 0) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+            while (!writers.stream().allMatch(Future::isDone)) {
+                buffer.flush();
+            }
+            for (Future<?> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        buffer.shutdown();
+
+        // Then
+        assertThat(written.get()).isEqualTo((long) threads * viewsPerThread);
+        assertThat(buffer.getPendingViews()).isZero();
+    }
+
+    @Test
+    void record_ShouldDropViewsOfNewArticlesWhenBufferIsFull() {
+        // When
+        buffer.record("article-1");
+        buffer.record("article-2");
+        buffer.record("article-3");
+        buffer.record("article-1");
+
+        // Then
+        assertThat(buffer.getPendingViews()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,55 @@
+package com.blog.platform.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 近似总数
+ * 分页列表只显示"约N条"时，总数按过滤条件缓存一段较短时间，
+ * 过期前的新增删除不体现在总数中；未命中时执行一次精确COUNT并写入缓存
+ */
+@Component
+public class ApproximateCountService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ApproximateCountService.class);
+    
+    private final CacheService cacheService;
+    
+    private final Duration ttl;
+    
+    public ApproximateCountService(CacheService cacheService,
+                                   @Value("${cache.approximate-count.ttl-seconds:60}") long ttlSeconds) {
+        this.cacheService = cacheService;
+        this.ttl = Duration.ofSeconds(Math.max(ttlSeconds, 1));
+    }
+    
+    /**
+     * 返回缓存的总数，未命中时调用exactCount计算
+     *
+     * @param key 缓存键，应以所属命名空间开头，例如 article:count:published
+     */
+    public long count(String key, LongSupplier exactCount) {
+        try {
+            // 编码器可能把较小的Long还原为Integer
+            Number cached = cacheService.get(key, Number.class);
+            if (cached != null) {
+                return cached.longValue();
+            }
+        } catch (Exception e) {
+            logger.debug("读取近似总数失败: key={}, error={}", key, e.getMessage());
+        }
+        
+        long count = exactCount.getAsLong();
+        try {
+            cacheService.set(key, count, ttl);
+        } catch (Exception e) {
+            logger.debug("缓存近似总数失败: key={}, error={}", key, e.getMessage());
+        }
+        return count;
+    }
+}
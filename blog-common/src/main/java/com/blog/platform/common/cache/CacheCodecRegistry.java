@@ -0,0 +1,229 @@
+package com.blog.platform.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存值编码注册表
+ * 按缓存键前缀（命名空间）选择编码，写入格式：[格式标识(1字节)][编码内容]。
+ * json为历史格式，直接使用RedisTemplate的值序列化器且不写格式标识；
+ * JSON文本的首字节不会落在 1~{@value #MAX_FORMAT_ID} 范围内，因此读取时可以区分两种格式。
+ * 编码结果超过阈值时再由{@link Lz4CacheCompressor}整体压缩（格式标识 {@value Lz4CacheCompressor#FORMAT_ID}）。
+ *
+ * 滚动升级：默认以 cache.codec.default=json 且不压缩部署所有实例（新实例已能读取二进制和压缩格式），
+ * 全部实例升级后再切换为二进制编码并开启压缩。
+ */
+@Component
+public class CacheCodecRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheCodecRegistry.class);
+    
+    public static final String JSON = "json";
+    
+    public static final int MAX_FORMAT_ID = 8;
+    
+    private final RedisSerializer<Object> jsonSerializer;
+    
+    private final Lz4CacheCompressor compressor;
+    
+    private final CacheValueCodec[] codecsByFormat = new CacheValueCodec[MAX_FORMAT_ID + 1];
+    
+    private final Map<String, CacheValueCodec> codecsByName = new HashMap<>();
+    
+    /**
+     * 为null时表示使用json
+     */
+    private final CacheValueCodec defaultCodec;
+    
+    /**
+     * 命名空间前缀与编码的映射，按前缀长度降序排列以便最长匹配
+     */
+    private final List<Map.Entry<String, CacheValueCodec>> namespaceCodecs = new ArrayList<>();
+    
+    @Autowired
+    public CacheCodecRegistry(RedisTemplate<String, Object> redisTemplate,
+                              ObjectProvider<CacheValueCodec> customCodecs,
+                              @Value("${cache.codec.default:json}") String defaultCodecName,
+                              @Value("${cache.codec.namespaces:}") String namespaceMappings,
+                              @Value("${cache.compression.enabled:false}") boolean compressionEnabled,
+                              @Value("${cache.compression.threshold-bytes:2048}") int compressionThreshold) {
+        this(castSerializer(redisTemplate.getValueSerializer()), customCodecs.orderedStream().toList(),
+                defaultCodecName, namespaceMappings, compressionEnabled ? compressionThreshold : 0);
+    }
+    
+    /**
+     * @param compressionThreshold 触发压缩的最小编码字节数，小于等于0时不压缩
+     */
+    public CacheCodecRegistry(RedisSerializer<Object> jsonSerializer, List<CacheValueCodec> customCodecs,
+                              String defaultCodecName, String namespaceMappings, int compressionThreshold) {
+        this.jsonSerializer = jsonSerializer;
+        this.compressor = new Lz4CacheCompressor(compressionThreshold);
+        reserve(Lz4CacheCompressor.FORMAT_ID, "lz4");
+        register(new SmileCacheValueCodec());
+        customCodecs.forEach(this::register);
+        this.defaultCodec = resolve(defaultCodecName);
+        parseNamespaceMappings(namespaceMappings);
+    }
+    
+    /**
+     * 按缓存键选择编码并序列化
+     */
+    public byte[] encode(String key, Object value) {
+        return compressor.compressIfBeneficial(encodeUncompressed(key, value));
+    }
+    
+    private byte[] encodeUncompressed(String key, Object value) {
+        CacheValueCodec codec = codecFor(key);
+        if (codec == null) {
+            byte[] raw = jsonSerializer.serialize(value);
+            return raw != null ? raw : new byte[0];
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            out.write(codec.getFormatId());
+            codec.encode(value, out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("缓存值编码失败: codec=" + codec.getName(), e);
+        }
+    }
+    
+    /**
+     * 按格式标识反序列化，无标识时按json处理
+     */
+    public Object decode(byte[] raw) {
+        if (raw == null || raw.length == 0) {
+            return null;
+        }
+        if (Lz4CacheCompressor.isCompressed(raw)) {
+            raw = compressor.decompress(raw);
+        }
+        int formatId = raw[0];
+        if (formatId < 1 || formatId > MAX_FORMAT_ID) {
+            return jsonSerializer.deserialize(raw);
+        }
+        CacheValueCodec codec = codecsByFormat[formatId];
+        if (codec == null || codec instanceof ReservedFormat) {
+            throw new SerializationException("未知的缓存编码格式: " + formatId);
+        }
+        try {
+            return codec.decode(raw, 1, raw.length - 1);
+        } catch (IOException e) {
+            throw new SerializationException("缓存值解码失败: codec=" + codec.getName(), e);
+        }
+    }
+    
+    /**
+     * 缓存键对应的编码名称
+     */
+    public String codecName(String key) {
+        CacheValueCodec codec = codecFor(key);
+        return codec != null ? codec.getName() : JSON;
+    }
+    
+    private CacheValueCodec codecFor(String key) {
+        for (Map.Entry<String, CacheValueCodec> entry : namespaceCodecs) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return defaultCodec;
+    }
+    
+    private void register(CacheValueCodec codec) {
+        int formatId = codec.getFormatId();
+        if (formatId < 1 || formatId > MAX_FORMAT_ID) {
+            throw new IllegalArgumentException("格式标识超出范围: " + codec.getName() + "=" + formatId);
+        }
+        CacheValueCodec existing = codecsByFormat[formatId];
+        if (existing != null && !existing.getName().equals(codec.getName())) {
+            throw new IllegalArgumentException("格式标识冲突: " + existing.getName() + ", " + codec.getName());
+        }
+        codecsByFormat[formatId] = codec;
+        codecsByName.put(codec.getName(), codec);
+    }
+    
+    /**
+     * 保留非编解码器使用的格式标识
+     */
+    private void reserve(byte formatId, String name) {
+        codecsByFormat[formatId] = new ReservedFormat(formatId, name);
+    }
+    
+    private CacheValueCodec resolve(String name) {
+        String codecName = name == null ? JSON : name.trim();
+        if (codecName.isEmpty() || JSON.equals(codecName)) {
+            return null;
+        }
+        CacheValueCodec codec = codecsByName.get(codecName);
+        if (codec == null) {
+            logger.warn("未知的缓存编码: {}，使用json", codecName);
+        }
+        return codec;
+    }
+    
+    /**
+     * 解析形如 article:detail:=smile,user:=json 的配置
+     */
+    private void parseNamespaceMappings(String mappings) {
+        if (mappings == null || mappings.isBlank()) {
+            return;
+        }
+        for (String mapping : mappings.split(",")) {
+            int separator = mapping.lastIndexOf('=');
+            if (separator <= 0) {
+                logger.warn("忽略格式错误的缓存编码配置: {}", mapping);
+                continue;
+            }
+            String prefix = mapping.substring(0, separator).trim();
+            CacheValueCodec codec = resolve(mapping.substring(separator + 1));
+            namespaceCodecs.add(new AbstractMap.SimpleImmutableEntry<>(prefix, codec));
+        }
+        namespaceCodecs.sort(Comparator.comparingInt((Map.Entry<String, CacheValueCodec> e) -> e.getKey().length()).reversed());
+    }
+    
+    private record ReservedFormat(byte formatId, String name) implements CacheValueCodec {
+        
+        @Override
+        public String getName() {
+            return name;
+        }
+        
+        @Override
+        public byte getFormatId() {
+            return formatId;
+        }
+        
+        @Override
+        public void encode(Object value, OutputStream out) {
+            throw new UnsupportedOperationException(name);
+        }
+        
+        @Override
+        public Object decode(byte[] data, int offset, int length) {
+            throw new UnsupportedOperationException(name);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static RedisSerializer<Object> castSerializer(RedisSerializer<?> serializer) {
+        return (RedisSerializer<Object>) serializer;
+    }
+}
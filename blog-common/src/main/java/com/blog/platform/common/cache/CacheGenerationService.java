@@ -0,0 +1,212 @@
+package com.blog.platform.common.cache;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存命名空间代数
+ * 每个命名空间（缓存键第一个":"之前的部分）维护一个代数，另有一个全局代数，
+ * 代数嵌入缓存键的第一段：article:detail:1 → article@全局代数.命名空间代数:detail:1，
+ * 两者都为0时保持原始键不变，与升级前写入的缓存兼容。
+ * 失效整个命名空间只需一次HINCRBY，旧代数的键随即不可达；残留的旧键交给
+ * {@link CacheKeyCleanupService}限速清理，或等待自然过期。
+ * 代数保存在Redis哈希中，变化时通过Pub/Sub通知其他实例，并定期全量同步兜底
+ */
+@Component
+public class CacheGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheGenerationService.class);
+
+    /**
+     * 代数哈希不使用缓存前缀，避免被缓存清理任务匹配
+     */
+    static final String GENERATIONS_KEY = "blog:cache-meta:generations";
+
+    static final String GLOBAL = "*";
+
+    private static final String CACHE_PREFIX = "blog:cache:";
+
+    private static final char TOKEN_SEPARATOR = '@';
+
+    private static final String LOCK_PREFIX = CACHE_PREFIX + "lock:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final CacheInvalidationBroadcaster broadcaster;
+
+    private final CacheKeyCleanupService cleanupService;
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    public CacheGenerationService(RedisTemplate<String, Object> redisTemplate,
+                                  CacheInvalidationBroadcaster broadcaster,
+                                  CacheKeyCleanupService cleanupService) {
+        this.redisTemplate = redisTemplate;
+        this.broadcaster = broadcaster;
+        this.cleanupService = cleanupService;
+        broadcaster.subscribeGeneration(this::advance);
+    }
+
+    /**
+     * 启动时同步加载，保证第一次读写缓存就使用当前代数
+     */
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * 定期从Redis同步代数，弥补丢失的Pub/Sub消息
+     */
+    @Scheduled(fixedDelayString = "${cache.generation.refresh-interval-ms:30000}",
+               initialDelayString = "${cache.generation.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            Map<byte[], byte[]> entries = redisTemplate.execute((RedisCallback<Map<byte[], byte[]>>) connection ->
+                    connection.hashCommands().hGetAll(GENERATIONS_KEY.getBytes(StandardCharsets.UTF_8)));
+            if (entries == null) {
+                return;
+            }
+            entries.forEach((field, value) -> advance(new String(field, StandardCharsets.UTF_8),
+                    Long.parseLong(new String(value, StandardCharsets.UTF_8))));
+        } catch (Exception e) {
+            logger.debug("加载缓存命名空间代数失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 使命名空间下的全部缓存失效，返回新的代数；Redis不可用时抛出IllegalStateException
+     */
+    public long invalidate(String namespace) {
+        long generation = increment(namespace);
+        logger.info("缓存命名空间失效: namespace={}, generation={}", namespace, generation);
+        cleanupService.schedule(CACHE_PREFIX + namespace + "*",
+                key -> namespace.equals(namespaceOf(key.substring(CACHE_PREFIX.length()))) && isStale(key));
+        return generation;
+    }
+
+    /**
+     * 使全部缓存失效，返回新的全局代数；Redis不可用时抛出IllegalStateException
+     */
+    public long invalidateAll() {
+        long generation = increment(GLOBAL);
+        logger.info("全部缓存失效: generation={}", generation);
+        // 分布式锁键不带代数，不能当作旧键删除
+        cleanupService.schedule(CACHE_PREFIX + "*", key -> !key.startsWith(LOCK_PREFIX) && isStale(key));
+        return generation;
+    }
+
+    /**
+     * 为逻辑键（不含全局前缀）加上当前代数；第一段包含通配符的匹配模式保持不变
+     */
+    public String versionedKey(String key) {
+        int separator = key.indexOf(':');
+        String namespace = separator >= 0 ? key.substring(0, separator) : key;
+        if (namespace.isEmpty() || namespace.indexOf('*') >= 0) {
+            return key;
+        }
+        long global = generation(GLOBAL);
+        long local = generation(namespace);
+        if (global == 0 && local == 0) {
+            return key;
+        }
+        return namespace + TOKEN_SEPARATOR + global + '.' + local + (separator >= 0 ? key.substring(separator) : "");
+    }
+
+    /**
+     * 去掉缓存键中的代数，返回逻辑键
+     */
+    public static String logicalKey(String key) {
+        int token = key.indexOf(TOKEN_SEPARATOR);
+        if (token < 0) {
+            return key;
+        }
+        int separator = key.indexOf(':');
+        if (separator >= 0 && separator < token) {
+            return key;
+        }
+        return key.substring(0, token) + (separator >= 0 ? key.substring(separator) : "");
+    }
+
+    /**
+     * 缓存键（带全局前缀）的代数是否早于当前代数
+     */
+    public boolean isStale(String cacheKey) {
+        String key = cacheKey.startsWith(CACHE_PREFIX) ? cacheKey.substring(CACHE_PREFIX.length()) : cacheKey;
+        int separator = key.indexOf(':');
+        String segment = separator >= 0 ? key.substring(0, separator) : key;
+        int token = segment.indexOf(TOKEN_SEPARATOR);
+        String namespace = token >= 0 ? segment.substring(0, token) : segment;
+        long global = 0;
+        long local = 0;
+        if (token >= 0) {
+            int dot = segment.indexOf('.', token);
+            if (dot < 0) {
+                return false;
+            }
+            try {
+                global = Long.parseLong(segment.substring(token + 1, dot));
+                local = Long.parseLong(segment.substring(dot + 1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return global < generation(GLOBAL) || local < generation(namespace);
+    }
+
+    public long generation(String namespace) {
+        return generations.getOrDefault(namespace, 0L);
+    }
+
+    /**
+     * 当前各命名空间代数，"*"为全局代数
+     */
+    public Map<String, Long> getGenerations() {
+        return new TreeMap<>(generations);
+    }
+
+    /**
+     * 代数必须先在Redis中递增：只在本地递增时其他实例看不到，
+     * Redis恢复后定期同步按较大值合并也无法纠正，因此失败时直接抛出异常
+     */
+    private long increment(String namespace) {
+        Long generation;
+        try {
+            generation = redisTemplate.execute((RedisCallback<Long>) connection -> connection.hashCommands()
+                    .hIncrBy(GENERATIONS_KEY.getBytes(StandardCharsets.UTF_8),
+                            namespace.getBytes(StandardCharsets.UTF_8), 1));
+        } catch (Exception e) {
+            throw new IllegalStateException("Redis递增缓存代数失败: namespace=" + namespace, e);
+        }
+        if (generation == null) {
+            throw new IllegalStateException("Redis递增缓存代数未返回结果: namespace=" + namespace);
+        }
+        advance(namespace, generation);
+        broadcaster.publishGeneration(namespace, generation);
+        return generation(namespace);
+    }
+
+    /**
+     * 代数只增不减，乱序到达的旧消息不会回退
+     */
+    private void advance(String namespace, long generation) {
+        generations.merge(namespace, generation, Math::max);
+    }
+
+    private static String namespaceOf(String key) {
+        int separator = key.indexOf(':');
+        String segment = separator >= 0 ? key.substring(0, separator) : key;
+        int token = segment.indexOf(TOKEN_SEPARATOR);
+        return token >= 0 ? segment.substring(0, token) : segment;
+    }
+}
@@ -0,0 +1,266 @@
+package com.blog.platform.common.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 本地缓存失效广播
+ * 通过Redis Pub/Sub通知其他服务实例清理本地(L1)缓存，保证多实例间的缓存一致性；
+ * 同时同步各实例存在性过滤器中新增的ID、探测到的热点Key以及命名空间代数的变化
+ */
+@Component
+public class CacheInvalidationBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBroadcaster.class);
+
+    static final String CHANNEL = "blog:cache:invalidation";
+
+    private static final byte[] CHANNEL_BYTES = CHANNEL.getBytes(StandardCharsets.UTF_8);
+    private static final char SEPARATOR = '|';
+    private static final char TYPE_KEY = 'K';
+    private static final char TYPE_PREFIX = 'P';
+    private static final char TYPE_EXISTENCE = 'A';
+    private static final char TYPE_HOT_KEY = 'H';
+    private static final char TYPE_GENERATION = 'G';
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final List<BiConsumer<String, String>> existenceListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<String>> hotKeyListeners = new CopyOnWriteArrayList<>();
+    private final List<BiConsumer<String, Long>> generationListeners = new CopyOnWriteArrayList<>();
+
+    @Value("${cache.near.invalidation.enabled:true}")
+    private boolean enabled = true;
+
+    private volatile RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 失效消息：prefix为true时key表示前缀，否则为完整的缓存键
+     */
+    public record Invalidation(boolean prefix, String key) {
+    }
+
+    public CacheInvalidationBroadcaster(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            logger.info("本地缓存失效广播已禁用");
+            return;
+        }
+        Thread.ofVirtual().start(() -> {
+            try {
+                RedisConnectionFactory connectionFactory = redisTemplate != null ? redisTemplate.getConnectionFactory() : null;
+                if (connectionFactory == null) {
+                    return;
+                }
+                RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+                container.setConnectionFactory(connectionFactory);
+                container.addMessageListener((message, pattern) -> onMessage(message.getBody()), new ChannelTopic(CHANNEL));
+                container.afterPropertiesSet();
+                container.start();
+                listenerContainer = container;
+                logger.info("本地缓存失效广播已订阅: channel={}, instanceId={}", CHANNEL, instanceId);
+            } catch (Exception e) {
+                logger.warn("订阅本地缓存失效广播失败，本地缓存将仅依赖TTL过期: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        RedisMessageListenerContainer container = listenerContainer;
+        if (container != null) {
+            try {
+                container.destroy();
+            } catch (Exception e) {
+                logger.debug("关闭缓存失效监听容器失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 注册失效监听器，仅接收来自其他实例的消息
+     */
+    public void subscribe(Consumer<Invalidation> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 注册存在性过滤器新增ID的监听器（过滤器名称, ID），仅接收来自其他实例的消息
+     */
+    public void subscribeExistence(BiConsumer<String, String> listener) {
+        existenceListeners.add(listener);
+    }
+
+    /**
+     * 注册热点Key监听器，仅接收来自其他实例的消息
+     */
+    public void subscribeHotKey(Consumer<String> listener) {
+        hotKeyListeners.add(listener);
+    }
+
+    /**
+     * 注册命名空间代数变化监听器（命名空间, 新代数），仅接收来自其他实例的消息
+     */
+    public void subscribeGeneration(BiConsumer<String, Long> listener) {
+        generationListeners.add(listener);
+    }
+    
+    public void publishKey(String cacheKey) {
+        publish(TYPE_KEY, cacheKey);
+    }
+
+    /**
+     * 批量发布键失效消息，使用管道一次往返发送
+     */
+    public void publishKeys(Collection<String> cacheKeys) {
+        if (!enabled || redisTemplate == null || cacheKeys.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String cacheKey : cacheKeys) {
+                    connection.publish(CHANNEL_BYTES, payload(TYPE_KEY, cacheKey));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.warn("批量发布缓存失效消息失败: count={}, error={}", cacheKeys.size(), e.getMessage());
+        }
+    }
+
+    public void publishPrefix(String cacheKeyPrefix) {
+        publish(TYPE_PREFIX, cacheKeyPrefix);
+    }
+
+    public void publishExistence(String filterName, String id) {
+        publish(TYPE_EXISTENCE, filterName + ":" + id);
+    }
+
+    public void publishHotKey(String cacheKey) {
+        publish(TYPE_HOT_KEY, cacheKey);
+    }
+    
+    public void publishGeneration(String namespace, long generation) {
+        publish(TYPE_GENERATION, namespace + ":" + generation);
+    }
+
+    private void publish(char type, String key) {
+        if (!enabled || redisTemplate == null) {
+            return;
+        }
+        byte[] payload = payload(type, key);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(CHANNEL_BYTES, payload));
+        } catch (Exception e) {
+            logger.warn("发布缓存失效消息失败: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private byte[] payload(char type, String key) {
+        return (instanceId + SEPARATOR + type + SEPARATOR + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    void onMessage(byte[] body) {
+        String message = new String(body, StandardCharsets.UTF_8);
+        int first = message.indexOf(SEPARATOR);
+        if (first < 0 || first + 2 >= message.length() || message.charAt(first + 2) != SEPARATOR) {
+            logger.debug("忽略格式错误的缓存失效消息: {}", message);
+            return;
+        }
+        if (instanceId.equals(message.substring(0, first))) {
+            return;
+        }
+        char type = message.charAt(first + 1);
+        String key = message.substring(first + 3);
+        if (type == TYPE_EXISTENCE) {
+            dispatchExistence(key);
+            return;
+        }
+        if (type == TYPE_GENERATION) {
+            dispatchGeneration(key);
+            return;
+        }
+        if (type == TYPE_HOT_KEY) {
+            for (Consumer<String> listener : hotKeyListeners) {
+                try {
+                    listener.accept(key);
+                } catch (Exception e) {
+                    logger.warn("处理热点Key消息失败: key={}, error={}", key, e.getMessage());
+                }
+            }
+            return;
+        }
+        Invalidation invalidation = new Invalidation(type == TYPE_PREFIX, key);
+        for (Consumer<Invalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (Exception e) {
+                logger.warn("处理缓存失效消息失败: key={}, error={}", invalidation.key(), e.getMessage());
+            }
+        }
+    }
+
+    private void dispatchExistence(String key) {
+        int separator = key.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        String filterName = key.substring(0, separator);
+        String id = key.substring(separator + 1);
+        for (BiConsumer<String, String> listener : existenceListeners) {
+            try {
+                listener.accept(filterName, id);
+            } catch (Exception e) {
+                logger.warn("处理存在性过滤器同步消息失败: filter={}, error={}", filterName, e.getMessage());
+            }
+        }
+    }
+
+    private void dispatchGeneration(String key) {
+        int separator = key.lastIndexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        String namespace = key.substring(0, separator);
+        long generation;
+        try {
+            generation = Long.parseLong(key.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            logger.debug("忽略格式错误的命名空间代数消息: {}", key);
+            return;
+        }
+        for (BiConsumer<String, Long> listener : generationListeners) {
+            try {
+                listener.accept(namespace, generation);
+            } catch (Exception e) {
+                logger.warn("处理命名空间代数消息失败: namespace={}, error={}", namespace, e.getMessage());
+            }
+        }
+    }
+    
+    String getInstanceId() {
+        return instanceId;
+    }
+}
@@ -0,0 +1,172 @@
+package com.blog.platform.common.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 缓存键后台清理
+ * 用SCAN增量遍历匹配的键并分批UNLINK，按每秒删除数量限速，单个后台线程串行执行，
+ * 避免KEYS和大批量DEL阻塞Redis。相同的匹配模式排队期间只保留一个任务
+ */
+@Component
+public class CacheKeyCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheKeyCleanupService.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final int scanCount;
+
+    private final int maxKeysPerSecond;
+
+    private final BlockingQueue<CleanupTask> tasks = new LinkedBlockingQueue<>();
+
+    private final Set<String> pendingPatterns = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong deletedKeys = new AtomicLong();
+
+    private volatile Thread worker;
+
+    /**
+     * 清理任务：pattern为SCAN的MATCH参数（完整缓存键），filter决定匹配的键是否删除
+     */
+    private record CleanupTask(String pattern, Predicate<String> filter) {
+    }
+
+    public CacheKeyCleanupService(RedisTemplate<String, Object> redisTemplate,
+                                  @Value("${cache.cleanup.scan-count:500}") int scanCount,
+                                  @Value("${cache.cleanup.max-keys-per-second:5000}") int maxKeysPerSecond) {
+        this.redisTemplate = redisTemplate;
+        this.scanCount = Math.max(scanCount, 10);
+        this.maxKeysPerSecond = Math.max(maxKeysPerSecond, 1);
+    }
+
+    /**
+     * 提交清理任务，立即返回
+     */
+    public void schedule(String pattern, Predicate<String> filter) {
+        if (redisTemplate == null || !pendingPatterns.add(pattern)) {
+            return;
+        }
+        tasks.add(new CleanupTask(pattern, filter));
+        ensureWorker();
+    }
+
+    public void schedule(String pattern) {
+        schedule(pattern, key -> true);
+    }
+
+    public int getPendingTasks() {
+        return tasks.size();
+    }
+
+    public long getDeletedKeys() {
+        return deletedKeys.get();
+    }
+
+    private synchronized void ensureWorker() {
+        if (worker == null || !worker.isAlive()) {
+            worker = Thread.ofVirtual().name("cache-key-cleanup").start(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            CleanupTask task;
+            while ((task = tasks.poll(30, TimeUnit.SECONDS)) != null) {
+                pendingPatterns.remove(task.pattern());
+                try {
+                    long start = System.currentTimeMillis();
+                    long deleted = cleanup(task);
+                    logger.info("缓存键清理完成: pattern={}, deleted={}, elapsed={}ms",
+                            task.pattern(), deleted, System.currentTimeMillis() - start);
+                } catch (Exception e) {
+                    logger.warn("缓存键清理失败: pattern={}, error={}", task.pattern(), e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this) {
+                worker = null;
+            }
+            if (!tasks.isEmpty() && !Thread.currentThread().isInterrupted()) {
+                ensureWorker();
+            }
+        }
+    }
+
+    private long cleanup(CleanupTask task) throws InterruptedException {
+        ScanOptions options = ScanOptions.scanOptions().match(task.pattern()).count(scanCount).build();
+        long deleted = 0;
+        long windowStart = System.nanoTime();
+        long windowDeleted = 0;
+        List<byte[]> batch = new ArrayList<>(scanCount);
+
+        try (Cursor<byte[]> cursor = redisTemplate.execute(
+                (RedisCallback<Cursor<byte[]>>) connection -> connection.keyCommands().scan(options))) {
+            if (cursor == null) {
+                return 0;
+            }
+            while (cursor.hasNext()) {
+                byte[] rawKey = cursor.next();
+                if (task.filter().test(new String(rawKey, StandardCharsets.UTF_8))) {
+                    batch.add(rawKey);
+                }
+                if (batch.size() >= scanCount) {
+                    deleted += unlink(batch);
+                    windowDeleted += batch.size();
+                    batch.clear();
+                    // 限速：本窗口删除数量超过每秒上限时等待窗口结束
+                    long elapsedNanos = System.nanoTime() - windowStart;
+                    if (windowDeleted >= maxKeysPerSecond) {
+                        long waitNanos = TimeUnit.SECONDS.toNanos(1) - elapsedNanos;
+                        if (waitNanos > 0) {
+                            TimeUnit.NANOSECONDS.sleep(waitNanos);
+                        }
+                        windowStart = System.nanoTime();
+                        windowDeleted = 0;
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += unlink(batch);
+        }
+        return deleted;
+    }
+
+    private long unlink(List<byte[]> keys) {
+        byte[][] rawKeys = keys.toArray(byte[][]::new);
+        Long removed = redisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().unlink(rawKeys));
+        long count = removed != null ? removed : 0;
+        deletedKeys.addAndGet(count);
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+}
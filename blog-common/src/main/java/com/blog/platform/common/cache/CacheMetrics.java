@@ -0,0 +1,257 @@
+package com.blog.platform.common.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存指标
+ * 按命名空间（缓存键第一个":"之前的部分）统计命中、未命中、空值命中、回源耗时、锁竞争、异步刷新、
+ * 本地缓存淘汰和缓存值大小。统计值始终在本地累计，供/actuator/caches-stats查看；
+ * 存在MeterRegistry时同时注册为Micrometer指标，回源耗时和缓存值大小带直方图，可计算p99
+ */
+@Component
+public class CacheMetrics {
+
+    /**
+     * 命名空间数量上限，防止异常键导致指标基数膨胀，超出的命名空间归入"other"
+     */
+    static final int MAX_NAMESPACES = 64;
+
+    static final String OTHER_NAMESPACE = "other";
+
+    private static final String CACHE_PREFIX = "blog:cache:";
+
+    private final Map<String, NamespaceMetrics> namespaces = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * 单个命名空间的统计快照，耗时单位为毫秒，大小单位为字节
+     */
+    public record NamespaceStats(String namespace, long hits, long misses, long nullHits, double hitRatio,
+                                 long loads, long loadFailures, double loadMeanMillis, double loadMaxMillis,
+                                 long instanceLockWaits, long distributedLockContentions,
+                                 long refreshes, long refreshFailures, long refreshRejections,
+                                 long evictions, long values, double valueMeanBytes, long valueMaxBytes) {
+    }
+
+    private final class NamespaceMetrics {
+        final String namespace;
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder nullHits = new LongAdder();
+        final LongAdder loads = new LongAdder();
+        final LongAdder loadFailures = new LongAdder();
+        final LongAdder loadNanos = new LongAdder();
+        final AtomicLong loadMaxNanos = new AtomicLong();
+        final LongAdder instanceLockWaits = new LongAdder();
+        final LongAdder distributedLockContentions = new LongAdder();
+        final LongAdder refreshes = new LongAdder();
+        final LongAdder refreshFailures = new LongAdder();
+        final LongAdder refreshRejections = new LongAdder();
+        final LongAdder sizeEvictions = new LongAdder();
+        final LongAdder expiredEvictions = new LongAdder();
+        final LongAdder values = new LongAdder();
+        final LongAdder valueBytes = new LongAdder();
+        final AtomicLong valueMaxBytes = new AtomicLong();
+        volatile Timer loadTimer;
+        volatile Timer loadFailureTimer;
+        volatile DistributionSummary valueSize;
+
+        NamespaceMetrics(String namespace) {
+            this.namespace = namespace;
+        }
+
+        void register(MeterRegistry registry) {
+            counter(registry, "cache.namespace.gets", hits, "result", "hit");
+            counter(registry, "cache.namespace.gets", misses, "result", "miss");
+            counter(registry, "cache.namespace.gets", nullHits, "result", "null_hit");
+            counter(registry, "cache.namespace.lock.contention", instanceLockWaits, "scope", "instance");
+            counter(registry, "cache.namespace.lock.contention", distributedLockContentions, "scope", "distributed");
+            counter(registry, "cache.namespace.refreshes", refreshes, "result", "success");
+            counter(registry, "cache.namespace.refreshes", refreshFailures, "result", "failure");
+            counter(registry, "cache.namespace.refreshes", refreshRejections, "result", "rejected");
+            counter(registry, "cache.namespace.evictions", sizeEvictions, "cause", "size");
+            counter(registry, "cache.namespace.evictions", expiredEvictions, "cause", "expired");
+            loadTimer = loadTimer(registry, "success");
+            loadFailureTimer = loadTimer(registry, "failure");
+            valueSize = DistributionSummary.builder("cache.namespace.value.size")
+                    .description("Serialized size of cached values")
+                    .baseUnit("bytes")
+                    .tag("namespace", namespace)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        private void counter(MeterRegistry registry, String name, LongAdder adder, String tagKey, String tagValue) {
+            FunctionCounter.builder(name, adder, LongAdder::sum)
+                    .tag("namespace", namespace)
+                    .tag(tagKey, tagValue)
+                    .register(registry);
+        }
+
+        private Timer loadTimer(MeterRegistry registry, String result) {
+            return Timer.builder("cache.namespace.load")
+                    .description("Time spent loading cache misses from the data source")
+                    .tag("namespace", namespace)
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        NamespaceStats snapshot() {
+            long hitCount = hits.sum();
+            long lookups = hitCount + misses.sum() + nullHits.sum();
+            long loadCount = loads.sum() + loadFailures.sum();
+            long valueCount = values.sum();
+            return new NamespaceStats(namespace, hitCount, misses.sum(), nullHits.sum(),
+                    lookups == 0 ? 0 : (double) hitCount / lookups,
+                    loads.sum(), loadFailures.sum(),
+                    loadCount == 0 ? 0 : loadNanos.sum() / 1e6 / loadCount,
+                    loadMaxNanos.get() / 1e6,
+                    instanceLockWaits.sum(), distributedLockContentions.sum(),
+                    refreshes.sum(), refreshFailures.sum(), refreshRejections.sum(),
+                    sizeEvictions.sum() + expiredEvictions.sum(),
+                    valueCount, valueCount == 0 ? 0 : (double) valueBytes.sum() / valueCount, valueMaxBytes.get());
+        }
+    }
+
+    @Autowired(required = false)
+    public void bindMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        namespaces.values().forEach(metrics -> metrics.register(registry));
+    }
+
+    public void recordHit(String key) {
+        metrics(key).hits.increment();
+    }
+
+    public void recordMiss(String key) {
+        metrics(key).misses.increment();
+    }
+
+    public void recordNullHit(String key) {
+        metrics(key).nullHits.increment();
+    }
+
+    /**
+     * 记录一次回源加载，批量加载按一次计
+     */
+    public void recordLoad(String key, long nanos, boolean success) {
+        NamespaceMetrics metrics = metrics(key);
+        (success ? metrics.loads : metrics.loadFailures).increment();
+        metrics.loadNanos.add(nanos);
+        metrics.loadMaxNanos.accumulateAndGet(nanos, Math::max);
+        Timer timer = success ? metrics.loadTimer : metrics.loadFailureTimer;
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 实例内等待其他线程正在进行的加载
+     */
+    public void recordInstanceLockWait(String key) {
+        metrics(key).instanceLockWaits.increment();
+    }
+
+    /**
+     * 获取分布式锁失败
+     */
+    public void recordLockContention(String key) {
+        metrics(key).distributedLockContentions.increment();
+    }
+
+    public void recordRefresh(String key, boolean success) {
+        NamespaceMetrics metrics = metrics(key);
+        (success ? metrics.refreshes : metrics.refreshFailures).increment();
+    }
+
+    /**
+     * 刷新队列已满，放弃本次异步刷新
+     */
+    public void recordRefreshRejected(String key) {
+        metrics(key).refreshRejections.increment();
+    }
+
+    /**
+     * 本地缓存淘汰，expired为false表示因容量不足被淘汰
+     */
+    public void recordEviction(String key, boolean expired) {
+        NamespaceMetrics metrics = metrics(key);
+        (expired ? metrics.expiredEvictions : metrics.sizeEvictions).increment();
+    }
+
+    public void recordValueSize(String key, int bytes) {
+        NamespaceMetrics metrics = metrics(key);
+        metrics.values.increment();
+        metrics.valueBytes.add(bytes);
+        metrics.valueMaxBytes.accumulateAndGet(bytes, Math::max);
+        DistributionSummary summary = metrics.valueSize;
+        if (summary != null) {
+            summary.record(bytes);
+        }
+    }
+
+    /**
+     * 各命名空间统计，按查询次数降序
+     */
+    public List<NamespaceStats> getStats() {
+        return namespaces.values().stream()
+                .map(NamespaceMetrics::snapshot)
+                .sorted(Comparator.comparingLong((NamespaceStats stats) -> stats.hits() + stats.misses() + stats.nullHits())
+                        .reversed())
+                .toList();
+    }
+
+    /**
+     * 缓存键所属命名空间，同时接受带或不带全局前缀的键
+     */
+    static String namespaceOf(String key) {
+        if (key == null) {
+            return OTHER_NAMESPACE;
+        }
+        String logicalKey = key.startsWith(CACHE_PREFIX) ? key.substring(CACHE_PREFIX.length()) : key;
+        int separator = logicalKey.indexOf(':');
+        String namespace = separator >= 0 ? logicalKey.substring(0, separator) : logicalKey;
+        // 去掉命名空间代数，见CacheGenerationService
+        int token = namespace.indexOf('@');
+        if (token >= 0) {
+            namespace = namespace.substring(0, token);
+        }
+        return namespace.isEmpty() ? OTHER_NAMESPACE : namespace;
+    }
+
+    private NamespaceMetrics metrics(String key) {
+        String namespace = namespaceOf(key);
+        NamespaceMetrics metrics = namespaces.get(namespace);
+        if (metrics != null) {
+            return metrics;
+        }
+        if (namespaces.size() >= MAX_NAMESPACES) {
+            namespace = OTHER_NAMESPACE;
+        }
+        return namespaces.computeIfAbsent(namespace, this::createMetrics);
+    }
+
+    private NamespaceMetrics createMetrics(String namespace) {
+        NamespaceMetrics metrics = new NamespaceMetrics(namespace);
+        MeterRegistry current = registry;
+        if (current != null) {
+            metrics.register(current);
+        }
+        return metrics;
+    }
+}
@@ -1,13 +1,23 @@
 package com.blog.platform.common.cache;
 
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 /**
@@ -19,11 +29,42 @@ public class CacheProtectionService {
     
     private static final Logger logger = LoggerFactory.getLogger(CacheProtectionService.class);
     
+    private static final Duration LOCK_EXPIRE_TIME = Duration.ofSeconds(10);
+    
+    private static final Duration NULL_VALUE_EXPIRE_TIME = Duration.ofMinutes(5);
+    
     private final CacheService cacheService;
+    private final ExistenceFilterService existenceFilterService;
+    private final CacheMetrics cacheMetrics;
     private final Random random = new Random();
     
-    public CacheProtectionService(CacheService cacheService) {
+    /**
+     * 正在进行中的加载，key为调用方式前缀加缓存键：不同方式写入缓存的值类型不同，不能共用同一次加载的结果
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    
+    /**
+     * 正在异步刷新的key
+     */
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+    
+    private final ThreadPoolExecutor refreshExecutor;
+    
+    /**
+     * XFetch提前刷新系数，大于1更积极，小于1更保守
+     */
+    @Value("${cache.refresh.beta:1.0}")
+    private double refreshBeta = 1.0;
+    
+    public CacheProtectionService(CacheService cacheService, ExistenceFilterService existenceFilterService,
+                                  CacheMetrics cacheMetrics) {
         this.cacheService = cacheService;
+        this.existenceFilterService = existenceFilterService;
+        this.cacheMetrics = cacheMetrics;
+        this.refreshExecutor = new ThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(256),
+                Thread.ofPlatform().name("cache-refresh-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
     }
     
     /**
@@ -38,6 +79,11 @@ public class CacheProtectionService {
      * 防缓存穿透的查询方法（带过期时间）
      */
     public <T> T getWithPenetrationProtection(String key, Class<T> type, Supplier<T> dataLoader, Duration expireTime) {
+        // 布隆过滤器判定不存在的数据直接返回（防穿透）
+        if (isFilteredOut(key)) {
+            return null;
+        }
+        
         // 先从缓存获取
         T cachedValue = cacheService.get(key, type);
         if (cachedValue != null) {
@@ -49,18 +95,8 @@ public class CacheProtectionService {
             return null;
         }
         
-        // 从数据源加载
-        T value = dataLoader.get();
-        if (value != null) {
-            // 添加随机过期时间防止缓存雪崩
-            Duration randomExpireTime = addRandomExpireTime(expireTime);
-            cacheService.set(key, value, randomExpireTime);
-        } else {
-            // 缓存空值防止缓存穿透
-            cacheService.setNullValue(key, Duration.ofMinutes(5));
-        }
-        
-        return value;
+        // 从数据源加载，同一实例内同一key只加载一次
+        return singleFlight("cache", key, () -> loadAndCache(key, dataLoader, expireTime));
     }
     
     /**
@@ -75,58 +111,21 @@ public class CacheProtectionService {
      * 防缓存击穿的查询方法（带过期时间）
      */
     public <T> T getWithBreakdownProtection(String key, Class<T> type, Supplier<T> dataLoader, Duration expireTime) {
+        // 布隆过滤器判定不存在的数据直接返回（防穿透）
+        if (isFilteredOut(key)) {
+            return null;
+        }
+        
         // 先从缓存获取
         T cachedValue = cacheService.get(key, type);
         if (cachedValue != null) {
             return cachedValue;
         }
         
-        // 使用分布式锁防止并发查询
-        String lockKey = "breakdown_lock:" + key;
-        String lockValue = Thread.currentThread().getName() + ":" + System.currentTimeMillis();
-        
         try {
-            // 尝试获取锁
-            if (cacheService.tryLock(lockKey, lockValue, Duration.ofSeconds(10))) {
-                try {
-                    // 双重检查，防止在等待锁的过程中其他线程已经加载了数据
-                    cachedValue = cacheService.get(key, type);
-                    if (cachedValue != null) {
-                        return cachedValue;
-                    }
-                    
-                    // 从数据源加载
-                    T value = dataLoader.get();
-                    if (value != null) {
-                        Duration randomExpireTime = addRandomExpireTime(expireTime);
-                        cacheService.set(key, value, randomExpireTime);
-                    } else {
-                        cacheService.setNullValue(key);
-                    }
-                    
-                    return value;
-                } finally {
-                    // 释放锁
-                    cacheService.releaseLock(lockKey, lockValue);
-                }
-            } else {
-                // 获取锁失败，等待一段时间后重试
-                try {
-                    Thread.sleep(50 + random.nextInt(50)); // 50-100ms随机等待
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                
-                // 重试获取缓存
-                cachedValue = cacheService.get(key, type);
-                if (cachedValue != null) {
-                    return cachedValue;
-                }
-                
-                // 如果还是没有，直接查询数据库（降级策略）
-                logger.warn("获取分布式锁失败，直接查询数据库: {}", key);
-                return dataLoader.get();
-            }
+            // 实例内合并并发请求，只有一个线程去竞争分布式锁
+            return singleFlight("breakdown", key, () ->
+                loadWithLock("breakdown_lock:" + key, key, type, () -> loadAndCache(key, dataLoader, expireTime), false));
         } catch (Exception e) {
             logger.error("缓存击穿保护失败: {}", key, e);
             // 异常情况下直接查询数据库
@@ -146,6 +145,11 @@ public class CacheProtectionService {
      * 综合保护方法（带过期时间）
      */
     public <T> T getWithFullProtection(String key, Class<T> type, Supplier<T> dataLoader, Duration expireTime) {
+        // 布隆过滤器判定不存在的数据直接返回（防穿透）
+        if (isFilteredOut(key)) {
+            return null;
+        }
+        
         // 先从缓存获取
         T cachedValue = cacheService.get(key, type);
         if (cachedValue != null) {
@@ -157,58 +161,171 @@ public class CacheProtectionService {
             return null;
         }
         
-        // 使用分布式锁防止并发查询（防击穿）
-        String lockKey = "full_protection_lock:" + key;
+        try {
+            // 实例内合并并发请求 + 分布式锁（防击穿）
+            return singleFlight("full", key, () ->
+                loadWithLock("full_protection_lock:" + key, key, type, () -> loadAndCache(key, dataLoader, expireTime), true));
+        } catch (Exception e) {
+            logger.error("缓存综合保护失败: {}", key, e);
+            return dataLoader.get();
+        }
+    }
+    
+    private boolean isFilteredOut(String key) {
+        if (existenceFilterService.mightContainKey(key)) {
+            return false;
+        }
+        logger.debug("存在性过滤器判定数据不存在: {}", key);
+        return true;
+    }
+    
+    /**
+     * 在分布式锁保护下加载数据
+     * 只有各实例内的首个请求会走到这里，获取锁失败时短暂等待其他实例写入缓存
+     *
+     * @param loadAndCache 从数据源加载并写入缓存
+     */
+    private <T> T loadWithLock(String lockKey, String key, Class<T> type, Supplier<T> loadAndCache,
+                               boolean checkNullValue) {
         String lockValue = Thread.currentThread().getName() + ":" + System.currentTimeMillis();
         
-        try {
-            if (cacheService.tryLock(lockKey, lockValue, Duration.ofSeconds(10))) {
-                try {
-                    // 双重检查
-                    cachedValue = cacheService.get(key, type);
-                    if (cachedValue != null) {
-                        return cachedValue;
-                    }
-                    
-                    if (cacheService.isNullValue(key)) {
-                        return null;
-                    }
-                    
-                    // 从数据源加载
-                    T value = dataLoader.get();
-                    if (value != null) {
-                        // 添加随机过期时间（防雪崩）
-                        Duration randomExpireTime = addRandomExpireTime(expireTime);
-                        cacheService.set(key, value, randomExpireTime);
-                    } else {
-                        // 缓存空值（防穿透）
-                        cacheService.setNullValue(key, Duration.ofMinutes(5));
-                    }
-                    
-                    return value;
-                } finally {
-                    cacheService.releaseLock(lockKey, lockValue);
-                }
-            } else {
-                // 获取锁失败的降级策略
-                try {
-                    Thread.sleep(50 + random.nextInt(50));
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                
-                cachedValue = cacheService.get(key, type);
+        if (cacheService.tryLock(lockKey, lockValue, LOCK_EXPIRE_TIME)) {
+            try {
+                // 双重检查，防止在等待锁的过程中其他实例已经加载了数据
+                T cachedValue = cacheService.get(key, type);
                 if (cachedValue != null) {
                     return cachedValue;
                 }
                 
-                if (cacheService.isNullValue(key)) {
+                if (checkNullValue && cacheService.isNullValue(key)) {
                     return null;
                 }
                 
-                logger.warn("获取分布式锁失败，直接查询数据库: {}", key);
-                return dataLoader.get();
+                return loadAndCache.get();
+            } finally {
+                cacheService.releaseLock(lockKey, lockValue);
+            }
+        }
+        
+        // 其他实例持有锁，等待一段时间后重试
+        cacheMetrics.recordLockContention(key);
+        try {
+            Thread.sleep(50 + random.nextInt(50)); // 50-100ms随机等待
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        T cachedValue = cacheService.get(key, type);
+        if (cachedValue != null) {
+            return cachedValue;
+        }
+        
+        if (checkNullValue && cacheService.isNullValue(key)) {
+            return null;
+        }
+        
+        // 如果还是没有，直接查询数据库（降级策略）
+        logger.warn("获取分布式锁失败，直接查询数据库: {}", key);
+        return loadAndCache.get();
+    }
+    
+    /**
+     * 从数据源加载并写入缓存，空结果缓存空值
+     */
+    private <T> T loadAndCache(String key, Supplier<T> dataLoader, Duration expireTime) {
+        T value = timedLoad(key, dataLoader);
+        if (value != null) {
+            // 添加随机过期时间（防雪崩）
+            Duration randomExpireTime = addRandomExpireTime(expireTime);
+            cacheService.set(key, value, randomExpireTime);
+        } else {
+            // 缓存空值（防穿透）
+            cacheService.setNullValue(key, NULL_VALUE_EXPIRE_TIME);
+        }
+        return value;
+    }
+    
+    /**
+     * 实例内请求合并
+     * 同一调用方式下同一key同时只有一个线程执行加载，其余线程等待同一个结果
+     *
+     * @param mode 调用方式，决定加载结果的类型
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T singleFlight(String mode, String key, Supplier<T> loader) {
+        String flightKey = mode + ":" + key;
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(flightKey, future);
+        
+        if (inFlight != null) {
+            cacheMetrics.recordInstanceLockWait(key);
+            return (T) awaitInFlight(key, inFlight, loader);
+        }
+        
+        try {
+            T value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(flightKey, future);
+        }
+    }
+    
+    private Object awaitInFlight(String key, CompletableFuture<Object> inFlight, Supplier<?> loader) {
+        try {
+            return inFlight.get(LOCK_EXPIRE_TIME.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("缓存加载失败: " + key, e.getCause());
+        } catch (TimeoutException e) {
+            logger.warn("等待缓存加载超时，直接查询数据库: {}", key);
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待缓存加载被中断: " + key, e);
+        }
+    }
+    
+    /**
+     * 异步刷新缓存
+     * 缓存中同时保存加载耗时和过期时间，命中时按XFetch算法以概率提前刷新：
+     * 越接近过期、加载越慢的数据越早刷新，命中只需一次缓存读取，
+     * 同一key在实例内和实例间都只有一个刷新任务。
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getWithAsyncRefresh(String key, Class<T> type, Supplier<T> dataLoader, Duration expireTime) {
+        // 布隆过滤器判定不存在的数据直接返回（防穿透）
+        if (isFilteredOut(key)) {
+            return null;
+        }
+        
+        Object cached = cacheService.get(key, Object.class);
+        
+        if (cached instanceof RefreshableValue refreshable) {
+            if (shouldRefreshEarly(refreshable)) {
+                refreshAsync(key, dataLoader, expireTime);
             }
+            return (T) refreshable.getValue();
+        }
+        
+        if (cached != null) {
+            // 兼容升级前写入的普通缓存值
+            return (T) cached;
+        }
+        
+        if (cacheService.isNullValue(key)) {
+            return null;
+        }
+        
+        try {
+            RefreshableValue loaded = singleFlight("refreshable", key, () -> loadWithLock("full_protection_lock:" + key, key,
+                    RefreshableValue.class, () -> loadAndCacheRefreshable(key, dataLoader, expireTime), true));
+            return loaded != null ? (T) loaded.getValue() : null;
         } catch (Exception e) {
             logger.error("缓存综合保护失败: {}", key, e);
             return dataLoader.get();
@@ -216,38 +333,86 @@ public class CacheProtectionService {
     }
     
     /**
-     * 异步刷新缓存
-     * 在缓存即将过期时异步刷新，避免缓存失效
+     * XFetch：now - delta * beta * ln(rand) >= expiry 时提前刷新
      */
-    public <T> T getWithAsyncRefresh(String key, Class<T> type, Supplier<T> dataLoader, Duration expireTime) {
-        T cachedValue = cacheService.get(key, type);
+    private boolean shouldRefreshEarly(RefreshableValue refreshable) {
+        double rand = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double gap = refreshable.getComputeMillis() * refreshBeta * -Math.log(rand);
+        return System.currentTimeMillis() + gap >= refreshable.getExpireAtMillis();
+    }
+    
+    private <T> void refreshAsync(String key, Supplier<T> dataLoader, Duration expireTime) {
+        if (!refreshingKeys.add(key)) {
+            return;
+        }
         
-        if (cachedValue != null) {
-            // 检查缓存剩余时间，如果小于总时间的1/4，异步刷新
-            long remainingTime = cacheService.getExpire(key);
-            long totalTime = expireTime.getSeconds();
-            
-            if (remainingTime > 0 && remainingTime < totalTime / 4) {
-                // 异步刷新缓存
-                CompletableFuture.runAsync(() -> {
-                    try {
-                        T newValue = dataLoader.get();
-                        if (newValue != null) {
-                            Duration randomExpireTime = addRandomExpireTime(expireTime);
-                            cacheService.set(key, newValue, randomExpireTime);
+        try {
+            refreshExecutor.execute(() -> {
+                String lockKey = "refresh_lock:" + key;
+                String lockValue = Thread.currentThread().getName() + ":" + System.currentTimeMillis();
+                try {
+                    // 跨实例只允许一个刷新任务
+                    if (cacheService.tryLock(lockKey, lockValue, LOCK_EXPIRE_TIME)) {
+                        try {
+                            loadAndCacheRefreshable(key, dataLoader, expireTime);
+                            cacheMetrics.recordRefresh(key, true);
                             logger.debug("异步刷新缓存完成: {}", key);
+                        } finally {
+                            cacheService.releaseLock(lockKey, lockValue);
                         }
-                    } catch (Exception e) {
-                        logger.error("异步刷新缓存失败: {}", key, e);
                     }
-                });
-            }
-            
-            return cachedValue;
+                } catch (Exception e) {
+                    cacheMetrics.recordRefresh(key, false);
+                    logger.error("异步刷新缓存失败: {}", key, e);
+                } finally {
+                    refreshingKeys.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(key);
+            cacheMetrics.recordRefreshRejected(key);
+            logger.debug("异步刷新队列已满，跳过本次刷新: {}", key);
+        }
+    }
+    
+    /**
+     * 加载数据并连同加载耗时、过期时间一起写入缓存
+     */
+    private <T> RefreshableValue loadAndCacheRefreshable(String key, Supplier<T> dataLoader, Duration expireTime) {
+        long start = System.nanoTime();
+        T value = timedLoad(key, dataLoader);
+        long computeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        if (value == null) {
+            cacheService.setNullValue(key, NULL_VALUE_EXPIRE_TIME);
+            return null;
         }
         
-        // 缓存不存在，使用综合保护方法
-        return getWithFullProtection(key, type, dataLoader, expireTime);
+        Duration randomExpireTime = addRandomExpireTime(expireTime);
+        RefreshableValue refreshable = new RefreshableValue(
+                value, computeMillis, System.currentTimeMillis() + randomExpireTime.toMillis());
+        cacheService.set(key, refreshable, randomExpireTime);
+        return refreshable;
+    }
+    
+    /**
+     * 执行回源加载并记录耗时
+     */
+    private <T> T timedLoad(String key, Supplier<T> dataLoader) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T value = dataLoader.get();
+            success = true;
+            return value;
+        } finally {
+            cacheMetrics.recordLoad(key, System.nanoTime() - start, success);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
     }
     
     /**
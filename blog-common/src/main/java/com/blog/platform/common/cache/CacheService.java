@@ -1,21 +1,48 @@
 package com.blog.platform.common.cache;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
 
+/**
+ * 缓存服务
+ * Redis为L2，本地Caffeine为L1近端缓存（按序列化字节数限制容量），
+ * 值的编码由{@link CacheCodecRegistry}按命名空间选择，
+ * 写入和删除通过{@link CacheInvalidationBroadcaster}通知其他实例清理L1。
+ * {@link HotKeyDetector}判定的热点键额外保留一份短TTL的固定副本，不参与容量淘汰，
+ * 避免单个热点键的读取全部落到同一个Redis分片。
+ * 缓存键带有{@link CacheGenerationService}维护的命名空间代数，按命名空间失效只需递增代数，
+ * 其余模式删除由{@link CacheKeyCleanupService}在后台SCAN限速执行，不使用KEYS。
+ * Redis不可用时本地缓存作为降级存储。
+ */
 @Service
 public class CacheService {
     
@@ -23,30 +50,128 @@ public class CacheService {
     
     private final RedisTemplate<String, Object> redisTemplate;
     
+    private final CacheInvalidationBroadcaster invalidationBroadcaster;
+    
+    private final CacheCodecRegistry codecRegistry;
+    
+    private final HotKeyDetector hotKeyDetector;
+    
+    private final CacheMetrics cacheMetrics;
+    
+    private final CacheGenerationService generations;
+    
+    private final CacheKeyCleanupService cleanupService;
+    
     private final AtomicBoolean redisAvailable = new AtomicBoolean(false);
     
     private static final String CACHE_PREFIX = "blog:cache:";
     
     private static final Duration DEFAULT_EXPIRE_TIME = Duration.ofHours(1);
     
-    private final Map<String, CacheEntry> localCache = new ConcurrentHashMap<>();
+    private static final String NULL_VALUE = "NULL";
+    
+    private static final Duration NULL_VALUE_EXPIRE_TIME = Duration.ofMinutes(5);
+    
+    /**
+     * 无法计算序列化大小时的默认权重
+     */
+    private static final int DEFAULT_ENTRY_WEIGHT = 1024;
+    
+    private static final int PINNED_MAXIMUM_SIZE = 1024;
+    
+    private static final int WRITE_VERSION_STRIPES = 256;
+    
+    private final boolean nearCacheEnabled;
+    
+    /**
+     * L1条目的最长存活时间，限制失效消息丢失时读到旧值的时间窗口
+     */
+    private final Duration nearCacheMaxTtl;
+    
+    private final Cache<String, CacheEntry> localCache;
+    
+    /**
+     * 热点键的固定副本
+     */
+    private final Cache<String, CacheEntry> pinnedCache;
+    
+    /**
+     * 按键分段的写入版本号。读取方在读L1或Redis前记录版本，填充L1或固定副本后校验，
+     * 版本变化时撤回自己写入的条目，避免把并发写入或失效之前读到的旧值留在本地
+     */
+    private final AtomicLongArray writeVersions = new AtomicLongArray(WRITE_VERSION_STRIPES);
+    
+    private final Map<String, CacheEntry> localLocks = new ConcurrentHashMap<>();
     
     private static class CacheEntry {
         final Object value;
-        final long expireTime;
+        final long expireTimeNanos;
+        final int weight;
         
-        CacheEntry(Object value, Duration ttl) {
+        CacheEntry(Object value, Duration ttl, int weight) {
             this.value = value;
-            this.expireTime = System.currentTimeMillis() + ttl.toMillis();
+            this.expireTimeNanos = System.nanoTime() + ttl.toNanos();
+            this.weight = weight;
         }
         
         boolean isExpired() {
-            return System.currentTimeMillis() > expireTime;
+            return System.nanoTime() > expireTimeNanos;
+        }
+        
+        long remainingNanos() {
+            return Math.max(0, expireTimeNanos - System.nanoTime());
         }
     }
     
-    public CacheService(RedisTemplate<String, Object> redisTemplate) {
+    public CacheService(RedisTemplate<String, Object> redisTemplate,
+                        CacheInvalidationBroadcaster invalidationBroadcaster,
+                        CacheCodecRegistry codecRegistry,
+                        HotKeyDetector hotKeyDetector,
+                        CacheMetrics cacheMetrics,
+                        CacheGenerationService generations,
+                        CacheKeyCleanupService cleanupService,
+                        @Value("${cache.near.enabled:true}") boolean nearCacheEnabled,
+                        @Value("${cache.near.maximum-weight:67108864}") long nearCacheMaximumWeight,
+                        @Value("${cache.near.max-ttl-seconds:60}") long nearCacheMaxTtlSeconds) {
         this.redisTemplate = redisTemplate;
+        this.invalidationBroadcaster = invalidationBroadcaster;
+        this.codecRegistry = codecRegistry;
+        this.hotKeyDetector = hotKeyDetector;
+        this.cacheMetrics = cacheMetrics;
+        this.generations = generations;
+        this.cleanupService = cleanupService;
+        this.nearCacheEnabled = nearCacheEnabled;
+        this.nearCacheMaxTtl = Duration.ofSeconds(nearCacheMaxTtlSeconds);
+        
+        this.localCache = Caffeine.newBuilder()
+            .maximumWeight(nearCacheMaximumWeight)
+            .weigher((String key, CacheEntry entry) -> entry.weight)
+            .evictionListener((String key, CacheEntry entry, RemovalCause cause) ->
+                    cacheMetrics.recordEviction(key, cause == RemovalCause.EXPIRED))
+            .expireAfter(new Expiry<String, CacheEntry>() {
+                @Override
+                public long expireAfterCreate(String key, CacheEntry value, long currentTime) {
+                    return value.remainingNanos();
+                }
+                
+                @Override
+                public long expireAfterUpdate(String key, CacheEntry value, long currentTime, long currentDuration) {
+                    return value.remainingNanos();
+                }
+                
+                @Override
+                public long expireAfterRead(String key, CacheEntry value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+        
+        this.pinnedCache = Caffeine.newBuilder()
+            .maximumSize(PINNED_MAXIMUM_SIZE)
+            .expireAfterWrite(hotKeyDetector.getPinTtl())
+            .build();
+        
+        invalidationBroadcaster.subscribe(this::onRemoteInvalidation);
     }
     
     @PostConstruct
@@ -87,39 +212,261 @@ public class CacheService {
         
         if (redisAvailable.get()) {
             try {
-                redisTemplate.opsForValue().set(cacheKey, value, expireTime);
+                byte[] rawValue = serializeValue(cacheKey, value);
+                redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                        .set(rawKey(cacheKey), rawValue, Expiration.from(expireTime), SetOption.upsert()));
+                invalidationBroadcaster.publishKey(cacheKey);
+                beginLocalWrite(cacheKey);
+                putNearCache(cacheKey, value, rawValue.length, expireTime);
+                unpin(cacheKey);
                 return;
             } catch (Exception e) {
                 logger.warn("Redis写入失败，降级到本地缓存: {}", e.getMessage());
             }
         }
         
-        localCache.put(cacheKey, new CacheEntry(value, expireTime));
+        beginLocalWrite(cacheKey);
+        localCache.put(cacheKey, new CacheEntry(value, expireTime, estimateWeight(cacheKey, value)));
+        unpin(cacheKey);
     }
     
+    /**
+     * 获取缓存值，空值标记视为未命中（通过{@link #isNullValue(String)}判断）
+     */
     @SuppressWarnings("unchecked")
     public <T> T get(String key, Class<T> type) {
-        String cacheKey = buildCacheKey(key);
+        Object value = getRaw(buildCacheKey(key));
+        recordLookup(key, value);
+        return NULL_VALUE.equals(value) ? null : (T) value;
+    }
+    
+    private void recordLookup(String key, Object value) {
+        if (value == null) {
+            cacheMetrics.recordMiss(key);
+        } else if (NULL_VALUE.equals(value)) {
+            cacheMetrics.recordNullHit(key);
+        } else {
+            cacheMetrics.recordHit(key);
+        }
+    }
+    
+    private Object getRaw(String cacheKey) {
+        boolean hot = hotKeyDetector.record(cacheKey);
+        long version = writeVersions.get(versionStripe(cacheKey));
+        if (hot) {
+            CacheEntry pinned = pinnedCache.getIfPresent(cacheKey);
+            if (pinned != null) {
+                return pinned.value;
+            }
+        }
+        
+        CacheEntry entry = localCache.getIfPresent(cacheKey);
+        if (entry != null && !entry.isExpired()) {
+            if (hot) {
+                pin(cacheKey, entry, version);
+            }
+            return entry.value;
+        }
         
         if (redisAvailable.get()) {
             try {
-                Object value = redisTemplate.opsForValue().get(cacheKey);
-                return value != null ? (T) value : null;
+                byte[] key = rawKey(cacheKey);
+                List<Object> results = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+                    connection.openPipeline();
+                    connection.stringCommands().get(key);
+                    connection.keyCommands().pTtl(key);
+                    return connection.closePipeline();
+                });
+                if (results == null || results.size() < 2 || !(results.get(0) instanceof byte[] rawValue)) {
+                    return null;
+                }
+                Object value = deserializeValue(rawValue);
+                Duration ttl = remainingTtl(results.get(1));
+                fillNearCache(cacheKey, value, rawValue.length, ttl, version);
+                if (hot && !ttl.isZero()) {
+                    pin(cacheKey, new CacheEntry(value, minDuration(hotKeyDetector.getPinTtl(), ttl), rawValue.length),
+                            version);
+                }
+                return value;
             } catch (Exception e) {
-                logger.warn("Redis读取失败，尝试本地缓存: {}", e.getMessage());
+                logger.warn("Redis读取失败: {}", e.getMessage());
             }
         }
         
-        CacheEntry entry = localCache.get(cacheKey);
-        if (entry != null && !entry.isExpired()) {
-            return (T) entry.value;
+        return null;
+    }
+    
+    /**
+     * 批量获取缓存值：先查L1，剩余的键通过一次MGET从Redis读取。
+     * 返回结果按传入顺序排列，只包含命中的键，空值标记视为未命中
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> type) {
+        Map<String, Object> cached = getAllRaw(keys);
+        Map<String, T> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            Object value = cached.get(key);
+            recordLookup(key, value);
+            if (value != null && !NULL_VALUE.equals(value)) {
+                result.put(key, (T) value);
+            }
         }
+        return result;
+    }
+    
+    /**
+     * 批量获取缓存值，未命中的键一次性交给loader加载并通过管道回写。
+     * loader未返回的键写入空值标记，带空值标记的键不会再交给loader
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> type,
+                                     Function<List<String>, Map<String, T>> loader, Duration expireTime) {
+        Set<String> uniqueKeys = new LinkedHashSet<>(keys);
+        Map<String, Object> cached = getAllRaw(uniqueKeys);
         
-        if (entry != null) {
-            localCache.remove(cacheKey);
+        List<String> missingKeys = new ArrayList<>();
+        for (String key : uniqueKeys) {
+            recordLookup(key, cached.get(key));
+            if (!cached.containsKey(key)) {
+                missingKeys.add(key);
+            }
         }
         
-        return null;
+        Map<String, T> loaded = Collections.emptyMap();
+        if (!missingKeys.isEmpty()) {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                loaded = loader.apply(missingKeys);
+                success = true;
+            } finally {
+                cacheMetrics.recordLoad(missingKeys.get(0), System.nanoTime() - start, success);
+            }
+            if (loaded == null) {
+                loaded = Collections.emptyMap();
+            }
+            List<PendingWrite> writes = new ArrayList<>(missingKeys.size());
+            for (String key : missingKeys) {
+                T value = loaded.get(key);
+                writes.add(value != null
+                        ? new PendingWrite(buildCacheKey(key), value, expireTime)
+                        : new PendingWrite(buildCacheKey(key), NULL_VALUE, NULL_VALUE_EXPIRE_TIME));
+            }
+            writeAll(writes);
+        }
+        
+        Map<String, T> result = new LinkedHashMap<>();
+        for (String key : uniqueKeys) {
+            Object value = cached.containsKey(key) ? cached.get(key) : loaded.get(key);
+            if (value != null && !NULL_VALUE.equals(value)) {
+                result.put(key, (T) value);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 批量写入缓存，通过Redis管道一次往返完成
+     */
+    public void setAll(Map<String, ?> entries, Duration expireTime) {
+        List<PendingWrite> writes = new ArrayList<>(entries.size());
+        entries.forEach((key, value) -> writes.add(new PendingWrite(buildCacheKey(key), value, expireTime)));
+        writeAll(writes);
+    }
+    
+    private record PendingWrite(String cacheKey, Object value, Duration expireTime) {
+    }
+    
+    private Map<String, Object> getAllRaw(Collection<String> keys) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        List<String> remoteKeys = new ArrayList<>();
+        
+        for (String key : keys) {
+            CacheEntry entry = localCache.getIfPresent(buildCacheKey(key));
+            if (entry != null && !entry.isExpired()) {
+                result.put(key, entry.value);
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+        
+        if (remoteKeys.isEmpty() || !redisAvailable.get()) {
+            return result;
+        }
+        
+        try {
+            List<String> cacheKeys = remoteKeys.stream().map(this::buildCacheKey).toList();
+            long[] versions = new long[cacheKeys.size()];
+            for (int i = 0; i < cacheKeys.size(); i++) {
+                versions[i] = writeVersions.get(versionStripe(cacheKeys.get(i)));
+            }
+            byte[][] rawKeys = cacheKeys.stream()
+                    .map(CacheService::rawKey)
+                    .toArray(byte[][]::new);
+            List<Object> results = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+                connection.openPipeline();
+                connection.stringCommands().mGet(rawKeys);
+                for (byte[] rawKey : rawKeys) {
+                    connection.keyCommands().pTtl(rawKey);
+                }
+                return connection.closePipeline();
+            });
+            if (results == null || results.size() != rawKeys.length + 1 || !(results.get(0) instanceof List<?> rawValues)) {
+                return result;
+            }
+            for (int i = 0; i < remoteKeys.size() && i < rawValues.size(); i++) {
+                if (!(rawValues.get(i) instanceof byte[] rawValue)) {
+                    continue;
+                }
+                Object value = deserializeValue(rawValue);
+                fillNearCache(cacheKeys.get(i), value, rawValue.length, remainingTtl(results.get(i + 1)), versions[i]);
+                result.put(remoteKeys.get(i), value);
+            }
+        } catch (Exception e) {
+            logger.warn("Redis批量读取失败: {}", e.getMessage());
+        }
+        
+        return result;
+    }
+    
+    private void writeAll(List<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        
+        if (redisAvailable.get()) {
+            try {
+                List<byte[]> rawValues = new ArrayList<>(writes.size());
+                for (PendingWrite write : writes) {
+                    rawValues.add(serializeValue(write.cacheKey(), write.value()));
+                }
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (int i = 0; i < writes.size(); i++) {
+                        PendingWrite write = writes.get(i);
+                        connection.stringCommands().set(rawKey(write.cacheKey()), rawValues.get(i),
+                                Expiration.from(write.expireTime()), SetOption.upsert());
+                    }
+                    return null;
+                });
+                invalidationBroadcaster.publishKeys(writes.stream().map(PendingWrite::cacheKey).toList());
+                for (int i = 0; i < writes.size(); i++) {
+                    PendingWrite write = writes.get(i);
+                    beginLocalWrite(write.cacheKey());
+                    putNearCache(write.cacheKey(), write.value(), rawValues.get(i).length, write.expireTime());
+                    unpin(write.cacheKey());
+                }
+                return;
+            } catch (Exception e) {
+                logger.warn("Redis批量写入失败，降级到本地缓存: {}", e.getMessage());
+            }
+        }
+        
+        for (PendingWrite write : writes) {
+            beginLocalWrite(write.cacheKey());
+            localCache.put(write.cacheKey(),
+                    new CacheEntry(write.value(), write.expireTime(), estimateWeight(write.cacheKey(), write.value())));
+            unpin(write.cacheKey());
+        }
     }
     
     public void delete(String key) {
@@ -128,34 +475,66 @@ public class CacheService {
         if (redisAvailable.get()) {
             try {
                 redisTemplate.delete(cacheKey);
+                invalidationBroadcaster.publishKey(cacheKey);
             } catch (Exception e) {
                 logger.warn("Redis删除失败: {}", e.getMessage());
             }
         }
         
-        localCache.remove(cacheKey);
+        beginLocalWrite(cacheKey);
+        localCache.invalidate(cacheKey);
+        unpin(cacheKey);
     }
     
+    /**
+     * 按模式删除缓存。"*"和"命名空间:*"通过递增代数失效，立即生效且不访问键空间，
+     * Redis不可用时抛出IllegalStateException；
+     * 其他模式先清理本地缓存，Redis中匹配的键由后台任务SCAN限速删除
+     */
     public void deleteByPattern(String pattern) {
+        if ("*".equals(pattern)) {
+            generations.invalidateAll();
+            return;
+        }
+        if (pattern.endsWith(":*") && pattern.indexOf(':') == pattern.length() - 2
+                && pattern.indexOf('*') == pattern.length() - 1) {
+            invalidateNamespace(pattern.substring(0, pattern.length() - 2));
+            return;
+        }
+        
         String cachePattern = buildCacheKey(pattern);
+        String localPrefix = cachePattern.substring(0, cachePattern.indexOf('*') >= 0
+                ? cachePattern.indexOf('*') : cachePattern.length());
+        
+        beginLocalWriteAll();
+        localCache.asMap().keySet().removeIf(k -> k.startsWith(localPrefix));
+        unpinPrefix(localPrefix);
         
         if (redisAvailable.get()) {
             try {
-                Set<String> keys = redisTemplate.keys(cachePattern);
-                if (keys != null && !keys.isEmpty()) {
-                    redisTemplate.delete(keys);
-                }
+                cleanupService.schedule(cachePattern);
+                invalidationBroadcaster.publishPrefix(localPrefix);
             } catch (Exception e) {
                 logger.warn("Redis批量删除失败: {}", e.getMessage());
             }
         }
-        
-        localCache.keySet().removeIf(k -> k.startsWith(cachePattern.replace("*", "")));
+    }
+    
+    /**
+     * 使命名空间下的全部缓存失效，旧代数的本地副本不再可达，随容量淘汰或过期清理
+     */
+    public void invalidateNamespace(String namespace) {
+        generations.invalidate(namespace);
     }
     
     public boolean exists(String key) {
         String cacheKey = buildCacheKey(key);
         
+        CacheEntry entry = localCache.getIfPresent(cacheKey);
+        if (entry != null && !entry.isExpired()) {
+            return true;
+        }
+        
         if (redisAvailable.get()) {
             try {
                 return Boolean.TRUE.equals(redisTemplate.hasKey(cacheKey));
@@ -164,8 +543,7 @@ public class CacheService {
             }
         }
         
-        CacheEntry entry = localCache.get(cacheKey);
-        return entry != null && !entry.isExpired();
+        return false;
     }
     
     public void expire(String key, Duration expireTime) {
@@ -179,9 +557,10 @@ public class CacheService {
             }
         }
         
-        CacheEntry entry = localCache.get(cacheKey);
+        CacheEntry entry = localCache.getIfPresent(cacheKey);
         if (entry != null) {
-            localCache.put(cacheKey, new CacheEntry(entry.value, expireTime));
+            Duration localTtl = redisAvailable.get() ? minDuration(expireTime, nearCacheMaxTtl) : expireTime;
+            localCache.put(cacheKey, new CacheEntry(entry.value, localTtl, entry.weight));
         }
     }
     
@@ -196,51 +575,28 @@ public class CacheService {
             }
         }
         
-        CacheEntry entry = localCache.get(cacheKey);
+        CacheEntry entry = localCache.getIfPresent(cacheKey);
         if (entry != null) {
-            return Math.max(0, (entry.expireTime - System.currentTimeMillis()) / 1000);
+            return TimeUnit.NANOSECONDS.toSeconds(entry.remainingNanos());
         }
         
         return -2;
     }
     
     public void setNullValue(String key) {
-        setNullValue(key, Duration.ofMinutes(5));
+        setNullValue(key, NULL_VALUE_EXPIRE_TIME);
     }
     
     public void setNullValue(String key, Duration expireTime) {
-        String cacheKey = buildCacheKey(key);
-        
-        if (redisAvailable.get()) {
-            try {
-                redisTemplate.opsForValue().set(cacheKey, "NULL", expireTime);
-                return;
-            } catch (Exception e) {
-                logger.warn("Redis设置空值失败: {}", e.getMessage());
-            }
-        }
-        
-        localCache.put(cacheKey, new CacheEntry("NULL", expireTime));
+        set(key, NULL_VALUE, expireTime);
     }
     
     public boolean isNullValue(String key) {
-        String cacheKey = buildCacheKey(key);
-        
-        if (redisAvailable.get()) {
-            try {
-                Object value = redisTemplate.opsForValue().get(cacheKey);
-                return "NULL".equals(value);
-            } catch (Exception e) {
-                logger.warn("Redis检查空值失败: {}", e.getMessage());
-            }
-        }
-        
-        CacheEntry entry = localCache.get(cacheKey);
-        return entry != null && !entry.isExpired() && "NULL".equals(entry.value);
+        return NULL_VALUE.equals(getRaw(buildCacheKey(key)));
     }
     
     public boolean tryLock(String lockKey, String lockValue, Duration expireTime) {
-        String cacheKey = buildCacheKey("lock:" + lockKey);
+        String cacheKey = buildLockKey(lockKey);
         
         if (redisAvailable.get()) {
             try {
@@ -252,9 +608,9 @@ public class CacheService {
             }
         }
         
-        CacheEntry existingLock = localCache.get(cacheKey);
+        CacheEntry existingLock = localLocks.get(cacheKey);
         if (existingLock == null || existingLock.isExpired()) {
-            localCache.put(cacheKey, new CacheEntry(lockValue, expireTime));
+            localLocks.put(cacheKey, new CacheEntry(lockValue, expireTime, 0));
             return true;
         }
         
@@ -268,7 +624,7 @@ public class CacheService {
     );
 
     public void releaseLock(String lockKey, String lockValue) {
-        String cacheKey = buildCacheKey("lock:" + lockKey);
+        String cacheKey = buildLockKey(lockKey);
         
         if (redisAvailable.get()) {
             try {
@@ -279,9 +635,9 @@ public class CacheService {
             }
         }
         
-        CacheEntry entry = localCache.get(cacheKey);
+        CacheEntry entry = localLocks.get(cacheKey);
         if (entry != null && lockValue.equals(entry.value)) {
-            localCache.remove(cacheKey);
+            localLocks.remove(cacheKey);
         }
     }
     
@@ -289,7 +645,135 @@ public class CacheService {
         return redisAvailable.get();
     }
     
+    /**
+     * L1近端缓存统计：条目数、按序列化字节估算的总大小以及热点键固定副本数
+     */
+    public NearCacheStats getNearCacheStats() {
+        long weightedSize = localCache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new NearCacheStats(localCache.estimatedSize(), weightedSize, pinnedCache.estimatedSize(), nearCacheEnabled);
+    }
+    
+    public record NearCacheStats(long size, long weightedSize, long pinnedSize, boolean enabled) {
+    }
+    
+    private void putNearCache(String cacheKey, Object value, int weight, Duration ttl) {
+        if (!nearCacheEnabled) {
+            return;
+        }
+        localCache.put(cacheKey, new CacheEntry(value, minDuration(ttl, nearCacheMaxTtl), weight));
+    }
+    
+    private void onRemoteInvalidation(CacheInvalidationBroadcaster.Invalidation invalidation) {
+        if (invalidation.prefix()) {
+            beginLocalWriteAll();
+            localCache.asMap().keySet().removeIf(k -> k.startsWith(invalidation.key()));
+            unpinPrefix(invalidation.key());
+        } else {
+            beginLocalWrite(invalidation.key());
+            localCache.invalidate(invalidation.key());
+            unpin(invalidation.key());
+        }
+    }
+    
+    /**
+     * 用Redis读到的值填充L1，期间有写入或失效时撤回，过期时间不超过Redis中的剩余时间
+     */
+    private void fillNearCache(String cacheKey, Object value, int weight, Duration ttl, long version) {
+        if (!nearCacheEnabled || ttl.isZero()) {
+            return;
+        }
+        CacheEntry entry = new CacheEntry(value, minDuration(ttl, nearCacheMaxTtl), weight);
+        localCache.put(cacheKey, entry);
+        if (writeVersions.get(versionStripe(cacheKey)) != version) {
+            localCache.asMap().remove(cacheKey, entry);
+        }
+    }
+    
+    /**
+     * PTTL结果转为L1过期时间：未设置过期时为L1上限，键已不存在时为0
+     */
+    private Duration remainingTtl(Object pttl) {
+        if (pttl instanceof Long millis) {
+            if (millis > 0) {
+                return Duration.ofMillis(millis);
+            }
+            if (millis == -2) {
+                return Duration.ZERO;
+            }
+        }
+        return nearCacheMaxTtl;
+    }
+    
+    private void pin(String cacheKey, CacheEntry entry, long version) {
+        pinnedCache.put(cacheKey, entry);
+        if (writeVersions.get(versionStripe(cacheKey)) != version) {
+            pinnedCache.asMap().remove(cacheKey, entry);
+        }
+    }
+    
+    /**
+     * 本地写入或失效前调用：须在Redis写入之后、修改L1之前递增版本，并在修改L1之后清除固定副本。
+     * 这样并发的读取要么在校验时发现版本变化，要么其填充的旧值被随后的L1修改覆盖
+     */
+    private void beginLocalWrite(String cacheKey) {
+        writeVersions.incrementAndGet(versionStripe(cacheKey));
+    }
+    
+    private void beginLocalWriteAll() {
+        for (int i = 0; i < WRITE_VERSION_STRIPES; i++) {
+            writeVersions.incrementAndGet(i);
+        }
+    }
+    
+    private void unpin(String cacheKey) {
+        pinnedCache.invalidate(cacheKey);
+    }
+    
+    private void unpinPrefix(String prefix) {
+        pinnedCache.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+    }
+    
+    private static int versionStripe(String cacheKey) {
+        return (cacheKey.hashCode() & Integer.MAX_VALUE) % WRITE_VERSION_STRIPES;
+    }
+    
+    private byte[] serializeValue(String cacheKey, Object value) {
+        byte[] rawValue = codecRegistry.encode(
+                CacheGenerationService.logicalKey(cacheKey.substring(CACHE_PREFIX.length())), value);
+        cacheMetrics.recordValueSize(cacheKey, rawValue.length);
+        return rawValue;
+    }
+    
+    private Object deserializeValue(byte[] rawValue) {
+        return codecRegistry.decode(rawValue);
+    }
+    
+    private int estimateWeight(String cacheKey, Object value) {
+        try {
+            return serializeValue(cacheKey, value).length;
+        } catch (Exception e) {
+            return DEFAULT_ENTRY_WEIGHT;
+        }
+    }
+    
+    private static byte[] rawKey(String cacheKey) {
+        return cacheKey.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static Duration minDuration(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+    
     private String buildCacheKey(String key) {
-        return CACHE_PREFIX + key;
+        return CACHE_PREFIX + generations.versionedKey(key);
+    }
+    
+    /**
+     * 锁键不带代数，避免持有锁期间代数变化导致无法释放
+     */
+    private static String buildLockKey(String lockKey) {
+        return CACHE_PREFIX + "lock:" + lockKey;
     }
 }
@@ -0,0 +1,35 @@
+package com.blog.platform.common.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 缓存统计端点：/actuator/caches-stats（通过management.endpoints.web.path-mapping映射）
+ * 按命名空间展示命中率、回源耗时、锁竞争、刷新、淘汰和缓存值大小
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+    
+    private final CacheMetrics cacheMetrics;
+    
+    private final CacheService cacheService;
+    
+    public CacheStatsEndpoint(CacheMetrics cacheMetrics, CacheService cacheService) {
+        this.cacheMetrics = cacheMetrics;
+        this.cacheService = cacheService;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> cacheStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("redisAvailable", cacheService.isRedisAvailable());
+        result.put("nearCache", cacheService.getNearCacheStats());
+        result.put("namespaces", cacheMetrics.getStats());
+        return result;
+    }
+}
@@ -0,0 +1,26 @@
+package com.blog.platform.common.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 缓存值编解码器
+ * 编码结果前由{@link CacheCodecRegistry}写入一字节的格式标识，读取时按标识选择解码器，
+ * 因此新旧编码可以在滚动升级期间共存
+ */
+public interface CacheValueCodec {
+    
+    /**
+     * 编解码器名称，用于配置选择，例如 smile
+     */
+    String getName();
+    
+    /**
+     * 格式标识，取值范围 1~{@value CacheCodecRegistry#MAX_FORMAT_ID}，一经使用不可再分配给其他格式
+     */
+    byte getFormatId();
+    
+    void encode(Object value, OutputStream out) throws IOException;
+    
+    Object decode(byte[] data, int offset, int length) throws IOException;
+}
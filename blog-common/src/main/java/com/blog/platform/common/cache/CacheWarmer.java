@@ -0,0 +1,42 @@
+package com.blog.platform.common.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存预热器
+ * 各服务注册为Spring Bean，由CacheWarmupService在启动时统一调度：先选出访问最频繁的数据对应的缓存键，
+ * 再按批次回源加载并写入缓存
+ */
+public interface CacheWarmer {
+
+    /**
+     * 预热器名称，用于日志
+     */
+    String getName();
+
+    /**
+     * 按热度降序返回需要预热的缓存键（不含全局前缀）
+     *
+     * @param limit 最多返回的键数量
+     */
+    List<String> selectKeys(int limit);
+
+    /**
+     * 批量加载一批缓存键对应的数据，结果中缺少的键视为数据不存在
+     */
+    Map<String, ?> load(List<String> keys);
+
+    /**
+     * 缓存过期时间，应与业务读取路径写入缓存时使用的过期时间一致
+     */
+    Duration getExpireTime();
+
+    /**
+     * 是否以RefreshableValue形式写入，供CacheProtectionService.getWithAsyncRefresh读取的键需要返回true
+     */
+    default boolean isRefreshable() {
+        return false;
+    }
+}
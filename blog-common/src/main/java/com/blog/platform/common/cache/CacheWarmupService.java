@@ -2,129 +2,196 @@ package com.blog.platform.common.cache;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 缓存预热服务
- * 在应用启动时预加载热点数据
+ * 启动时调度各服务注册的CacheWarmer，按热度选出缓存键后分批并行回源加载，只加载缓存中缺失的键，
+ * 写入使用管道批量完成。预热受并发数和总耗时预算约束，超时未开始的批次直接跳过。
+ * ApplicationRunner执行完成后Spring Boot才会发布ReadinessState.ACCEPTING_TRAFFIC，
+ * 因此实例在预热完成或超时之前不会被判定为就绪
  */
 @Service
 public class CacheWarmupService implements ApplicationRunner {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(CacheWarmupService.class);
-    
+
+    private static final int BATCH_TIMED_OUT = -1;
+
+    private static final int BATCH_FAILED = -2;
+
     private final CacheService cacheService;
-    private final Executor warmupExecutor;
-    
-    public CacheWarmupService(CacheService cacheService) {
+    private final ObjectProvider<CacheWarmer> warmers;
+    private final boolean enabled;
+    private final int limit;
+    private final int batchSize;
+    private final int concurrency;
+    private final long timeoutMillis;
+
+    /**
+     * 预热结果：写入的键数量、跳过或失败的批次数量、是否超时
+     */
+    public record WarmupResult(int warmedKeys, int skippedBatches, boolean timedOut) {
+    }
+
+    public CacheWarmupService(CacheService cacheService,
+                              ObjectProvider<CacheWarmer> warmers,
+                              @Value("${cache.warmup.enabled:true}") boolean enabled,
+                              @Value("${cache.warmup.limit:200}") int limit,
+                              @Value("${cache.warmup.batch-size:50}") int batchSize,
+                              @Value("${cache.warmup.concurrency:4}") int concurrency,
+                              @Value("${cache.warmup.timeout-ms:30000}") long timeoutMillis) {
         this.cacheService = cacheService;
-        this.warmupExecutor = Executors.newFixedThreadPool(3);
+        this.warmers = warmers;
+        this.enabled = enabled;
+        this.limit = limit;
+        this.batchSize = Math.max(batchSize, 1);
+        this.concurrency = Math.max(concurrency, 1);
+        this.timeoutMillis = timeoutMillis;
     }
-    
+
     @Override
-    public void run(ApplicationArguments args) throws Exception {
-        logger.info("开始缓存预热...");
-        
-        CompletableFuture<Void> warmupFuture = CompletableFuture.allOf(
-            warmupHotArticles(),
-            warmupPopularUsers(),
-            warmupSystemConfig()
-        );
-        
-        warmupFuture.whenComplete((result, throwable) -> {
-            if (throwable != null) {
-                logger.error("缓存预热失败", throwable);
-            } else {
-                logger.info("缓存预热完成");
-            }
-        });
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            logger.info("缓存预热已禁用");
+            return;
+        }
+        warmup();
     }
-    
+
     /**
-     * 预热热门文章
+     * 执行一次预热，阻塞直到全部批次完成或超出时间预算
      */
-    private CompletableFuture<Void> warmupHotArticles() {
-        return CompletableFuture.runAsync(() -> {
+    public WarmupResult warmup() {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMillis;
+        List<Callable<Integer>> batches = new ArrayList<>();
+
+        for (CacheWarmer warmer : warmers.orderedStream().toList()) {
+            if (System.currentTimeMillis() >= deadline) {
+                logger.warn("缓存预热超时，跳过预热器: {}", warmer.getName());
+                continue;
+            }
             try {
-                logger.info("预热热门文章缓存...");
-                
-                // 模拟预热热门文章数据
-                // 在实际实现中，这里会从数据库查询热门文章并缓存
-                for (int i = 1; i <= 10; i++) {
-                    String articleKey = "hot_article:" + i;
-                    String articleData = "热门文章数据 " + i;
-                    cacheService.set(articleKey, articleData, Duration.ofHours(2));
+                List<String> keys = warmer.selectKeys(limit);
+                for (int from = 0; from < keys.size(); from += batchSize) {
+                    List<String> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+                    batches.add(() -> warmBatch(warmer, batch, deadline));
                 }
-                
-                logger.info("热门文章缓存预热完成");
+                logger.info("缓存预热器选出热点数据: warmer={}, keys={}", warmer.getName(), keys.size());
             } catch (Exception e) {
-                logger.error("热门文章缓存预热失败", e);
+                logger.error("缓存预热器选取热点数据失败: {}", warmer.getName(), e);
             }
-        }, warmupExecutor);
-    }
-    
-    /**
-     * 预热热门用户
-     */
-    private CompletableFuture<Void> warmupPopularUsers() {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                logger.info("预热热门用户缓存...");
-                
-                // 模拟预热热门用户数据
-                // 在实际实现中，这里会从数据库查询热门用户并缓存
-                for (int i = 1; i <= 5; i++) {
-                    String userKey = "popular_user:" + i;
-                    String userData = "热门用户数据 " + i;
-                    cacheService.set(userKey, userData, Duration.ofHours(1));
+        }
+
+        if (batches.isEmpty()) {
+            return new WarmupResult(0, 0, false);
+        }
+
+        int warmed = 0;
+        int skipped = 0;
+        boolean timedOut = false;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, batches.size()),
+                Thread.ofPlatform().name("cache-warmup-", 0).daemon(true).factory());
+        try {
+            long remaining = Math.max(deadline - System.currentTimeMillis(), 1);
+            for (Future<Integer> future : executor.invokeAll(batches, remaining, TimeUnit.MILLISECONDS)) {
+                if (future.isCancelled()) {
+                    skipped++;
+                    timedOut = true;
+                    continue;
+                }
+                try {
+                    int count = future.get();
+                    if (count >= 0) {
+                        warmed += count;
+                    } else {
+                        skipped++;
+                        timedOut |= count == BATCH_TIMED_OUT;
+                    }
+                } catch (Exception e) {
+                    skipped++;
                 }
-                
-                logger.info("热门用户缓存预热完成");
-            } catch (Exception e) {
-                logger.error("热门用户缓存预热失败", e);
             }
-        }, warmupExecutor);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timedOut = true;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        WarmupResult result = new WarmupResult(warmed, skipped, timedOut);
+        if (timedOut) {
+            logger.warn("缓存预热超时: warmedKeys={}, skippedBatches={}, elapsed={}ms",
+                    warmed, skipped, System.currentTimeMillis() - start);
+        } else {
+            logger.info("缓存预热完成: warmedKeys={}, skippedBatches={}, elapsed={}ms",
+                    warmed, skipped, System.currentTimeMillis() - start);
+        }
+        return result;
     }
-    
+
     /**
-     * 预热系统配置
+     * 预热一个批次，返回写入的键数量；超出时间预算未开始时返回BATCH_TIMED_OUT，加载失败时返回BATCH_FAILED
      */
-    private CompletableFuture<Void> warmupSystemConfig() {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                logger.info("预热系统配置缓存...");
-                
-                // 预热系统配置数据
-                cacheService.set("system:config:max_article_length", 10000, Duration.ofHours(24));
-                cacheService.set("system:config:max_comment_length", 500, Duration.ofHours(24));
-                cacheService.set("system:config:rate_limit_per_minute", 60, Duration.ofHours(24));
-                
-                logger.info("系统配置缓存预热完成");
-            } catch (Exception e) {
-                logger.error("系统配置缓存预热失败", e);
+    private int warmBatch(CacheWarmer warmer, List<String> keys, long deadline) {
+        if (System.currentTimeMillis() >= deadline) {
+            return BATCH_TIMED_OUT;
+        }
+        try {
+            Map<String, Object> cached = cacheService.getAll(keys, Object.class);
+            List<String> misses = keys.stream().filter(key -> !cached.containsKey(key)).toList();
+            if (misses.isEmpty()) {
+                return 0;
             }
-        }, warmupExecutor);
+
+            long loadStart = System.currentTimeMillis();
+            Map<String, ?> loaded = warmer.load(misses);
+            if (loaded == null || loaded.isEmpty()) {
+                return 0;
+            }
+
+            Duration expireTime = warmer.getExpireTime();
+            Map<String, Object> values = new LinkedHashMap<>();
+            if (warmer.isRefreshable()) {
+                // 批量加载的耗时均摊到每个键，作为XFetch提前刷新的计算耗时
+                long computeMillis = Math.max((System.currentTimeMillis() - loadStart) / loaded.size(), 1);
+                long expireAt = System.currentTimeMillis() + expireTime.toMillis();
+                loaded.forEach((key, value) -> values.put(key, new RefreshableValue(value, computeMillis, expireAt)));
+            } else {
+                values.putAll(loaded);
+            }
+            cacheService.setAll(values, expireTime);
+            return values.size();
+        } catch (Exception e) {
+            logger.error("缓存预热批次失败: warmer={}, keys={}", warmer.getName(), keys.size(), e);
+            return BATCH_FAILED;
+        }
     }
-    
+
     /**
      * 手动触发缓存预热
      */
-    public void manualWarmup() {
+    public WarmupResult manualWarmup() {
         logger.info("手动触发缓存预热...");
-        try {
-            run(null);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return warmup();
     }
-    
+
     /**
      * 清理所有缓存
      */
@@ -133,4 +200,4 @@ public class CacheWarmupService implements ApplicationRunner {
         cacheService.deleteByPattern("*");
         logger.info("缓存清理完成");
     }
-}
\ No newline at end of file
+}
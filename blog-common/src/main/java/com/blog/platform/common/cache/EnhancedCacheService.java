@@ -6,9 +6,13 @@ import com.github.benmanes.caffeine.cache.Expiry;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -18,6 +22,10 @@ public class EnhancedCacheService {
     private static final Logger logger = LoggerFactory.getLogger(EnhancedCacheService.class);
     
     private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheInvalidationBroadcaster invalidationBroadcaster;
+    private final CacheCodecRegistry codecRegistry;
+    private final CacheMetrics cacheMetrics;
+    private final CacheKeyCleanupService cleanupService;
     private final AtomicBoolean redisAvailable = new AtomicBoolean(false);
     
     private static final String CACHE_PREFIX = "blog:cache:";
@@ -42,8 +50,16 @@ public class EnhancedCacheService {
         }
     }
     
-    public EnhancedCacheService(RedisTemplate<String, Object> redisTemplate) {
+    public EnhancedCacheService(RedisTemplate<String, Object> redisTemplate,
+                                CacheInvalidationBroadcaster invalidationBroadcaster,
+                                CacheCodecRegistry codecRegistry,
+                                CacheMetrics cacheMetrics,
+                                CacheKeyCleanupService cleanupService) {
         this.redisTemplate = redisTemplate;
+        this.invalidationBroadcaster = invalidationBroadcaster;
+        this.codecRegistry = codecRegistry;
+        this.cacheMetrics = cacheMetrics;
+        this.cleanupService = cleanupService;
         
         this.localCache = Caffeine.newBuilder()
             .maximumSize(10000)
@@ -65,6 +81,14 @@ public class EnhancedCacheService {
             })
             .recordStats()
             .build();
+        
+        invalidationBroadcaster.subscribe(invalidation -> {
+            if (invalidation.prefix()) {
+                localCache.asMap().keySet().removeIf(k -> k.startsWith(invalidation.key()));
+            } else {
+                localCache.invalidate(invalidation.key());
+            }
+        });
     }
     
     @PostConstruct
@@ -108,7 +132,11 @@ public class EnhancedCacheService {
         
         if (redisAvailable.get()) {
             try {
-                redisTemplate.opsForValue().set(cacheKey, value, expireTime);
+                byte[] rawValue = codecRegistry.encode(key, value);
+                cacheMetrics.recordValueSize(key, rawValue.length);
+                redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                        .set(rawKey(cacheKey), rawValue, Expiration.from(expireTime), SetOption.upsert()));
+                invalidationBroadcaster.publishKey(cacheKey);
             } catch (Exception e) {
                 logger.warn("Redis写入失败，仅使用本地缓存: {}", e.getMessage());
             }
@@ -122,18 +150,22 @@ public class EnhancedCacheService {
         CacheEntry localEntry = localCache.getIfPresent(cacheKey);
         if (localEntry != null && !localEntry.isExpired()) {
             logger.debug("Cache hit (local): {}", key);
+            cacheMetrics.recordHit(key);
             return (T) localEntry.value;
         }
         
         if (redisAvailable.get()) {
             try {
-                Object value = redisTemplate.opsForValue().get(cacheKey);
+                byte[] rawValue = redisTemplate.execute(
+                        (RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey(cacheKey)));
+                Object value = codecRegistry.decode(rawValue);
                 if (value != null) {
                     Long ttl = redisTemplate.getExpire(cacheKey, java.util.concurrent.TimeUnit.SECONDS);
                     if (ttl != null && ttl > 0) {
                         localCache.put(cacheKey, new CacheEntry(value, Duration.ofSeconds(ttl)));
                     }
                     logger.debug("Cache hit (redis): {}", key);
+                    cacheMetrics.recordHit(key);
                     return (T) value;
                 }
             } catch (Exception e) {
@@ -142,6 +174,7 @@ public class EnhancedCacheService {
         }
         
         logger.debug("Cache miss: {}", key);
+        cacheMetrics.recordMiss(key);
         return null;
     }
     
@@ -151,7 +184,14 @@ public class EnhancedCacheService {
             return value;
         }
         
-        value = loader.load();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            value = loader.load();
+            success = true;
+        } finally {
+            cacheMetrics.recordLoad(key, System.nanoTime() - start, success);
+        }
         if (value != null) {
             set(key, value, ttl);
         }
@@ -172,6 +212,7 @@ public class EnhancedCacheService {
         if (redisAvailable.get()) {
             try {
                 redisTemplate.delete(cacheKey);
+                invalidationBroadcaster.publishKey(cacheKey);
             } catch (Exception e) {
                 logger.warn("Redis删除失败: {}", e.getMessage());
             }
@@ -181,14 +222,14 @@ public class EnhancedCacheService {
     public void deleteByPattern(String pattern) {
         String cachePattern = buildCacheKey(pattern);
         
-        localCache.asMap().keySet().removeIf(k -> k.startsWith(cachePattern.replace("*", "")));
+        String localPrefix = cachePattern.replace("*", "");
+        
+        localCache.asMap().keySet().removeIf(k -> k.startsWith(localPrefix));
         
         if (redisAvailable.get()) {
             try {
-                var keys = redisTemplate.keys(cachePattern);
-                if (keys != null && !keys.isEmpty()) {
-                    redisTemplate.delete(keys);
-                }
+                cleanupService.schedule(cachePattern);
+                invalidationBroadcaster.publishPrefix(localPrefix);
             } catch (Exception e) {
                 logger.warn("Redis批量删除失败: {}", e.getMessage());
             }
@@ -285,6 +326,10 @@ public class EnhancedCacheService {
         }
     }
     
+    private static byte[] rawKey(String cacheKey) {
+        return cacheKey.getBytes(StandardCharsets.UTF_8);
+    }
+    
     private String buildCacheKey(String key) {
         return CACHE_PREFIX + key;
     }
@@ -0,0 +1,282 @@
+package com.blog.platform.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 存在性过滤服务
+ * 为每类聚合维护一个本地布隆过滤器，过滤器判定不存在的ID直接返回，不访问缓存和数据库，
+ * 避免随机ID扫描把空值标记写满Redis。
+ *
+ * 过滤器在启动时从{@link ExistenceFilterSource}全量加载，之后通过创建流程以及Redis Pub/Sub增量同步；
+ * 布隆过滤器不支持删除，定期全量重建以清理已删除的ID。
+ * 加载完成前过滤器视为"可能存在"，不会拦截任何请求。
+ *
+ * Pub/Sub消息可能丢失，本地判定不存在并不可靠：新建的ID同时写入Redis中的近期ID集合，
+ * 本地判定不存在时再查一次该集合，命中则补入本地过滤器，Redis不可用时视为可能存在。
+ * 集合保留两个重建周期，保证每个实例在下次全量重建前都能查到期间新建的ID。
+ */
+@Service
+public class ExistenceFilterService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExistenceFilterService.class);
+    
+    /**
+     * 近期新建ID的有序集合，score为写入时间；不使用缓存前缀，避免被缓存清理任务匹配
+     */
+    static final String RECENT_KEY_PREFIX = "blog:cache-meta:existence:";
+    
+    private final ObjectProvider<ExistenceFilterSource> sources;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Map<String, FilterHolder> filters = new ConcurrentHashMap<>();
+    
+    /**
+     * 写入近期ID集合失败、等待重试的ID
+     */
+    private final Queue<PendingId> unrecorded = new ConcurrentLinkedQueue<>();
+    
+    @Value("${cache.existence-filter.enabled:true}")
+    private boolean enabled = true;
+    
+    @Value("${cache.existence-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+    
+    @Value("${cache.existence-filter.rebuild-interval-ms:21600000}")
+    private long rebuildIntervalMillis = 21600000;
+    
+    private record PendingId(String filterName, String id) {
+    }
+    
+    private static final class FilterHolder {
+        final ExistenceFilterSource source;
+        volatile ScalableBloomFilter active;
+        volatile ScalableBloomFilter rebuilding;
+        volatile boolean ready;
+        
+        FilterHolder(ExistenceFilterSource source) {
+            this.source = source;
+        }
+        
+        void put(String id) {
+            ScalableBloomFilter current = active;
+            if (current != null) {
+                current.put(id);
+            }
+            ScalableBloomFilter next = rebuilding;
+            if (next != null) {
+                next.put(id);
+            }
+        }
+    }
+    
+    public ExistenceFilterService(ObjectProvider<ExistenceFilterSource> sources,
+                                  CacheInvalidationBroadcaster broadcaster,
+                                  RedisTemplate<String, Object> redisTemplate) {
+        this.sources = sources;
+        this.broadcaster = broadcaster;
+        this.redisTemplate = redisTemplate;
+        broadcaster.subscribeExistence(this::putLocal);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("存在性过滤器已禁用");
+            return;
+        }
+        sources.orderedStream().forEach(source -> filters.putIfAbsent(source.getName(), new FilterHolder(source)));
+        if (!filters.isEmpty()) {
+            Thread.ofVirtual().start(this::rebuildAll);
+        }
+    }
+    
+    /**
+     * 定期全量重建，清理已删除聚合残留的位
+     */
+    @Scheduled(fixedDelayString = "${cache.existence-filter.rebuild-interval-ms:21600000}",
+               initialDelayString = "${cache.existence-filter.rebuild-interval-ms:21600000}")
+    public void rebuildAll() {
+        for (FilterHolder holder : filters.values()) {
+            rebuild(holder);
+        }
+    }
+    
+    /**
+     * 同一过滤器的重建串行执行，避免启动加载与定时重建交错时较早完成的一次覆盖掉期间新增的ID
+     */
+    private void rebuild(FilterHolder holder) {
+        synchronized (holder) {
+            doRebuild(holder);
+        }
+    }
+    
+    private void doRebuild(FilterHolder holder) {
+        String name = holder.source.getName();
+        long start = System.currentTimeMillis();
+        ScalableBloomFilter next = new ScalableBloomFilter(holder.source.getExpectedInsertions(), falsePositiveRate);
+        holder.rebuilding = next;
+        try {
+            holder.source.loadIds(next::put);
+            holder.active = next;
+            holder.ready = true;
+            trimRecent(name, start - 2 * rebuildIntervalMillis);
+            logger.info("存在性过滤器加载完成: name={}, size={}, bits={}, elapsed={}ms",
+                    name, next.approximateSize(), next.bitSize(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("存在性过滤器加载失败，保留原过滤器: name={}", name, e);
+        } finally {
+            holder.rebuilding = null;
+        }
+    }
+    
+    /**
+     * 判断ID是否可能存在；过滤器未就绪或未注册时返回true。
+     * 本地过滤器判定不存在时再确认近期新建ID集合，弥补丢失的同步消息
+     */
+    public boolean mightContain(String filterName, String id) {
+        if (!enabled || id == null) {
+            return true;
+        }
+        FilterHolder holder = filters.get(filterName);
+        if (holder == null || !holder.ready) {
+            return true;
+        }
+        if (holder.active.mightContain(id)) {
+            return true;
+        }
+        if (isRecent(filterName, id)) {
+            logger.debug("存在性过滤器未收到同步消息，从近期ID集合补入: name={}, id={}", filterName, id);
+            holder.put(id);
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * 根据缓存键判断对应的聚合是否可能存在，未被任何过滤器保护的键返回true
+     */
+    public boolean mightContainKey(String cacheKey) {
+        if (!enabled || filters.isEmpty()) {
+            return true;
+        }
+        for (FilterHolder holder : filters.values()) {
+            for (String prefix : holder.source.getKeyPrefixes()) {
+                if (cacheKey.startsWith(prefix)) {
+                    return mightContain(holder.source.getName(), cacheKey.substring(prefix.length()));
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 记录新创建的聚合ID，写入近期ID集合并通知其他实例
+     */
+    public void put(String filterName, String id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        putLocal(filterName, id);
+        if (!recordRecent(filterName, id)) {
+            unrecorded.add(new PendingId(filterName, id));
+        }
+        broadcaster.publishExistence(filterName, id);
+    }
+    
+    /**
+     * 重试写入失败的近期ID；Redis不可用期间其他实例查询集合失败，同样视为可能存在
+     */
+    @Scheduled(fixedDelayString = "${cache.existence-filter.retry-interval-ms:5000}")
+    public void retryUnrecorded() {
+        int pending = unrecorded.size();
+        for (int i = 0; i < pending; i++) {
+            PendingId next = unrecorded.poll();
+            if (next == null) {
+                return;
+            }
+            if (!recordRecent(next.filterName(), next.id())) {
+                unrecorded.add(next);
+                return;
+            }
+        }
+    }
+    
+    private boolean recordRecent(String filterName, String id) {
+        try {
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.zSetCommands()
+                    .zAdd(recentKey(filterName), System.currentTimeMillis(), bytes(id)));
+            return true;
+        } catch (Exception e) {
+            logger.warn("记录近期新建ID失败，稍后重试: name={}, id={}, error={}", filterName, id, e.getMessage());
+            return false;
+        }
+    }
+    
+    private boolean isRecent(String filterName, String id) {
+        try {
+            Double score = redisTemplate.execute((RedisCallback<Double>) connection -> connection.zSetCommands()
+                    .zScore(recentKey(filterName), bytes(id)));
+            return score != null;
+        } catch (Exception e) {
+            logger.debug("查询近期新建ID失败，视为可能存在: name={}, error={}", filterName, e.getMessage());
+            return true;
+        }
+    }
+    
+    /**
+     * 删除早于所有实例最近一次全量加载的ID
+     */
+    private void trimRecent(String filterName, long before) {
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands()
+                    .zRemRangeByScore(recentKey(filterName), Double.NEGATIVE_INFINITY, before));
+        } catch (Exception e) {
+            logger.debug("清理近期新建ID失败: name={}, error={}", filterName, e.getMessage());
+        }
+    }
+    
+    private static byte[] recentKey(String filterName) {
+        return bytes(RECENT_KEY_PREFIX + filterName);
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private void putLocal(String filterName, String id) {
+        FilterHolder holder = filters.get(filterName);
+        if (holder != null) {
+            holder.put(id);
+        }
+    }
+    
+    public List<FilterStats> getStats() {
+        return filters.values().stream()
+                .map(holder -> {
+                    ScalableBloomFilter current = holder.active;
+                    return new FilterStats(holder.source.getName(), holder.ready,
+                            current != null ? current.approximateSize() : 0,
+                            current != null ? current.bitSize() : 0);
+                })
+                .toList();
+    }
+    
+    public record FilterStats(String name, boolean ready, long size, long bits) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.blog.platform.common.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 存在性过滤器数据源
+ * 各服务为自己的聚合实现该接口，提供全量ID用于构建布隆过滤器
+ */
+public interface ExistenceFilterSource {
+    
+    /**
+     * 过滤器名称，例如 article、user、comment
+     */
+    String getName();
+    
+    /**
+     * 受该过滤器保护的缓存键前缀，键的剩余部分即聚合ID，例如 article:detail:
+     * 供CacheProtectionService按缓存键拦截不存在的ID；只通过mightContain按名称查询的过滤器无需声明
+     */
+    default List<String> getKeyPrefixes() {
+        return List.of();
+    }
+    
+    /**
+     * 预计元素数量，用作初始容量
+     */
+    default int getExpectedInsertions() {
+        return 100_000;
+    }
+    
+    /**
+     * 遍历所有现存的聚合ID
+     */
+    void loadIds(Consumer<String> sink);
+}
@@ -0,0 +1,223 @@
+package com.blog.platform.common.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 热点Key探测
+ * 对读请求按比例采样，用Count-Min Sketch估算每个键的访问次数，访问次数较高的候选键进入Top-K表，
+ * 超过阈值即判定为热点并通知其他实例。计数每个窗口减半，停止访问的键会逐渐冷却。
+ */
+@Component
+public class HotKeyDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeyDetector.class);
+
+    private static final int SKETCH_DEPTH = 4;
+
+    private static final int SKETCH_WIDTH = 4096;
+
+    private final CacheInvalidationBroadcaster broadcaster;
+
+    private final boolean enabled;
+
+    private final double sampleRate;
+
+    private final long threshold;
+
+    private final long windowMillis;
+
+    private final int topK;
+
+    private final Duration pinTtl;
+
+    private final AtomicLongArray sketch = new AtomicLongArray(SKETCH_DEPTH * SKETCH_WIDTH);
+
+    /**
+     * 候选热点键及其估算访问次数（已按采样率放大）
+     */
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+
+    /**
+     * 其他实例通知的热点键及其过期时间
+     */
+    private final Map<String, Long> remoteHotKeys = new ConcurrentHashMap<>();
+
+    private final AtomicLong windowStart = new AtomicLong(System.currentTimeMillis());
+
+    private final AtomicLong samples = new AtomicLong();
+
+    private final AtomicLong promotions = new AtomicLong();
+
+    /**
+     * 热点键信息，local为false表示由其他实例探测并通知
+     */
+    public record HotKey(String key, long estimatedCount, boolean local) {
+    }
+
+    public HotKeyDetector(CacheInvalidationBroadcaster broadcaster,
+                          @Value("${cache.hotkey.enabled:true}") boolean enabled,
+                          @Value("${cache.hotkey.sample-rate:0.1}") double sampleRate,
+                          @Value("${cache.hotkey.threshold:1000}") long threshold,
+                          @Value("${cache.hotkey.window-ms:10000}") long windowMillis,
+                          @Value("${cache.hotkey.top-k:32}") int topK,
+                          @Value("${cache.hotkey.pin-ttl-seconds:5}") long pinTtlSeconds) {
+        this.broadcaster = broadcaster;
+        this.enabled = enabled;
+        this.sampleRate = Math.min(1.0, Math.max(sampleRate, 0.0001));
+        this.threshold = threshold;
+        this.windowMillis = windowMillis;
+        this.topK = topK;
+        this.pinTtl = Duration.ofSeconds(pinTtlSeconds);
+        broadcaster.subscribeHotKey(this::onRemoteHotKey);
+    }
+
+    @Autowired(required = false)
+    public void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("cache.hotkey.count", this, detector -> detector.getHotKeys().size())
+                .description("Number of keys currently detected as hot")
+                .register(registry);
+        FunctionCounter.builder("cache.hotkey.samples", samples, AtomicLong::get)
+                .description("Number of sampled cache reads")
+                .register(registry);
+        FunctionCounter.builder("cache.hotkey.promotions", promotions, AtomicLong::get)
+                .description("Number of keys promoted to hot on this instance")
+                .register(registry);
+    }
+
+    /**
+     * 记录一次读取（按采样率），返回该键当前是否为热点
+     */
+    public boolean record(String key) {
+        if (!enabled) {
+            return false;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return isHot(key);
+        }
+        samples.incrementAndGet();
+        decayIfWindowElapsed();
+
+        long estimate = (long) (increment(ScalableBloomFilter.hash(key)) / sampleRate);
+        if (estimate >= threshold / 2) {
+            offerCandidate(key, estimate);
+        }
+        return isHot(key);
+    }
+
+    public boolean isHot(String key) {
+        if (!enabled) {
+            return false;
+        }
+        Long count = candidates.get(key);
+        if (count != null && count >= threshold) {
+            return true;
+        }
+        Long expireAt = remoteHotKeys.get(key);
+        if (expireAt == null) {
+            return false;
+        }
+        if (expireAt < System.currentTimeMillis()) {
+            remoteHotKeys.remove(key, expireAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 当前热点键，按估算访问次数降序
+     */
+    public List<HotKey> getHotKeys() {
+        List<HotKey> hotKeys = new ArrayList<>();
+        candidates.forEach((key, count) -> {
+            if (count >= threshold) {
+                hotKeys.add(new HotKey(key, count, true));
+            }
+        });
+        long now = System.currentTimeMillis();
+        remoteHotKeys.forEach((key, expireAt) -> {
+            if (expireAt >= now && !candidates.containsKey(key)) {
+                hotKeys.add(new HotKey(key, 0, false));
+            }
+        });
+        hotKeys.sort(Comparator.comparingLong(HotKey::estimatedCount).reversed());
+        return hotKeys;
+    }
+
+    /**
+     * 热点键本地副本的存活时间
+     */
+    public Duration getPinTtl() {
+        return pinTtl;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    private long increment(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            int column = ((h1 + row * h2) & Integer.MAX_VALUE) % SKETCH_WIDTH;
+            min = Math.min(min, sketch.incrementAndGet(row * SKETCH_WIDTH + column));
+        }
+        return min;
+    }
+
+    private synchronized void offerCandidate(String key, long estimate) {
+        Long previous = candidates.put(key, estimate);
+        if ((previous == null || previous < threshold) && estimate >= threshold) {
+            promotions.incrementAndGet();
+            logger.info("检测到热点Key: key={}, estimatedCount={}", key, estimate);
+            broadcaster.publishHotKey(key);
+        }
+        if (candidates.size() > topK) {
+            candidates.entrySet().stream()
+                    .min(Map.Entry.comparingByValue())
+                    .ifPresent(coldest -> candidates.remove(coldest.getKey()));
+        }
+    }
+
+    private void decayIfWindowElapsed() {
+        long start = windowStart.get();
+        long now = System.currentTimeMillis();
+        if (now - start < windowMillis || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        for (int i = 0; i < sketch.length(); i++) {
+            sketch.updateAndGet(i, count -> count >>> 1);
+        }
+        synchronized (this) {
+            candidates.replaceAll((key, count) -> count >>> 1);
+            candidates.values().removeIf(count -> count < threshold / 2);
+        }
+    }
+
+    private void onRemoteHotKey(String key) {
+        if (enabled) {
+            remoteHotKeys.put(key, System.currentTimeMillis() + windowMillis * 2);
+        }
+    }
+}
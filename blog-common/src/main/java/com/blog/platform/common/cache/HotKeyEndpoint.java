@@ -0,0 +1,36 @@
+package com.blog.platform.common.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 热点Key监控端点：/actuator/hotkeys
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+    
+    private final HotKeyDetector hotKeyDetector;
+    
+    private final CacheService cacheService;
+    
+    public HotKeyEndpoint(HotKeyDetector hotKeyDetector, CacheService cacheService) {
+        this.hotKeyDetector = hotKeyDetector;
+        this.cacheService = cacheService;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threshold", hotKeyDetector.getThreshold());
+        result.put("windowMillis", hotKeyDetector.getWindowMillis());
+        result.put("pinTtlSeconds", hotKeyDetector.getPinTtl().toSeconds());
+        result.put("pinnedSize", cacheService.getNearCacheStats().pinnedSize());
+        result.put("hotKeys", hotKeyDetector.getHotKeys());
+        return result;
+    }
+}
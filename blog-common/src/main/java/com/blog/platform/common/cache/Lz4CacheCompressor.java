@@ -0,0 +1,95 @@
+package com.blog.platform.common.cache;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 缓存值LZ4压缩
+ * 压缩格式：[格式标识(1字节)][原始长度(4字节)][LZ4块]，原始内容是一份完整的编码结果（可能带有自己的格式标识）。
+ * 压缩收益不足时保留原始内容，小值和不可压缩的值不会付出解压开销
+ */
+public class Lz4CacheCompressor {
+
+    public static final byte FORMAT_ID = 0x01;
+
+    private static final int HEADER_LENGTH = 5;
+
+    /**
+     * 压缩后至少节省的比例，低于该比例时不压缩
+     */
+    private static final double MIN_SAVING_RATIO = 0.1;
+
+    /**
+     * 解压长度上限，防止损坏的长度字段导致分配过大的数组
+     */
+    private static final int MAX_ORIGINAL_LENGTH = 64 * 1024 * 1024;
+
+    private final LZ4Compressor compressor;
+
+    private final LZ4SafeDecompressor decompressor;
+
+    private final int threshold;
+
+    /**
+     * @param threshold 触发压缩的最小字节数，小于等于0时不压缩
+     */
+    public Lz4CacheCompressor(int threshold) {
+        LZ4Factory factory = LZ4Factory.fastestJavaInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.safeDecompressor();
+        this.threshold = threshold;
+    }
+
+    public byte[] compressIfBeneficial(byte[] encoded) {
+        if (threshold <= 0 || encoded.length < threshold) {
+            return encoded;
+        }
+        byte[] compressed = new byte[HEADER_LENGTH + compressor.maxCompressedLength(encoded.length)];
+        int compressedLength = compressor.compress(encoded, 0, encoded.length, compressed, HEADER_LENGTH);
+        int totalLength = HEADER_LENGTH + compressedLength;
+        if (totalLength > encoded.length * (1 - MIN_SAVING_RATIO)) {
+            return encoded;
+        }
+        compressed[0] = FORMAT_ID;
+        writeInt(compressed, 1, encoded.length);
+        byte[] result = new byte[totalLength];
+        System.arraycopy(compressed, 0, result, 0, totalLength);
+        return result;
+    }
+
+    public byte[] decompress(byte[] raw) {
+        if (raw.length < HEADER_LENGTH) {
+            throw new SerializationException("压缩缓存值格式错误: length=" + raw.length);
+        }
+        int originalLength = readInt(raw, 1);
+        if (originalLength < 0 || originalLength > MAX_ORIGINAL_LENGTH) {
+            throw new SerializationException("压缩缓存值长度非法: " + originalLength);
+        }
+        byte[] original = new byte[originalLength];
+        int length = decompressor.decompress(raw, HEADER_LENGTH, raw.length - HEADER_LENGTH, original, 0, originalLength);
+        if (length != originalLength) {
+            throw new SerializationException("压缩缓存值长度不匹配: expected=" + originalLength + ", actual=" + length);
+        }
+        return original;
+    }
+
+    public static boolean isCompressed(byte[] raw) {
+        return raw != null && raw.length > 0 && raw[0] == FORMAT_ID;
+    }
+
+    private static void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] buffer, int offset) {
+        return ((buffer[offset] & 0xFF) << 24)
+                | ((buffer[offset + 1] & 0xFF) << 16)
+                | ((buffer[offset + 2] & 0xFF) << 8)
+                | (buffer[offset + 3] & 0xFF);
+    }
+}
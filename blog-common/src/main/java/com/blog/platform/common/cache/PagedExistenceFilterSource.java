@@ -0,0 +1,60 @@
+package com.blog.platform.common.cache;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 按ID顺序分批扫描的存在性过滤器数据源
+ * 子类只需提供总数和"大于某ID的下一批ID"查询，避免一次性加载全部实体
+ */
+public abstract class PagedExistenceFilterSource implements ExistenceFilterSource {
+    
+    static final int BATCH_SIZE = 5000;
+    
+    private static final int MIN_EXPECTED_INSERTIONS = 10_000;
+    
+    private final String name;
+    
+    protected PagedExistenceFilterSource(String name) {
+        this.name = name;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * 按当前总数的两倍预留容量，为后续新增留出空间
+     */
+    @Override
+    public int getExpectedInsertions() {
+        return (int) Math.min(Math.max(countIds() * 2, MIN_EXPECTED_INSERTIONS), Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public void loadIds(Consumer<String> sink) {
+        String afterId = "";
+        List<String> batch;
+        do {
+            batch = findIdsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            batch.forEach(sink);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1);
+            }
+        } while (batch.size() == BATCH_SIZE);
+    }
+    
+    /**
+     * 现存聚合总数
+     */
+    protected abstract long countIds();
+    
+    /**
+     * 按ID升序返回大于afterId的下一批ID
+     */
+    protected abstract List<String> findIdsAfter(String afterId, Pageable pageable);
+}
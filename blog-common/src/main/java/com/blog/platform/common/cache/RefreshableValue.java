@@ -0,0 +1,41 @@
+package com.blog.platform.common.cache;
+
+/**
+ * 支持提前刷新的缓存值
+ * 保存数据加载耗时与逻辑过期时间，供XFetch概率提前刷新使用
+ */
+public class RefreshableValue {
+    
+    private Object value;
+    
+    /**
+     * 加载数据耗时（毫秒）
+     */
+    private long computeMillis;
+    
+    /**
+     * 过期时间（epoch毫秒）
+     */
+    private long expireAtMillis;
+    
+    public RefreshableValue() {
+    }
+    
+    public RefreshableValue(Object value, long computeMillis, long expireAtMillis) {
+        this.value = value;
+        this.computeMillis = computeMillis;
+        this.expireAtMillis = expireAtMillis;
+    }
+    
+    public Object getValue() {
+        return value;
+    }
+    
+    public long getComputeMillis() {
+        return computeMillis;
+    }
+    
+    public long getExpireAtMillis() {
+        return expireAtMillis;
+    }
+}
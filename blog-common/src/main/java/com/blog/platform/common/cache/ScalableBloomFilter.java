@@ -0,0 +1,164 @@
+package com.blog.platform.common.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 可扩容布隆过滤器（线程安全）
+ * 当前分片写满后追加一个容量翻倍、误判率减半的新分片，总误判率收敛于 falsePositiveRate / (1 - 0.5)
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final double falsePositiveRate;
+
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        stages.add(new Stage(initialCapacity, falsePositiveRate * TIGHTENING_RATIO));
+    }
+
+    public boolean mightContain(String item) {
+        long hash = hash(item);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(String item) {
+        long hash = hash(item);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return;
+            }
+        }
+        currentStage().put(hash);
+    }
+
+    /**
+     * 已写入的元素个数（近似值，不含判重命中的重复写入）
+     */
+    public long approximateSize() {
+        long size = 0;
+        for (Stage stage : stages) {
+            size += stage.count.get();
+        }
+        return size;
+    }
+
+    public long bitSize() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += stage.numBits;
+        }
+        return bits;
+    }
+
+    public int stageCount() {
+        return stages.size();
+    }
+
+    private Stage currentStage() {
+        Stage last = stages.get(stages.size() - 1);
+        if (!last.isFull()) {
+            return last;
+        }
+        synchronized (stages) {
+            last = stages.get(stages.size() - 1);
+            if (last.isFull()) {
+                double stageRate = falsePositiveRate * Math.pow(TIGHTENING_RATIO, stages.size() + 1);
+                long capacity = Math.min((long) last.capacity * GROWTH_FACTOR, Integer.MAX_VALUE / 32);
+                last = new Stage((int) capacity, stageRate);
+                stages.add(last);
+            }
+            return last;
+        }
+    }
+
+    /**
+     * 64位哈希：FNV-1a + MurmurHash3 fmix64
+     */
+    static long hash(String item) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stage {
+        final int capacity;
+        final long numBits;
+        final int numHashes;
+        final AtomicLongArray bits;
+        final AtomicInteger count = new AtomicInteger();
+
+        Stage(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.numBits = Math.max(64, (optimalBits + 63) / 64 * 64);
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+            this.bits = new AtomicLongArray((int) (numBits / 64));
+        }
+
+        boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= numHashes; i++) {
+                long bit = bitIndex(h1 + i * h2);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= numHashes; i++) {
+                long bit = bitIndex(h1 + i * h2);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(index);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(index, current, current | mask));
+            }
+            count.incrementAndGet();
+        }
+
+        private long bitIndex(int combinedHash) {
+            return (combinedHash & Integer.MAX_VALUE) % numBits;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.blog.platform.common.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Smile二进制编码
+ * 与JSON数据模型一致，但数值按二进制存储，重复出现的属性名和字符串值（包括类型信息中的类名）
+ * 以回引用代替，列表类缓存值的体积和解析开销明显小于JSON文本
+ */
+public class SmileCacheValueCodec implements CacheValueCodec {
+    
+    public static final String NAME = "smile";
+    
+    public static final byte FORMAT_ID = 0x02;
+    
+    private final ObjectMapper objectMapper;
+    
+    public SmileCacheValueCodec() {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.objectMapper = new ObjectMapper(smileFactory);
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public byte getFormatId() {
+        return FORMAT_ID;
+    }
+    
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        objectMapper.writeValue(out, value);
+    }
+    
+    @Override
+    public Object decode(byte[] data, int offset, int length) throws IOException {
+        return objectMapper.readValue(data, offset, length, Object.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog.platform.common.repository;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 游标分页结果
+ * 不包含总数和总页数（不执行COUNT查询），通过nextCursor获取下一页
+ */
+public class CursorPage<T> {
+    
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    
+    public CursorPage() {}
+    
+    public CursorPage(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+    
+    /**
+     * 由键集查询的Slice构建结果，游标取自本页最后一条记录
+     */
+    public static <S, T> CursorPage<T> from(Slice<S> slice, Function<S, T> mapper,
+                                           Function<S, KeysetCursor> cursorOf) {
+        List<S> rows = slice.getContent();
+        List<T> content = rows.stream().map(mapper).collect(Collectors.toList());
+        String nextCursor = slice.hasNext() && !rows.isEmpty()
+                ? cursorOf.apply(rows.get(rows.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(content, slice.getSize(), slice.hasNext(), nextCursor);
+    }
+    
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+    
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
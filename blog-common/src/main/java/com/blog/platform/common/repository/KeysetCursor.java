@@ -0,0 +1,91 @@
+package com.blog.platform.common.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * 键集分页游标
+ * 记录上一页最后一条记录的(排序键, ID)，下一页以"排序键之后，或排序键相同且ID之后"为条件，
+ * 直接沿复合索引定位，不使用OFFSET。ID作为排序键相同时的决胜字段，保证顺序稳定。
+ * 对外只暴露不透明的Base64URL令牌，客户端原样回传即可
+ */
+public final class KeysetCursor {
+    
+    private static final char SEPARATOR = '|';
+    
+    private final LocalDateTime sortKey;
+    
+    private final String id;
+    
+    private KeysetCursor(LocalDateTime sortKey, String id) {
+        this.sortKey = Objects.requireNonNull(sortKey, "sortKey");
+        this.id = Objects.requireNonNull(id, "id");
+    }
+    
+    public static KeysetCursor of(LocalDateTime sortKey, Object id) {
+        return new KeysetCursor(sortKey, String.valueOf(id));
+    }
+    
+    /**
+     * 解析游标令牌，空令牌表示第一页并返回null；格式错误时抛出IllegalArgumentException
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == value.length() - 1) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的分页游标", e);
+        }
+    }
+    
+    public String encode() {
+        String value = sortKey.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDateTime getSortKey() {
+        return sortKey;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    /**
+     * 数值主键（如自增ID）的游标
+     */
+    public Long getLongId() {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的分页游标", e);
+        }
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof KeysetCursor that)) return false;
+        return sortKey.equals(that.sortKey) && id.equals(that.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(sortKey, id);
+    }
+    
+    @Override
+    public String toString() {
+        return "KeysetCursor{sortKey=" + sortKey + ", id=" + id + "}";
+    }
+}
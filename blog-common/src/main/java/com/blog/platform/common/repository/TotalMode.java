@@ -0,0 +1,32 @@
+package com.blog.platform.common.repository;
+
+import java.util.Locale;
+
+/**
+ * 分页列表总数的计算方式
+ * EXACT：每次执行COUNT，供管理后台等需要精确总数的场景；
+ * APPROX：总数取自短时缓存，列表查询本身不执行COUNT；
+ * NONE：不计算总数，只返回是否有下一页
+ */
+public enum TotalMode {
+    
+    EXACT,
+    
+    APPROX,
+    
+    NONE;
+    
+    /**
+     * 解析请求参数，为空时使用默认值；无法识别时抛出IllegalArgumentException
+     */
+    public static TotalMode parse(String value, TotalMode defaultMode) {
+        if (value == null || value.isBlank()) {
+            return defaultMode;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的totalMode: " + value + "，可选值为exact、approx、none");
+        }
+    }
+}
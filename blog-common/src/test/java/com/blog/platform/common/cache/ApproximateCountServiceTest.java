@@ -0,0 +1,43 @@
+package com.blog.platform.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ApproximateCountServiceTest {
+
+    private final CacheService cacheService = mock(CacheService.class);
+
+    private final ApproximateCountService countService = new ApproximateCountService(cacheService, 30);
+
+    @Test
+    void shouldCountOnceAndCacheWithShortTtl() {
+        AtomicInteger calls = new AtomicInteger();
+
+        long count = countService.count("article:count:status:PUBLISHED", () -> {
+            calls.incrementAndGet();
+            return 1234L;
+        });
+
+        assertEquals(1234L, count);
+        assertEquals(1, calls.get());
+        verify(cacheService).set("article:count:status:PUBLISHED", 1234L, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldServeCachedCountDecodedAsInteger() {
+        when(cacheService.get("comment:count:article:1", Number.class)).thenReturn((Number) 42);
+
+        long count = countService.count("comment:count:article:1", () -> {
+            throw new AssertionError("exact count should not run");
+        });
+
+        assertEquals(42L, count);
+        verify(cacheService, never()).set(anyString(), any(), any(Duration.class));
+    }
+}
@@ -0,0 +1,116 @@
+package com.blog.platform.common.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheCodecRegistryTest {
+
+    private RedisSerializer<Object> jsonSerializer;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        objectMapper.registerModule(new JavaTimeModule());
+        jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    @Test
+    void shouldRoundTripTypedValuesWithSmileAndShrinkPayload() {
+        CacheCodecRegistry registry = new CacheCodecRegistry(jsonSerializer, List.of(), SmileCacheValueCodec.NAME, "", 0);
+        List<RefreshableValue> value = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            value.add(new RefreshableValue(new Card("article-" + i, "标题" + i, LocalDateTime.of(2024, 1, 1, 0, 0)), i, 1000L * i));
+        }
+
+        byte[] raw = registry.encode("article:card:list", value);
+
+        assertEquals(SmileCacheValueCodec.FORMAT_ID, raw[0]);
+        assertTrue(raw.length < jsonSerializer.serialize(value).length / 2);
+        List<?> restored = assertInstanceOf(List.class, registry.decode(raw));
+        RefreshableValue first = assertInstanceOf(RefreshableValue.class, restored.get(1));
+        Card card = assertInstanceOf(Card.class, first.getValue());
+        assertEquals("article-1", card.id);
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), card.createdAt);
+    }
+
+    @Test
+    void shouldReadLegacyJsonWhileWritingBinary() {
+        CacheCodecRegistry jsonWriter = new CacheCodecRegistry(jsonSerializer, List.of(), CacheCodecRegistry.JSON, "", 0);
+        CacheCodecRegistry smileWriter = new CacheCodecRegistry(jsonSerializer, List.of(), SmileCacheValueCodec.NAME, "", 0);
+        Card card = new Card("1", "title", null);
+
+        byte[] legacy = jsonWriter.encode("article:detail:1", card);
+
+        assertTrue(legacy[0] > CacheCodecRegistry.MAX_FORMAT_ID);
+        assertEquals("title", ((Card) smileWriter.decode(legacy)).title);
+        assertEquals("title", ((Card) jsonWriter.decode(smileWriter.encode("article:detail:1", card))).title);
+    }
+
+    @Test
+    void shouldSelectCodecByLongestNamespacePrefix() {
+        CacheCodecRegistry registry = new CacheCodecRegistry(jsonSerializer, List.of(), SmileCacheValueCodec.NAME,
+                "article:=json, article:detail:=smile", 0);
+
+        assertEquals(SmileCacheValueCodec.NAME, registry.codecName("article:detail:1"));
+        assertEquals(CacheCodecRegistry.JSON, registry.codecName("article:card:1"));
+        assertEquals(SmileCacheValueCodec.NAME, registry.codecName("user:profile:1"));
+    }
+
+    @Test
+    void shouldCompressLargeValuesAndLeaveSmallOnesPlain() {
+        CacheCodecRegistry registry = new CacheCodecRegistry(jsonSerializer, List.of(), SmileCacheValueCodec.NAME, "", 1024);
+        Card large = new Card("1", "正文段落。".repeat(2000), null);
+        Card small = new Card("2", "title", null);
+
+        byte[] compressed = registry.encode("article:detail:1", large);
+        byte[] plain = registry.encode("article:detail:2", small);
+
+        assertEquals(Lz4CacheCompressor.FORMAT_ID, compressed[0]);
+        assertTrue(compressed.length < 1024);
+        assertEquals(large.title, ((Card) registry.decode(compressed)).title);
+        assertEquals(SmileCacheValueCodec.FORMAT_ID, plain[0]);
+        assertEquals("title", ((Card) registry.decode(plain)).title);
+    }
+
+    @Test
+    void shouldCompressLegacyJsonAndReadItFromUncompressingReader() {
+        CacheCodecRegistry writer = new CacheCodecRegistry(jsonSerializer, List.of(), CacheCodecRegistry.JSON, "", 1024);
+        CacheCodecRegistry reader = new CacheCodecRegistry(jsonSerializer, List.of(), CacheCodecRegistry.JSON, "", 0);
+        Card large = new Card("1", "x".repeat(10_000), null);
+
+        byte[] raw = writer.encode("article:detail:1", large);
+
+        assertEquals(Lz4CacheCompressor.FORMAT_ID, raw[0]);
+        assertEquals(large.title, ((Card) reader.decode(raw)).title);
+    }
+
+    static class Card {
+        String id;
+        String title;
+        LocalDateTime createdAt;
+
+        Card() {
+        }
+
+        Card(String id, String title, LocalDateTime createdAt) {
+            this.id = id;
+            this.title = title;
+            this.createdAt = createdAt;
+        }
+    }
+}
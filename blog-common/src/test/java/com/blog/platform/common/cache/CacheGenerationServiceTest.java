@@ -0,0 +1,98 @@
+package com.blog.platform.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheGenerationServiceTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private CacheGenerationService generations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        stubGenerationHash(redisTemplate);
+        generations = new CacheGenerationService(redisTemplate, new CacheInvalidationBroadcaster(redisTemplate),
+                new CacheKeyCleanupService(redisTemplate, 500, 5000));
+    }
+
+    @Test
+    void shouldKeepKeysUnchangedAtGenerationZero() {
+        assertEquals("article:detail:1", generations.versionedKey("article:detail:1"));
+        assertEquals("hot_article", generations.versionedKey("hot_article"));
+    }
+
+    @Test
+    void shouldEmbedGlobalAndNamespaceGenerationInFirstSegment() {
+        generations.invalidate("article");
+        generations.invalidate("article");
+        generations.invalidateAll();
+
+        assertEquals("article@1.2:detail:1", generations.versionedKey("article:detail:1"));
+        assertEquals("user@1.0:profile:1", generations.versionedKey("user:profile:1"));
+        assertEquals("hot_article@1.0", generations.versionedKey("hot_article"));
+        assertEquals("art*", generations.versionedKey("art*"));
+        assertEquals("article:detail:1", CacheGenerationService.logicalKey("article@1.2:detail:1"));
+        assertEquals("user:a@b", CacheGenerationService.logicalKey("user:a@b"));
+    }
+
+    @Test
+    void shouldDetectKeysFromOlderGenerations() {
+        generations.invalidate("article");
+
+        assertTrue(generations.isStale("blog:cache:article:detail:1"));
+        assertTrue(generations.isStale("blog:cache:article@0.0:detail:1"));
+        assertFalse(generations.isStale("blog:cache:article@0.1:detail:1"));
+        assertFalse(generations.isStale("blog:cache:user:profile:1"));
+
+        generations.invalidateAll();
+
+        assertTrue(generations.isStale("blog:cache:article@0.1:detail:1"));
+        assertTrue(generations.isStale("blog:cache:user:profile:1"));
+        assertFalse(generations.isStale("blog:cache:article@1.1:detail:1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFailWithoutLocalBumpWhenRedisIncrementFails() {
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("redis down"));
+
+        assertThrows(IllegalStateException.class, () -> generations.invalidate("article"));
+
+        // 只在本地递增的代数其他实例看不到，失败时不能生效
+        assertEquals(0, generations.generation("article"));
+        assertEquals("article:detail:1", generations.versionedKey("article:detail:1"));
+    }
+
+    /**
+     * 用内存哈希模拟代数哈希的HINCRBY
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Long> stubGenerationHash(RedisTemplate<String, Object> redisTemplate) {
+        Map<String, Long> stored = new ConcurrentHashMap<>();
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisHashCommands hashCommands = mock(RedisHashCommands.class);
+        when(connection.hashCommands()).thenReturn(hashCommands);
+        when(hashCommands.hIncrBy(any(byte[].class), any(byte[].class), anyLong())).thenAnswer(invocation ->
+                stored.merge(new String((byte[]) invocation.getArgument(1), StandardCharsets.UTF_8),
+                        (Long) invocation.getArgument(2), Long::sum));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+        return stored;
+    }
+}
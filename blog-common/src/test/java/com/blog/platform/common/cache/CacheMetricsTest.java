@@ -0,0 +1,124 @@
+package com.blog.platform.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheMetricsTest {
+
+    private MeterRegistry registry;
+    private CacheMetrics cacheMetrics;
+    private CacheService cacheService;
+    private CacheProtectionService protectionService;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cacheMetrics = new CacheMetrics();
+        cacheMetrics.bindMetrics(registry);
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        CacheInvalidationBroadcaster broadcaster = new CacheInvalidationBroadcaster(redisTemplate);
+        CacheCodecRegistry codecRegistry = new CacheCodecRegistry(
+                (RedisSerializer) new StringRedisSerializer(), List.of(), CacheCodecRegistry.JSON, "", 0);
+        HotKeyDetector hotKeyDetector = new HotKeyDetector(broadcaster, false, 1.0, 5, 60_000, 8, 5);
+        CacheKeyCleanupService cleanupService = new CacheKeyCleanupService(redisTemplate, 500, 5000);
+        CacheGenerationService generations = new CacheGenerationService(redisTemplate, broadcaster, cleanupService);
+        cacheService = new CacheService(redisTemplate, broadcaster, codecRegistry, hotKeyDetector, cacheMetrics,
+                generations, cleanupService, true, 1 << 20, 60);
+        ObjectProvider<ExistenceFilterSource> sources = mock(ObjectProvider.class);
+        when(sources.orderedStream()).thenAnswer(invocation -> Stream.empty());
+        protectionService = new CacheProtectionService(cacheService,
+                new ExistenceFilterService(sources, broadcaster, redisTemplate), cacheMetrics);
+    }
+
+    @Test
+    void shouldResolveNamespaceFromFirstSegment() {
+        assertEquals("article", CacheMetrics.namespaceOf("blog:cache:article:detail:1"));
+        assertEquals("user", CacheMetrics.namespaceOf("user:profile:1"));
+        assertEquals("hot_article", CacheMetrics.namespaceOf("hot_article"));
+        assertEquals(CacheMetrics.OTHER_NAMESPACE, CacheMetrics.namespaceOf(":x"));
+    }
+
+    @Test
+    void shouldCountHitsMissesAndNullHitsPerNamespace() {
+        cacheService.set("article:detail:1", "a", Duration.ofMinutes(5));
+        cacheService.setNullValue("article:detail:2");
+
+        cacheService.get("article:detail:1", String.class);
+        cacheService.get("article:detail:2", String.class);
+        cacheService.get("article:detail:3", String.class);
+        cacheService.getAll(List.of("article:card:1", "user:profile:1"), String.class);
+
+        CacheMetrics.NamespaceStats article = stats("article");
+        assertEquals(1, article.hits());
+        assertEquals(1, article.nullHits());
+        assertEquals(2, article.misses());
+        assertEquals(0.25, article.hitRatio(), 1e-9);
+        assertEquals(1, stats("user").misses());
+        assertEquals(1.0, registry.get("cache.namespace.gets")
+                .tags("namespace", "article", "result", "null_hit").functionCounter().count());
+    }
+
+    @Test
+    void shouldRecordLoadLatencyAndInstanceLockWaits() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        Thread loader = Thread.ofPlatform().start(() -> protectionService.getWithFullProtection(
+                "comment:tree:1", String.class, () -> {
+                    loading.countDown();
+                    sleep(200);
+                    return "tree";
+                }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        assertEquals("tree", protectionService.getWithFullProtection("comment:tree:1", String.class, () -> "other"));
+        loader.join();
+
+        CacheMetrics.NamespaceStats comment = stats("comment");
+        assertEquals(1, comment.loads());
+        assertEquals(1, comment.instanceLockWaits());
+        assertTrue(comment.loadMaxMillis() >= 150);
+        Timer timer = registry.get("cache.namespace.load").tags("namespace", "comment", "result", "success").timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void shouldFoldNamespacesBeyondLimitIntoOther() {
+        for (int i = 0; i < CacheMetrics.MAX_NAMESPACES + 10; i++) {
+            cacheMetrics.recordMiss("ns" + i + ":key");
+        }
+
+        List<CacheMetrics.NamespaceStats> stats = cacheMetrics.getStats();
+        assertTrue(stats.size() <= CacheMetrics.MAX_NAMESPACES + 1);
+        assertEquals(10, stats("other").misses());
+    }
+
+    private CacheMetrics.NamespaceStats stats(String namespace) {
+        return cacheMetrics.getStats().stream()
+                .filter(stats -> stats.namespace().equals(namespace))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
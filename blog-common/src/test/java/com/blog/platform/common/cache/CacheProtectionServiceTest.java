@@ -0,0 +1,260 @@
+package com.blog.platform.common.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.Mockito.*;
+
+class CacheProtectionServiceTest {
+
+    private final List<String> storedArticleIds = new CopyOnWriteArrayList<>(List.of("1", "2"));
+
+    private final ExistenceFilterSource articleIdSource = new ExistenceFilterSource() {
+        @Override
+        public String getName() {
+            return "article";
+        }
+
+        @Override
+        public List<String> getKeyPrefixes() {
+            return List.of("article:detail:");
+        }
+
+        @Override
+        public void loadIds(Consumer<String> sink) {
+            storedArticleIds.forEach(sink);
+        }
+    };
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private CacheService cacheService;
+    private ExistenceFilterService existenceFilterService;
+    private CacheProtectionService protectionService;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        CacheInvalidationBroadcaster broadcaster = new CacheInvalidationBroadcaster(redisTemplate);
+        CacheCodecRegistry codecRegistry = new CacheCodecRegistry(
+                (RedisSerializer) new StringRedisSerializer(), List.of(), CacheCodecRegistry.JSON, "", 0);
+        CacheMetrics cacheMetrics = new CacheMetrics();
+        HotKeyDetector hotKeyDetector = new HotKeyDetector(broadcaster, true, 1.0, 5, 60_000, 8, 5);
+        CacheKeyCleanupService cleanupService = new CacheKeyCleanupService(redisTemplate, 500, 5000);
+        CacheGenerationService generations = new CacheGenerationService(redisTemplate, broadcaster, cleanupService);
+        cacheService = new CacheService(redisTemplate, broadcaster, codecRegistry, hotKeyDetector, cacheMetrics,
+                generations, cleanupService, true, 1 << 20, 60);
+        ObjectProvider<ExistenceFilterSource> sources = mock(ObjectProvider.class);
+        when(sources.orderedStream()).thenAnswer(invocation -> Stream.of(articleIdSource));
+        existenceFilterService = new ExistenceFilterService(sources, broadcaster, redisTemplate);
+        protectionService = new CacheProtectionService(cacheService, existenceFilterService, cacheMetrics);
+    }
+
+    @Test
+    void shouldLoadOnlyOncePerKeyUnderConcurrentMisses() throws Exception {
+        int threads = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return protectionService.getWithFullProtection("article:detail:1", String.class, () -> {
+                        loads.incrementAndGet();
+                        sleep(200);
+                        return "article-1";
+                    });
+                }));
+            }
+
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("article-1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldNotShareInFlightLoadBetweenCallModes() throws Exception {
+        CountDownLatch refreshLoading = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<String> refreshable = executor.submit(() ->
+                    protectionService.getWithAsyncRefresh("article:detail:1", String.class, () -> {
+                        refreshLoading.countDown();
+                        sleep(200);
+                        return "article-1";
+                    }, Duration.ofMinutes(10)));
+            assertTrue(refreshLoading.await(5, TimeUnit.SECONDS));
+
+            String plain = protectionService.getWithFullProtection("article:detail:1", String.class, () -> "article-1");
+
+            assertEquals("article-1", plain);
+            assertEquals("article-1", refreshable.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldCacheNullValueForMissingData() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertNull(protectionService.getWithFullProtection("article:detail:missing", String.class, () -> {
+                loads.incrementAndGet();
+                return null;
+            }));
+        }
+
+        assertEquals(1, loads.get());
+        assertTrue(cacheService.isNullValue("article:detail:missing"));
+    }
+
+    @Test
+    void shouldSkipCacheAndLoaderForIdsRejectedByExistenceFilter() {
+        existenceFilterService.onApplicationReady();
+        existenceFilterService.rebuildAll();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(protectionService.getWithFullProtection("article:detail:unknown", String.class, () -> {
+            loads.incrementAndGet();
+            return "never";
+        }));
+        assertFalse(cacheService.isNullValue("article:detail:unknown"));
+        assertEquals(0, loads.get());
+
+        storedArticleIds.add("3");
+        existenceFilterService.put("article", "3");
+        assertEquals("article-3", protectionService.getWithFullProtection("article:detail:3", String.class, () -> {
+            loads.incrementAndGet();
+            return "article-3";
+        }));
+        assertEquals("other", protectionService.getWithFullProtection("user:profile:9", String.class, () -> "other"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAdmitIdsRecordedByAnotherInstanceWhenSyncMessageIsLost() {
+        existenceFilterService.onApplicationReady();
+        existenceFilterService.rebuildAll();
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        when(zSetCommands.zScore(any(byte[].class), any(byte[].class))).thenReturn(null);
+        when(zSetCommands.zScore(any(byte[].class), aryEq("4".getBytes(StandardCharsets.UTF_8)))).thenReturn(1.0);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+
+        assertTrue(existenceFilterService.mightContain("article", "4"));
+        assertTrue(existenceFilterService.mightContain("article", "4"));
+        assertFalse(existenceFilterService.mightContain("article", "5"));
+
+        // 补入本地过滤器后不再查询Redis
+        verify(zSetCommands, times(1)).zScore(any(byte[].class), aryEq("4".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldRefreshEntryCloseToExpiryOnlyOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        cacheService.set("article:detail:2",
+                new RefreshableValue("old", 1000, System.currentTimeMillis() + 10), Duration.ofMinutes(5));
+
+        for (int i = 0; i < 50; i++) {
+            assertNotNull(protectionService.getWithAsyncRefresh("article:detail:2", String.class, () -> {
+                loads.incrementAndGet();
+                sleep(100);
+                return "new";
+            }, Duration.ofMinutes(30)));
+        }
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!"new".equals(readRefreshable("article:detail:2")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("new", readRefreshable("article:detail:2"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldNotRefreshFreshEntry() {
+        AtomicInteger loads = new AtomicInteger();
+        cacheService.set("article:detail:3",
+                new RefreshableValue("cached", 10, System.currentTimeMillis() + 600_000), Duration.ofMinutes(10));
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals("cached", protectionService.getWithAsyncRefresh("article:detail:3", String.class, () -> {
+                loads.incrementAndGet();
+                return "new";
+            }, Duration.ofMinutes(10)));
+        }
+
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void shouldRoundTripRefreshableValueThroughRedisSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+
+        Object restored = serializer.deserialize(serializer.serialize(
+                new RefreshableValue(new ArrayList<>(List.of("a", "b")), 42, 1000)));
+
+        RefreshableValue refreshable = assertInstanceOf(RefreshableValue.class, restored);
+        assertEquals(List.of("a", "b"), refreshable.getValue());
+        assertEquals(42, refreshable.getComputeMillis());
+        assertEquals(1000, refreshable.getExpireAtMillis());
+    }
+
+    private Object readRefreshable(String key) {
+        Object cached = cacheService.get(key, Object.class);
+        return cached instanceof RefreshableValue refreshable ? refreshable.getValue() : null;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
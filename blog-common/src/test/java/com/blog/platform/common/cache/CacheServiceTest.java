@@ -0,0 +1,250 @@
+package com.blog.platform.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * CacheService本地缓存（Redis不可用时）行为测试
+ */
+class CacheServiceTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private CacheInvalidationBroadcaster broadcaster;
+    private HotKeyDetector hotKeyDetector;
+    private CacheGenerationService generations;
+    private CacheCodecRegistry codecRegistry;
+    private CacheService cacheService;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        broadcaster = new CacheInvalidationBroadcaster(redisTemplate);
+        codecRegistry = new CacheCodecRegistry(
+                (RedisSerializer) new StringRedisSerializer(), List.of(), CacheCodecRegistry.JSON, "", 0);
+        CacheMetrics cacheMetrics = new CacheMetrics();
+        hotKeyDetector = new HotKeyDetector(broadcaster, true, 1.0, 5, 60_000, 8, 5);
+        CacheKeyCleanupService cleanupService = new CacheKeyCleanupService(redisTemplate, 500, 5000);
+        generations = new CacheGenerationService(redisTemplate, broadcaster, cleanupService);
+        cacheService = new CacheService(redisTemplate, broadcaster, codecRegistry, hotKeyDetector, cacheMetrics,
+                generations, cleanupService, true, 1024, 60);
+    }
+
+    @Test
+    void shouldServeValuesFromLocalCacheWhenRedisUnavailable() {
+        cacheService.set("article:detail:1", "content", Duration.ofMinutes(5));
+
+        assertEquals("content", cacheService.get("article:detail:1", String.class));
+        assertTrue(cacheService.exists("article:detail:1"));
+
+        cacheService.delete("article:detail:1");
+
+        assertNull(cacheService.get("article:detail:1", String.class));
+    }
+
+    @Test
+    void shouldTrackNullValueMarker() {
+        cacheService.setNullValue("article:detail:missing");
+
+        assertTrue(cacheService.isNullValue("article:detail:missing"));
+        assertFalse(cacheService.isNullValue("article:detail:other"));
+    }
+
+    @Test
+    void shouldReturnBatchHitsInRequestOrder() {
+        cacheService.setAll(Map.of("article:card:1", "a", "article:card:3", "c"), Duration.ofMinutes(5));
+        cacheService.setNullValue("article:card:2");
+
+        Map<String, String> hits = cacheService.getAll(
+                List.of("article:card:3", "article:card:2", "article:card:1", "article:card:4"), String.class);
+
+        assertEquals(List.of("article:card:3", "article:card:1"), new ArrayList<>(hits.keySet()));
+        assertEquals("c", hits.get("article:card:3"));
+    }
+
+    @Test
+    void shouldLoadOnlyBatchMissesAndCacheAbsentKeysAsNull() {
+        cacheService.set("article:card:1", "a", Duration.ofMinutes(5));
+        List<List<String>> loaderCalls = new ArrayList<>();
+
+        Map<String, String> result = cacheService.getAll(
+                List.of("article:card:1", "article:card:2", "article:card:3"), String.class,
+                missing -> {
+                    loaderCalls.add(missing);
+                    return Map.of("article:card:2", "b");
+                }, Duration.ofMinutes(5));
+
+        assertEquals(List.of(List.of("article:card:2", "article:card:3")), loaderCalls);
+        assertEquals(List.of("article:card:1", "article:card:2"), new ArrayList<>(result.keySet()));
+        assertEquals("b", cacheService.get("article:card:2", String.class));
+        assertTrue(cacheService.isNullValue("article:card:3"));
+
+        cacheService.getAll(List.of("article:card:2", "article:card:3"), String.class,
+                missing -> {
+                    loaderCalls.add(missing);
+                    return Map.of();
+                }, Duration.ofMinutes(5));
+        assertEquals(1, loaderCalls.size());
+    }
+
+    @Test
+    void shouldBoundLocalCacheBySerializedSize() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            cacheService.set("article:detail:" + i, "x".repeat(100), Duration.ofMinutes(5));
+        }
+
+        // Caffeine的淘汰在维护线程中异步执行
+        long deadline = System.currentTimeMillis() + 2000;
+        while (cacheService.getNearCacheStats().weightedSize() > 1024 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(cacheService.getNearCacheStats().weightedSize() <= 1024);
+    }
+
+    @Test
+    void shouldPinHotKeysUntilInvalidated() {
+        cacheService.set("article:detail:hot", "viral", Duration.ofMinutes(5));
+        cacheService.set("article:detail:cold", "quiet", Duration.ofMinutes(5));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("viral", cacheService.get("article:detail:hot", String.class));
+        }
+        cacheService.get("article:detail:cold", String.class);
+
+        assertTrue(hotKeyDetector.isHot("blog:cache:article:detail:hot"));
+        assertFalse(hotKeyDetector.isHot("blog:cache:article:detail:cold"));
+        assertEquals(1, cacheService.getNearCacheStats().pinnedSize());
+
+        cacheService.delete("article:detail:hot");
+
+        assertEquals(0, cacheService.getNearCacheStats().pinnedSize());
+        assertNull(cacheService.get("article:detail:hot", String.class));
+    }
+
+    @Test
+    void shouldInvalidateLocalEntriesOnRemoteMessage() {
+        cacheService.set("article:detail:1", "a", Duration.ofMinutes(5));
+        cacheService.set("article:detail:2", "b", Duration.ofMinutes(5));
+        cacheService.set("user:profile:1", "c", Duration.ofMinutes(5));
+
+        broadcaster.onMessage("other-instance|K|blog:cache:article:detail:1".getBytes(StandardCharsets.UTF_8));
+        assertNull(cacheService.get("article:detail:1", String.class));
+        assertEquals("b", cacheService.get("article:detail:2", String.class));
+
+        broadcaster.onMessage("other-instance|P|blog:cache:article:".getBytes(StandardCharsets.UTF_8));
+        assertNull(cacheService.get("article:detail:2", String.class));
+        assertEquals("c", cacheService.get("user:profile:1", String.class));
+    }
+
+    @Test
+    void shouldInvalidateNamespaceByAdvancingGeneration() {
+        CacheGenerationServiceTest.stubGenerationHash(redisTemplate);
+        cacheService.set("article:detail:1", "a", Duration.ofMinutes(5));
+        cacheService.set("user:profile:1", "b", Duration.ofMinutes(5));
+
+        cacheService.deleteByPattern("article:*");
+
+        assertEquals(1, generations.generation("article"));
+        assertNull(cacheService.get("article:detail:1", String.class));
+        assertEquals("b", cacheService.get("user:profile:1", String.class));
+
+        cacheService.set("article:detail:1", "c", Duration.ofMinutes(5));
+        assertEquals("c", cacheService.get("article:detail:1", String.class));
+
+        cacheService.deleteByPattern("*");
+
+        assertNull(cacheService.get("article:detail:1", String.class));
+        assertNull(cacheService.get("user:profile:1", String.class));
+    }
+
+    @Test
+    void shouldApplyGenerationsFromOtherInstances() {
+        cacheService.set("comment:tree:1", "a", Duration.ofMinutes(5));
+
+        broadcaster.onMessage("other-instance|G|comment:3".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(3, generations.generation("comment"));
+        assertNull(cacheService.get("comment:tree:1", String.class));
+    }
+
+    @Test
+    void shouldIgnoreInvalidationsFromOwnInstance() {
+        cacheService.set("article:detail:1", "a", Duration.ofMinutes(5));
+
+        String message = broadcaster.getInstanceId() + "|K|blog:cache:article:detail:1";
+        broadcaster.onMessage(message.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("a", cacheService.get("article:detail:1", String.class));
+    }
+
+    @Test
+    void shouldNotKeepRedisValueReadBeforeConcurrentDelete() {
+        byte[] stale = codecRegistry.encode("article:detail:1", "old");
+        AtomicInteger reads = new AtomicInteger();
+        RedisConnection connection = connectRedis();
+        when(connection.closePipeline()).thenAnswer(invocation -> {
+            if (reads.getAndIncrement() == 0) {
+                // 另一线程在GET返回之后、填充L1之前删除了该键
+                cacheService.delete("article:detail:1");
+                return Arrays.asList(stale, 60_000L);
+            }
+            return Arrays.asList(null, -2L);
+        });
+
+        assertEquals("old", cacheService.get("article:detail:1", String.class));
+        assertNull(cacheService.get("article:detail:1", String.class));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void shouldExpireLocalCopyWithRedisKey() throws InterruptedException {
+        byte[] value = codecRegistry.encode("article:detail:1", "a");
+        AtomicInteger reads = new AtomicInteger();
+        RedisConnection connection = connectRedis();
+        when(connection.closePipeline()).thenAnswer(invocation -> {
+            reads.incrementAndGet();
+            return Arrays.asList(value, 200L);
+        });
+
+        assertEquals("a", cacheService.get("article:detail:1", String.class));
+        assertEquals("a", cacheService.get("article:detail:1", String.class));
+        assertEquals(1, reads.get());
+
+        Thread.sleep(300);
+
+        assertEquals("a", cacheService.get("article:detail:1", String.class));
+        assertEquals(2, reads.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisConnection connectRedis() {
+        ((AtomicBoolean) ReflectionTestUtils.getField(cacheService, "redisAvailable")).set(true);
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.stringCommands()).thenReturn(mock(RedisStringCommands.class));
+        when(connection.keyCommands()).thenReturn(mock(RedisKeyCommands.class));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+        return connection;
+    }
+}
@@ -0,0 +1,123 @@
+package com.blog.platform.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheWarmupServiceTest {
+
+    private CacheService cacheService;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        CacheInvalidationBroadcaster broadcaster = new CacheInvalidationBroadcaster(redisTemplate);
+        CacheCodecRegistry codecRegistry = new CacheCodecRegistry(
+                (RedisSerializer) new StringRedisSerializer(), List.of(), CacheCodecRegistry.JSON, "", 0);
+        CacheMetrics cacheMetrics = new CacheMetrics();
+        HotKeyDetector hotKeyDetector = new HotKeyDetector(broadcaster, true, 1.0, 5, 60_000, 8, 5);
+        CacheKeyCleanupService cleanupService = new CacheKeyCleanupService(redisTemplate, 500, 5000);
+        CacheGenerationService generations = new CacheGenerationService(redisTemplate, broadcaster, cleanupService);
+        cacheService = new CacheService(redisTemplate, broadcaster, codecRegistry, hotKeyDetector, cacheMetrics,
+                generations, cleanupService, true, 1 << 20, 60);
+    }
+
+    @Test
+    void shouldLoadMissingKeysInBatchesAsRefreshableValues() {
+        cacheService.set("article:detail:0", new RefreshableValue("cached", 1, Long.MAX_VALUE), Duration.ofMinutes(5));
+        TestWarmer warmer = new TestWarmer(10, 0);
+
+        CacheWarmupService.WarmupResult result = warmupService(warmer, 4, 5_000).warmup();
+
+        assertEquals(new CacheWarmupService.WarmupResult(9, 0, false), result);
+        assertEquals(3, warmer.batches.size());
+        assertTrue(warmer.batches.stream().flatMap(List::stream).noneMatch("article:detail:0"::equals));
+        RefreshableValue warmed = assertInstanceOf(RefreshableValue.class,
+                cacheService.get("article:detail:7", Object.class));
+        assertEquals("article-7", warmed.getValue());
+        assertTrue(warmed.getExpireAtMillis() > System.currentTimeMillis() + 60_000);
+    }
+
+    @Test
+    void shouldStopWithinTimeBudget() {
+        TestWarmer warmer = new TestWarmer(40, 200);
+
+        long start = System.currentTimeMillis();
+        CacheWarmupService.WarmupResult result = warmupService(warmer, 4, 300).warmup();
+
+        assertTrue(System.currentTimeMillis() - start < 2_000);
+        assertTrue(result.timedOut());
+        assertTrue(result.skippedBatches() > 0);
+        assertTrue(result.warmedKeys() < 40);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheWarmupService warmupService(CacheWarmer warmer, int batchSize, long timeoutMillis) {
+        ObjectProvider<CacheWarmer> warmers = mock(ObjectProvider.class);
+        when(warmers.orderedStream()).thenAnswer(invocation -> Stream.of(warmer));
+        return new CacheWarmupService(cacheService, warmers, true, 100, batchSize, 2, timeoutMillis);
+    }
+
+    private static class TestWarmer implements CacheWarmer {
+
+        private final int count;
+        private final long loadMillis;
+        private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+        TestWarmer(int count, long loadMillis) {
+            this.count = count;
+            this.loadMillis = loadMillis;
+        }
+
+        @Override
+        public String getName() {
+            return "test";
+        }
+
+        @Override
+        public List<String> selectKeys(int limit) {
+            return IntStream.range(0, Math.min(count, limit)).mapToObj(i -> "article:detail:" + i).toList();
+        }
+
+        @Override
+        public Map<String, ?> load(List<String> keys) {
+            batches.add(new ArrayList<>(keys));
+            if (loadMillis > 0) {
+                try {
+                    Thread.sleep(loadMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            keys.forEach(key -> values.put(key, "article-" + key.substring("article:detail:".length())));
+            return values;
+        }
+
+        @Override
+        public Duration getExpireTime() {
+            return Duration.ofMinutes(30);
+        }
+
+        @Override
+        public boolean isRefreshable() {
+            return true;
+        }
+    }
+}
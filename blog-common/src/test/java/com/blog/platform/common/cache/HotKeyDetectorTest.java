@@ -0,0 +1,63 @@
+package com.blog.platform.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HotKeyDetectorTest {
+
+    private CacheInvalidationBroadcaster broadcaster;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        broadcaster = new CacheInvalidationBroadcaster(mock(RedisTemplate.class));
+    }
+
+    @Test
+    void shouldDetectKeysAboveThresholdAndKeepTopKBounded() {
+        HotKeyDetector detector = new HotKeyDetector(broadcaster, true, 1.0, 100, 60_000, 4, 5);
+
+        for (int i = 0; i < 200; i++) {
+            detector.record("article:detail:viral");
+        }
+        for (int key = 0; key < 50; key++) {
+            for (int i = 0; i < 60; i++) {
+                detector.record("article:detail:" + key);
+            }
+        }
+
+        List<HotKeyDetector.HotKey> hotKeys = detector.getHotKeys();
+        assertEquals("article:detail:viral", hotKeys.get(0).key());
+        assertTrue(hotKeys.get(0).estimatedCount() >= 200);
+        assertTrue(hotKeys.size() <= 4);
+        assertFalse(detector.isHot("article:detail:unknown"));
+    }
+
+    @Test
+    void shouldScaleSampledCountsBySampleRate() {
+        HotKeyDetector detector = new HotKeyDetector(broadcaster, true, 0.5, 1000, 60_000, 8, 5);
+
+        for (int i = 0; i < 5000; i++) {
+            detector.record("article:detail:viral");
+        }
+
+        assertTrue(detector.isHot("article:detail:viral"));
+    }
+
+    @Test
+    void shouldTreatKeysReportedByOtherInstancesAsHot() {
+        HotKeyDetector detector = new HotKeyDetector(broadcaster, true, 1.0, 100, 60_000, 8, 5);
+
+        broadcaster.onMessage("other-instance|H|blog:cache:article:detail:1".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(detector.isHot("blog:cache:article:detail:1"));
+        assertFalse(detector.getHotKeys().get(0).local());
+    }
+}
@@ -0,0 +1,47 @@
+package com.blog.platform.common.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedExistenceFilterSourceTest {
+
+    @Test
+    void shouldLoadEveryIdInBatchesAfterLastSeenId() {
+        // Given: 比两批多一个ID
+        List<String> storedIds = IntStream.range(0, PagedExistenceFilterSource.BATCH_SIZE * 2 + 1)
+                .mapToObj(i -> String.format("id-%06d", i))
+                .toList();
+        List<String> queriedAfter = new ArrayList<>();
+        PagedExistenceFilterSource source = new PagedExistenceFilterSource("test") {
+            @Override
+            protected long countIds() {
+                return storedIds.size();
+            }
+
+            @Override
+            protected List<String> findIdsAfter(String afterId, Pageable pageable) {
+                queriedAfter.add(afterId);
+                return storedIds.stream()
+                        .filter(id -> id.compareTo(afterId) > 0)
+                        .limit(pageable.getPageSize())
+                        .toList();
+            }
+        };
+
+        // When
+        List<String> loaded = new ArrayList<>();
+        source.loadIds(loaded::add);
+
+        // Then
+        assertEquals(storedIds, loaded);
+        assertEquals(List.of("", "id-004999", "id-009999"), queriedAfter);
+        assertEquals(PagedExistenceFilterSource.BATCH_SIZE * 4 + 2, source.getExpectedInsertions());
+        assertTrue(source.getKeyPrefixes().isEmpty());
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog.platform.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void shouldNeverReturnFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+        String[] ids = new String[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            filter.put(ids[i]);
+        }
+
+        for (String id : ids) {
+            assertTrue(filter.mightContain(id));
+        }
+        assertTrue(filter.stageCount() > 1);
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateBoundedAfterGrowth() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue((double) falsePositives / probes < 0.02,
+                "false positive rate too high: " + (double) falsePositives / probes);
+    }
+
+    @Test
+    void shouldRejectInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1.0));
+    }
+}
@@ -0,0 +1,53 @@
+package com.blog.platform.common.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void shouldRoundTripOpaqueToken() {
+        KeysetCursor cursor = KeysetCursor.of(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000), "article|42");
+
+        String token = cursor.encode();
+
+        assertFalse(token.contains("article"));
+        assertEquals(cursor, KeysetCursor.decode(token));
+    }
+
+    @Test
+    void shouldTreatBlankTokenAsFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    void shouldRejectMalformedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetCursor.decode(KeysetCursor.of(LocalDateTime.now(), "abc").encode()).getLongId());
+    }
+
+    @Test
+    void shouldTakeNextCursorFromLastRowOnlyWhenMoreRowsExist() {
+        LocalDateTime time = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        CursorPage<String> page = CursorPage.from(new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true),
+                String::toUpperCase, row -> KeysetCursor.of(time, row));
+
+        assertEquals(List.of("A", "B"), page.getContent());
+        assertEquals("b", KeysetCursor.decode(page.getNextCursor()).getId());
+
+        CursorPage<String> last = CursorPage.from(new SliceImpl<>(List.of("c"), PageRequest.of(0, 2), false),
+                String::toUpperCase, row -> KeysetCursor.of(time, row));
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+    }
+}
@@ -3,7 +3,9 @@ package com.blog.platform.comment.application.dto;
 import com.blog.platform.common.domain.comment.CommentStatus;
 
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -22,6 +24,9 @@ public class CommentTreeDto {
     private int likeCount;
     private int level; // 评论层级，0为顶级评论
     private List<CommentTreeDto> children = new ArrayList<>(); // 子评论
+    private long replyCount; // 直接回复总数，分页加载时children可能只包含其中一部分
+    private boolean hasMoreReplies; // 是否还有未加载的直接回复
+    private String repliesCursor; // 加载更多直接回复时作为after参数，为空表示从第一条开始
     
     public CommentTreeDto() {}
     
@@ -128,6 +133,30 @@ public class CommentTreeDto {
         this.children = children;
     }
     
+    public long getReplyCount() {
+        return replyCount;
+    }
+    
+    public void setReplyCount(long replyCount) {
+        this.replyCount = replyCount;
+    }
+    
+    public boolean isHasMoreReplies() {
+        return hasMoreReplies;
+    }
+    
+    public void setHasMoreReplies(boolean hasMoreReplies) {
+        this.hasMoreReplies = hasMoreReplies;
+    }
+    
+    public String getRepliesCursor() {
+        return repliesCursor;
+    }
+    
+    public void setRepliesCursor(String repliesCursor) {
+        this.repliesCursor = repliesCursor;
+    }
+    
     public void addChild(CommentTreeDto child) {
         if (this.children == null) {
             this.children = new ArrayList<>();
@@ -144,13 +173,16 @@ public class CommentTreeDto {
     }
     
     public int getTotalRepliesCount() {
-        if (children == null || children.isEmpty()) {
-            return 0;
-        }
-        
-        int count = children.size();
-        for (CommentTreeDto child : children) {
-            count += child.getTotalRepliesCount();
+        // 显式栈遍历，深层回复链不会导致栈溢出
+        int count = 0;
+        Deque<CommentTreeDto> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            CommentTreeDto node = stack.pop();
+            if (node.children != null) {
+                count += node.children.size();
+                node.children.forEach(stack::push);
+            }
         }
         return count;
     }
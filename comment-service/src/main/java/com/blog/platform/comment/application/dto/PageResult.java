@@ -31,6 +31,22 @@ public class PageResult<T> {
         this.hasPrevious = page > 0;
     }
     
+    /**
+     * 未执行COUNT的分页结果，totalElements小于0表示不计算总数（totalPages同为-1），
+     * 是否有下一页由查询多取一条得到
+     */
+    public PageResult(List<T> content, int page, int size, long totalElements, boolean hasNext) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalElements < 0 ? -1 : (int) Math.ceil((double) totalElements / size);
+        this.first = page == 0;
+        this.last = !hasNext;
+        this.hasNext = hasNext;
+        this.hasPrevious = page > 0;
+    }
+    
     public List<T> getContent() {
         return content;
     }
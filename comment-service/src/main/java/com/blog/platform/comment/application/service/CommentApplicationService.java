@@ -4,22 +4,42 @@ import com.blog.platform.comment.application.dto.*;
 import com.blog.platform.comment.application.saga.CommentPublishSaga;
 import com.blog.platform.comment.domain.exception.CommentDomainException;
 import com.blog.platform.comment.domain.repository.CommentRepository;
+import com.blog.platform.comment.infrastructure.cache.CommentExistenceFilterSource;
+import com.blog.platform.comment.infrastructure.cache.CommentTreeCache;
+import com.blog.platform.comment.infrastructure.cache.CommentTreeSnapshot;
+import com.blog.platform.comment.infrastructure.elasticsearch.model.CommentReadModel;
+import com.blog.platform.comment.infrastructure.elasticsearch.service.CommentReadModelWatermark;
+import com.blog.platform.comment.infrastructure.elasticsearch.service.CommentSearchService;
 import com.blog.platform.comment.infrastructure.persistence.entity.CommentEntity;
 import com.blog.platform.comment.infrastructure.persistence.repository.CommentJpaRepository;
+import com.blog.platform.comment.infrastructure.persistence.repository.CommentStatisticsJpaRepository;
 import com.blog.platform.comment.infrastructure.messaging.CommentEventPublisher;
+import com.blog.platform.common.cache.ApproximateCountService;
+import com.blog.platform.common.cache.ExistenceFilterService;
 import com.blog.platform.common.domain.article.ArticleId;
 import com.blog.platform.common.domain.comment.*;
 import com.blog.platform.common.domain.user.UserId;
 import com.blog.platform.common.domain.DomainEventPublisher;
+import com.blog.platform.common.repository.CursorPage;
+import com.blog.platform.common.repository.KeysetCursor;
+import com.blog.platform.common.repository.TotalMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -29,23 +49,62 @@ import java.util.stream.Collectors;
 @Transactional
 public class CommentApplicationService {
     
+    private static final Logger logger = LoggerFactory.getLogger(CommentApplicationService.class);
+    
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
+    private static final int MAX_TREE_REPLIES = 20;
+    
+    private static final int MAX_SUBTREE_SIZE = 500;
+    
+    private static final int COUNT_BATCH_SIZE = 1000;
+    
+    private static final long[] NO_COUNTS = {0, 0};
+    
+    private static final String COMMENT_COUNT_CACHE_PREFIX = "comment:count:";
+    
     private final CommentRepository commentRepository;
     private final CommentJpaRepository commentJpaRepository;
     private final DomainEventPublisher eventPublisher;
     private final Optional<CommentPublishSaga> commentPublishSaga;
     private final CommentEventPublisher commentEventPublisher;
+    private final CommentStatisticsJpaRepository commentStatisticsJpaRepository;
+    private final ExistenceFilterService existenceFilterService;
+    private final ApproximateCountService approximateCountService;
+    private final CommentTreeCache commentTreeCache;
+    
+    /**
+     * 读模型相关的Bean仅在comment-service.enableSearch=true时存在
+     */
+    private final ObjectProvider<CommentSearchService> commentSearchService;
+    private final ObjectProvider<CommentReadModelWatermark> readModelWatermark;
+    
+    @Value("${feature.cqrs.enabled:false}")
+    private boolean cqrsEnabled;
     
     @Autowired
     public CommentApplicationService(CommentRepository commentRepository,
                                    CommentJpaRepository commentJpaRepository,
                                    DomainEventPublisher eventPublisher,
                                    java.util.Optional<CommentPublishSaga> commentPublishSaga,
-                                   CommentEventPublisher commentEventPublisher) {
+                                   CommentEventPublisher commentEventPublisher,
+                                   CommentStatisticsJpaRepository commentStatisticsJpaRepository,
+                                   ExistenceFilterService existenceFilterService,
+                                   ApproximateCountService approximateCountService,
+                                   CommentTreeCache commentTreeCache,
+                                   ObjectProvider<CommentSearchService> commentSearchService,
+                                   ObjectProvider<CommentReadModelWatermark> readModelWatermark) {
         this.commentRepository = commentRepository;
         this.commentJpaRepository = commentJpaRepository;
         this.eventPublisher = eventPublisher;
         this.commentPublishSaga = commentPublishSaga != null ? commentPublishSaga : Optional.empty();
         this.commentEventPublisher = commentEventPublisher;
+        this.commentStatisticsJpaRepository = commentStatisticsJpaRepository;
+        this.existenceFilterService = existenceFilterService;
+        this.approximateCountService = approximateCountService;
+        this.commentTreeCache = commentTreeCache;
+        this.commentSearchService = commentSearchService;
+        this.readModelWatermark = readModelWatermark;
     }
     
     /**
@@ -60,7 +119,9 @@ public class CommentApplicationService {
         
         Comment comment = Comment.create(articleId, authorId, content);
         Comment savedComment = commentRepository.save(comment);
+        recordExistence(savedComment);
         
+        recordReadModelWrite(savedComment);
         eventPublisher.publishEvents(savedComment);
         
         CommentCreatedEvent event = new CommentCreatedEvent(
@@ -107,7 +168,9 @@ public class CommentApplicationService {
         
         Comment replyComment = Comment.createReply(articleId, authorId, content, parentId);
         Comment savedComment = commentRepository.save(replyComment);
+        recordExistence(savedComment);
         
+        recordReadModelWrite(savedComment);
         eventPublisher.publishEvents(savedComment);
         
         CommentCreatedEvent event = new CommentCreatedEvent(
@@ -139,26 +202,150 @@ public class CommentApplicationService {
      */
     @Transactional(readOnly = true)
     public PageResult<CommentDto> getCommentsByArticleId(String articleId, int page, int size) {
+        return getCommentsByArticleId(articleId, page, size, TotalMode.EXACT);
+    }
+    
+    /**
+     * 获取文章的评论列表，totalMode为APPROX或NONE时不执行COUNT
+     */
+    @Transactional(readOnly = true)
+    public PageResult<CommentDto> getCommentsByArticleId(String articleId, int page, int size, TotalMode totalMode) {
+        PageResult<CommentDto> readModelPage = fromReadModel(articleId, () -> toPageResult(
+                commentSearchService.getObject().getArticleComments(articleId,
+                        PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "createdAt"))), totalMode));
+        if (readModelPage != null) {
+            return readModelPage;
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
+        if (totalMode != TotalMode.EXACT) {
+            return toPageResult(commentJpaRepository.sliceActiveCommentsByArticleId(articleId, pageable), totalMode,
+                    COMMENT_COUNT_CACHE_PREFIX + "article:" + articleId,
+                    () -> commentJpaRepository.countActiveCommentsByArticleId(articleId));
+        }
         Page<CommentEntity> commentPage = commentJpaRepository.findActiveCommentsByArticleId(articleId, pageable);
         
-        List<CommentDto> commentDtos = commentPage.getContent().stream()
+        List<CommentDto> commentDtos = withCounts(commentPage.getContent().stream()
                 .map(this::toCommentDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
         
         return new PageResult<>(commentDtos, page, size, commentPage.getTotalElements());
     }
     
+    /**
+     * 游标分页获取文章的评论，按(createdAt, id)正序，不执行COUNT；after为空表示第一页
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getCommentsByArticleIdAfter(String articleId, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Pageable pageable = PageRequest.of(0, cursorPageSize(size));
+        Slice<CommentEntity> slice = cursor == null
+                ? commentJpaRepository.findActiveCommentSliceByArticleId(articleId, pageable)
+                : commentJpaRepository.findActiveCommentSliceByArticleIdAfter(
+                        articleId, cursor.getSortKey(), cursor.getId(), pageable);
+        CursorPage<CommentDto> commentPage = CursorPage.from(slice, this::toCommentDto,
+                entity -> KeysetCursor.of(entity.getCreatedAt(), entity.getId()));
+        withCounts(commentPage.getContent());
+        return commentPage;
+    }
+    
     /**
      * 获取文章的评论树形结构
      */
     @Transactional(readOnly = true)
     public List<CommentTreeDto> getCommentTreeByArticleId(String articleId) {
-        // 获取所有活跃评论
-        List<CommentEntity> allComments = commentJpaRepository.findActiveCommentsByArticleId(articleId);
+        return toCommentTree(commentTreeCache.get(articleId));
+    }
+    
+    /**
+     * 分页加载评论树：按(createdAt, id)游标取一页根评论，每条附带前repliesPerComment条直接回复；
+     * 更多回复或更深层级由节点的repliesCursor通过getRepliesAfter按需加载
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentTreeDto> getCommentTreeByArticleIdAfter(String articleId, String after, int size,
+                                                                    int repliesPerComment) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Pageable pageable = PageRequest.of(0, cursorPageSize(size));
+        Slice<CommentEntity> slice = cursor == null
+                ? commentJpaRepository.findRootCommentSliceByArticleId(articleId, pageable)
+                : commentJpaRepository.findRootCommentSliceByArticleIdAfter(
+                        articleId, cursor.getSortKey(), cursor.getId(), pageable);
+        return toTreePage(slice, repliesPerComment, 0);
+    }
+    
+    /**
+     * 游标分页加载某条评论的直接回复，每条回复同样附带前repliesPerComment条下级回复
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentTreeDto> getRepliesAfter(String commentId, String after, int size, int repliesPerComment) {
+        CommentEntity parent = commentJpaRepository.findById(commentId)
+                .orElseThrow(() -> new CommentDomainException.CommentNotFoundException(commentId));
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Pageable pageable = PageRequest.of(0, cursorPageSize(size));
+        Slice<CommentEntity> slice = cursor == null
+                ? commentJpaRepository.findActiveReplySliceByParentId(commentId, pageable)
+                : commentJpaRepository.findActiveReplySliceByParentIdAfter(
+                        commentId, cursor.getSortKey(), cursor.getId(), pageable);
+        return toTreePage(slice, repliesPerComment, parent.getDepth() + 1);
+    }
+    
+    /**
+     * 按物化路径一次查询加载评论的整棵子树，按层级由浅到深截取至多limit条；
+     * 被截断的节点hasMoreReplies为true，可继续通过getRepliesAfter加载
+     */
+    @Transactional(readOnly = true)
+    public CommentTreeDto getCommentSubtree(String commentId, int limit) {
+        int maxSize = Math.max(1, Math.min(limit, MAX_SUBTREE_SIZE));
+        CommentTreeDto readModelTree = getCommentSubtreeFromReadModel(commentId, maxSize);
+        if (readModelTree != null) {
+            return readModelTree;
+        }
         
-        // 构建评论树
-        return buildCommentTree(allComments);
+        CommentEntity root = commentJpaRepository.findById(commentId)
+                .orElseThrow(() -> new CommentDomainException.CommentNotFoundException(commentId));
+        String path = root.getPath() != null ? root.getPath() : root.getId();
+        List<CommentEntity> descendants = commentJpaRepository.findActiveDescendantsByPath(
+                path, PageRequest.of(0, maxSize));
+        
+        Map<String, CommentTreeDto> nodes = new HashMap<>();
+        CommentTreeDto tree = buildCommentTree(List.of(root), descendants, root.getDepth(), nodes).get(0);
+        fillCounts(nodes.values());
+        return tree;
+    }
+    
+    /**
+     * 从读模型按物化路径读取子树；读模型不可用、滞后超过水位或缺少路径时返回null走数据库
+     */
+    private CommentTreeDto getCommentSubtreeFromReadModel(String commentId, int maxSize) {
+        if (!readModelEnabled()) {
+            return null;
+        }
+        try {
+            CommentSearchService searchService = commentSearchService.getObject();
+            CommentReadModel root = searchService.getComment(commentId).orElse(null);
+            if (root == null || root.getPath() == null || !readModelWatermark.getObject().isFresh(root.getArticleId())) {
+                return null;
+            }
+            List<CommentReadModel> descendants = searchService.getDescendants(root.getPath(),
+                    PageRequest.of(0, maxSize, Sort.by("level", "createdAt"))).getContent();
+            
+            Map<String, long[]> counts = new HashMap<>();
+            List<CommentEntity> entities = new ArrayList<>(descendants.size());
+            for (CommentReadModel comment : descendants) {
+                entities.add(toCommentEntity(comment));
+                counts.put(comment.getId(), readModelCounts(comment));
+            }
+            counts.put(root.getId(), readModelCounts(root));
+            
+            Map<String, CommentTreeDto> nodes = new HashMap<>();
+            CommentTreeDto tree = buildCommentTree(List.of(toCommentEntity(root)), entities,
+                    root.getLevel() != null ? root.getLevel() : 0, nodes).get(0);
+            applyCounts(nodes.values(), counts);
+            return tree;
+        } catch (Exception e) {
+            logger.warn("从读模型读取评论子树失败，回退到数据库: {}", e.getMessage());
+            return null;
+        }
     }
     
     /**
@@ -166,11 +353,17 @@ public class CommentApplicationService {
      */
     @Transactional(readOnly = true)
     public CommentDto getCommentById(String commentId) {
+        // 布隆过滤器判定不存在的ID不再查询数据库
+        if (!existenceFilterService.mightContain(CommentExistenceFilterSource.NAME, commentId)) {
+            throw new CommentDomainException.CommentNotFoundException(commentId);
+        }
         CommentId id = new CommentId(commentId);
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new CommentDomainException.CommentNotFoundException(commentId));
         
-        return toCommentDto(comment);
+        CommentDto dto = toCommentDto(comment);
+        withCounts(List.of(dto));
+        return dto;
     }
     
     /**
@@ -178,16 +371,75 @@ public class CommentApplicationService {
      */
     @Transactional(readOnly = true)
     public PageResult<CommentDto> getCommentsByAuthorId(String authorId, int page, int size) {
+        return getCommentsByAuthorId(authorId, page, size, TotalMode.EXACT);
+    }
+    
+    /**
+     * 获取用户的评论列表，totalMode为APPROX或NONE时不执行COUNT
+     */
+    @Transactional(readOnly = true)
+    public PageResult<CommentDto> getCommentsByAuthorId(String authorId, int page, int size, TotalMode totalMode) {
+        PageResult<CommentDto> readModelPage = fromReadModel(null, () -> toPageResult(
+                commentSearchService.getObject().getCommentsByAuthor(authorId,
+                        PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"))), totalMode));
+        if (readModelPage != null) {
+            return readModelPage;
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
+        if (totalMode != TotalMode.EXACT) {
+            return toPageResult(commentJpaRepository.sliceByAuthorId(authorId, pageable), totalMode,
+                    COMMENT_COUNT_CACHE_PREFIX + "author:" + authorId,
+                    () -> commentJpaRepository.countByAuthorId(authorId));
+        }
         Page<CommentEntity> commentPage = commentJpaRepository.findByAuthorId(authorId, pageable);
         
-        List<CommentDto> commentDtos = commentPage.getContent().stream()
+        List<CommentDto> commentDtos = withCounts(commentPage.getContent().stream()
                 .map(this::toCommentDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
         
         return new PageResult<>(commentDtos, page, size, commentPage.getTotalElements());
     }
     
+    /**
+     * 游标分页获取用户的评论，按(createdAt, id)倒序，不执行COUNT；after为空表示第一页
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getCommentsByAuthorIdAfter(String authorId, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Pageable pageable = PageRequest.of(0, cursorPageSize(size));
+        Slice<CommentEntity> slice = cursor == null
+                ? commentJpaRepository.findCommentSliceByAuthorId(authorId, pageable)
+                : commentJpaRepository.findCommentSliceByAuthorIdAfter(
+                        authorId, cursor.getSortKey(), cursor.getId(), pageable);
+        CursorPage<CommentDto> commentPage = CursorPage.from(slice, this::toCommentDto,
+                entity -> KeysetCursor.of(entity.getCreatedAt(), entity.getId()));
+        withCounts(commentPage.getContent());
+        return commentPage;
+    }
+    
+    /**
+     * 由不带COUNT的分页结果构建PageResult；近似总数不少于已经翻过的条数，避免与hasNext矛盾
+     */
+    private PageResult<CommentDto> toPageResult(Slice<CommentEntity> slice, TotalMode totalMode,
+                                                String countKey, LongSupplier exactCount) {
+        List<CommentDto> commentDtos = withCounts(slice.getContent().stream()
+                .map(this::toCommentDto)
+                .collect(Collectors.toList()));
+        
+        long total = -1;
+        if (totalMode == TotalMode.APPROX) {
+            long approximate = approximateCountService.count(countKey, exactCount);
+            long seen = (long) slice.getNumber() * slice.getSize() + commentDtos.size() + (slice.hasNext() ? 1 : 0);
+            total = Math.max(approximate, seen);
+        }
+        return new PageResult<>(commentDtos, slice.getNumber(), slice.getSize(), total, slice.hasNext());
+    }
+    
+    private static int cursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+    
     /**
      * 删除评论
      */
@@ -209,6 +461,7 @@ public class CommentApplicationService {
         Comment savedComment = commentRepository.save(comment);
         
         // 发布领域事件
+        recordReadModelWrite(savedComment);
         eventPublisher.publishEvents(savedComment);
         
         // 发布评论删除事件
@@ -243,6 +496,7 @@ public class CommentApplicationService {
         Comment savedComment = commentRepository.save(comment);
         
         // 发布领域事件
+        recordReadModelWrite(savedComment);
         eventPublisher.publishEvents(savedComment);
         
         // 发布评论审核事件
@@ -259,43 +513,197 @@ public class CommentApplicationService {
     }
     
     /**
-     * 构建评论树形结构
+     * 由缓存的评论树快照还原树形结构，快照中父节点总排在子节点之前，一次顺序扫描即可
      */
-    private List<CommentTreeDto> buildCommentTree(List<CommentEntity> comments) {
-        // 按父子关系分组
-        Map<String, List<CommentEntity>> commentsByParent = comments.stream()
-                .collect(Collectors.groupingBy(
-                        comment -> comment.getParentId() != null ? comment.getParentId() : "ROOT"
-                ));
-        
-        // 获取根评论
-        List<CommentEntity> rootComments = commentsByParent.getOrDefault("ROOT", new ArrayList<>());
-        
-        // 构建树形结构
-        return rootComments.stream()
-                .map(comment -> buildCommentTreeNode(comment, commentsByParent, 0))
-                .collect(Collectors.toList());
+    private List<CommentTreeDto> toCommentTree(CommentTreeSnapshot snapshot) {
+        CommentTreeDto[] nodes = new CommentTreeDto[snapshot.size()];
+        List<CommentTreeDto> roots = new ArrayList<>();
+        for (int i = 0; i < nodes.length; i++) {
+            CommentTreeDto node = new CommentTreeDto(snapshot.getId(i), snapshot.getArticleId(), snapshot.getAuthorId(i),
+                    null, snapshot.getContent(i), CommentStatus.ACTIVE, snapshot.getCreatedAt(i),
+                    snapshot.getUpdatedAt(i), 0, snapshot.getLevel(i));
+            nodes[i] = node;
+            int parentIndex = snapshot.getParentIndex(i);
+            if (parentIndex == CommentTreeSnapshot.NO_PARENT) {
+                roots.add(node);
+            } else {
+                nodes[parentIndex].addChild(node);
+            }
+        }
+        fillLikeCounts(Arrays.asList(nodes));
+        return roots;
+    }
+    
+    /**
+     * 由一页顶层评论及其前几条回复构建游标分页结果，回复数用一次分组COUNT补齐
+     */
+    private CursorPage<CommentTreeDto> toTreePage(Slice<CommentEntity> slice, int repliesPerComment, int baseLevel) {
+        List<CommentEntity> tops = slice.getContent();
+        int perParent = Math.max(0, Math.min(repliesPerComment, MAX_TREE_REPLIES));
+        List<CommentEntity> replies = tops.isEmpty() || perParent == 0
+                ? List.of()
+                : commentJpaRepository.findTopActiveRepliesByParentIds(
+                        tops.stream().map(CommentEntity::getId).collect(Collectors.toList()), perParent);
+        
+        Map<String, CommentTreeDto> nodes = new HashMap<>();
+        buildCommentTree(tops, replies, baseLevel, nodes);
+        fillCounts(nodes.values());
+        return CursorPage.from(slice, entity -> nodes.get(entity.getId()),
+                entity -> KeysetCursor.of(entity.getCreatedAt(), entity.getId()));
     }
     
     /**
-     * 构建评论树节点
+     * 构建评论树形结构：先为所有评论建节点，再按parentId挂到父节点下，最后按层设置level，
+     * 全程O(n)且不递归。父评论不在结果中的回复（如父评论已隐藏）会被丢弃；nodes收集全部节点
      */
-    private CommentTreeDto buildCommentTreeNode(CommentEntity comment, 
-                                              Map<String, List<CommentEntity>> commentsByParent, 
-                                              int level) {
-        CommentTreeDto node = toCommentTreeDto(comment, level);
+    private List<CommentTreeDto> buildCommentTree(List<CommentEntity> tops, List<CommentEntity> descendants,
+                                                  int baseLevel, Map<String, CommentTreeDto> nodes) {
+        List<CommentTreeDto> roots = new ArrayList<>(tops.size());
+        for (CommentEntity comment : tops) {
+            CommentTreeDto node = toCommentTreeDto(comment, baseLevel);
+            nodes.put(comment.getId(), node);
+            roots.add(node);
+        }
+        for (CommentEntity comment : descendants) {
+            nodes.putIfAbsent(comment.getId(), toCommentTreeDto(comment, baseLevel));
+        }
         
-        // 获取子评论
-        List<CommentEntity> children = commentsByParent.getOrDefault(comment.getId(), new ArrayList<>());
+        for (CommentEntity comment : descendants) {
+            CommentTreeDto parent = nodes.get(comment.getParentId());
+            if (parent != null) {
+                parent.addChild(nodes.get(comment.getId()));
+            }
+        }
         
-        // 递归构建子节点
-        List<CommentTreeDto> childNodes = children.stream()
-                .map(child -> buildCommentTreeNode(child, commentsByParent, level + 1))
+        Set<String> reachable = new HashSet<>();
+        Deque<CommentTreeDto> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            CommentTreeDto node = queue.poll();
+            reachable.add(node.getId());
+            for (CommentTreeDto child : node.getChildren()) {
+                child.setLevel(node.getLevel() + 1);
+                queue.add(child);
+            }
+        }
+        nodes.keySet().retainAll(reachable);
+        return roots;
+    }
+    
+    /**
+     * 批量补齐节点的点赞数、直接回复数以及继续加载回复所需的游标
+     */
+    private void fillCounts(Collection<CommentTreeDto> nodes) {
+        applyCounts(nodes, loadCounts(nodes.stream().map(CommentTreeDto::getId).collect(Collectors.toList())));
+    }
+    
+    private void applyCounts(Collection<CommentTreeDto> nodes, Map<String, long[]> counts) {
+        for (CommentTreeDto node : nodes) {
+            List<CommentTreeDto> children = node.getChildren();
+            long[] count = counts.getOrDefault(node.getId(), NO_COUNTS);
+            node.setLikeCount((int) count[0]);
+            node.setReplyCount(count[1]);
+            node.setHasMoreReplies(count[1] > children.size());
+            if (!children.isEmpty()) {
+                CommentTreeDto last = children.get(children.size() - 1);
+                node.setRepliesCursor(KeysetCursor.of(last.getCreatedAt(), last.getId()).encode());
+            }
+        }
+    }
+    
+    /**
+     * 完整评论树已包含全部活跃回复，回复数即子节点数，只需批量读取点赞数
+     */
+    private void fillLikeCounts(Collection<CommentTreeDto> nodes) {
+        Map<String, Long> likeCounts = new HashMap<>();
+        List<String> ids = nodes.stream().map(CommentTreeDto::getId).collect(Collectors.toList());
+        for (int from = 0; from < ids.size(); from += COUNT_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(from + COUNT_BATCH_SIZE, ids.size()));
+            for (Object[] row : commentStatisticsJpaRepository.findLikeCountsByCommentIds(batch)) {
+                likeCounts.put((String) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        for (CommentTreeDto node : nodes) {
+            node.setLikeCount(likeCounts.getOrDefault(node.getId(), 0L).intValue());
+            node.setReplyCount(node.getChildrenCount());
+        }
+    }
+    
+    /**
+     * 将点赞数和回复数合并到评论DTO，整页只查询一次
+     */
+    private List<CommentDto> withCounts(List<CommentDto> comments) {
+        Map<String, long[]> counts = loadCounts(comments.stream().map(CommentDto::getId).collect(Collectors.toList()));
+        for (CommentDto comment : comments) {
+            long[] count = counts.getOrDefault(comment.getId(), NO_COUNTS);
+            comment.setLikeCount((int) count[0]);
+            comment.setReplyCount((int) count[1]);
+        }
+        return comments;
+    }
+    
+    /**
+     * 批量读取评论的[点赞数, 活跃直接回复数]：点赞数来自comment_statistics，
+     * 回复数在同一条语句中按parent_id索引计数
+     */
+    private Map<String, long[]> loadCounts(List<String> commentIds) {
+        Map<String, long[]> counts = new HashMap<>();
+        for (int from = 0; from < commentIds.size(); from += COUNT_BATCH_SIZE) {
+            List<String> batch = commentIds.subList(from, Math.min(from + COUNT_BATCH_SIZE, commentIds.size()));
+            for (Object[] row : commentJpaRepository.findCommentCountsByIds(batch)) {
+                counts.put((String) row[0], new long[] {((Number) row[1]).longValue(), ((Number) row[2]).longValue()});
+            }
+        }
+        return counts;
+    }
+    
+    private boolean readModelEnabled() {
+        return cqrsEnabled && commentSearchService.getIfAvailable() != null
+                && readModelWatermark.getIfAvailable() != null;
+    }
+    
+    /**
+     * CQRS读路径：读模型滞后在水位之内时执行查询（articleId为空时按全局水位判断），
+     * 读模型不可用、滞后或查询失败时返回null，由调用方回退到数据库
+     */
+    private <T> T fromReadModel(String articleId, Supplier<T> query) {
+        if (!readModelEnabled()) {
+            return null;
+        }
+        CommentReadModelWatermark watermark = readModelWatermark.getObject();
+        boolean fresh = articleId != null ? watermark.isFresh(articleId) : watermark.isFresh();
+        if (!fresh) {
+            return null;
+        }
+        try {
+            return query.get();
+        } catch (Exception e) {
+            logger.warn("从读模型读取评论失败，回退到数据库: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private PageResult<CommentDto> toPageResult(Page<CommentReadModel> readModelPage, TotalMode totalMode) {
+        List<CommentDto> commentDtos = readModelPage.getContent().stream()
+                .map(this::toCommentDto)
                 .collect(Collectors.toList());
-        
-        node.setChildren(childNodes);
-        
-        return node;
+        long total = totalMode == TotalMode.NONE ? -1 : readModelPage.getTotalElements();
+        return new PageResult<>(commentDtos, readModelPage.getNumber(), readModelPage.getSize(), total,
+                readModelPage.hasNext());
+    }
+    
+    /**
+     * 写库后登记读模型待同步水位，需在发布同步事件之前调用
+     */
+    private void recordReadModelWrite(Comment comment) {
+        readModelWatermark.ifAvailable(watermark ->
+                watermark.recordWrite(comment.getArticleId().getValue(), comment.getId().getValue()));
+    }
+    
+    /**
+     * 记录新评论ID到存在性过滤器
+     */
+    private void recordExistence(Comment comment) {
+        existenceFilterService.put(CommentExistenceFilterSource.NAME, comment.getId().getValue());
     }
     
     /**
@@ -348,10 +756,6 @@ public class CommentApplicationService {
         dto.setCreatedAt(comment.getCreatedAt());
         dto.setUpdatedAt(comment.getUpdatedAt());
         
-        // 统计信息（这里简化处理，实际应该从统计表获取）
-        dto.setLikeCount(0);
-        dto.setReplyCount(0);
-        
         return dto;
     }
     
@@ -369,13 +773,50 @@ public class CommentApplicationService {
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
         
-        // 统计信息（这里简化处理）
-        dto.setLikeCount(0);
-        dto.setReplyCount(0);
-        
         return dto;
     }
     
+    /**
+     * 转换为CommentDto（从读模型），统计数随读模型同步
+     */
+    private CommentDto toCommentDto(CommentReadModel readModel) {
+        CommentDto dto = new CommentDto();
+        dto.setId(readModel.getId());
+        dto.setArticleId(readModel.getArticleId());
+        dto.setAuthorId(readModel.getAuthorId());
+        dto.setAuthorName(readModel.getAuthorName());
+        dto.setContent(readModel.getContent());
+        dto.setParentId(readModel.getParentId());
+        dto.setStatus(CommentStatus.valueOf(readModel.getStatus()));
+        dto.setCreatedAt(readModel.getCreatedAt());
+        dto.setUpdatedAt(readModel.getUpdatedAt());
+        long[] counts = readModelCounts(readModel);
+        dto.setLikeCount((int) counts[0]);
+        dto.setReplyCount((int) counts[1]);
+        return dto;
+    }
+    
+    private static long[] readModelCounts(CommentReadModel readModel) {
+        return new long[] {
+                readModel.getLikeCount() != null ? readModel.getLikeCount() : 0,
+                readModel.getReplyCount() != null ? readModel.getReplyCount() : 0};
+    }
+    
+    /**
+     * 读模型转为未托管的实体，以复用树组装逻辑
+     */
+    private static CommentEntity toCommentEntity(CommentReadModel readModel) {
+        CommentEntity entity = new CommentEntity(readModel.getId(), readModel.getArticleId(),
+                readModel.getAuthorId(), readModel.getContent());
+        entity.setParentId(readModel.getParentId());
+        entity.setStatus(CommentStatus.valueOf(readModel.getStatus()));
+        entity.setCreatedAt(readModel.getCreatedAt());
+        entity.setUpdatedAt(readModel.getUpdatedAt());
+        entity.setPath(readModel.getPath());
+        entity.setDepth(readModel.getLevel() != null ? readModel.getLevel() : 0);
+        return entity;
+    }
+    
     /**
      * 转换为CommentTreeDto
      */
@@ -390,9 +831,6 @@ public class CommentApplicationService {
         dto.setUpdatedAt(entity.getUpdatedAt());
         dto.setLevel(level);
         
-        // 统计信息（这里简化处理）
-        dto.setLikeCount(0);
-        
         return dto;
     }
 }
\ No newline at end of file
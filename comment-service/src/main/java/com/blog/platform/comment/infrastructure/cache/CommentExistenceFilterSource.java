@@ -0,0 +1,34 @@
+package com.blog.platform.comment.infrastructure.cache;
+
+import com.blog.platform.comment.infrastructure.persistence.repository.CommentJpaRepository;
+import com.blog.platform.common.cache.PagedExistenceFilterSource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 评论ID存在性过滤器数据源
+ */
+@Component
+public class CommentExistenceFilterSource extends PagedExistenceFilterSource {
+    
+    public static final String NAME = "comment";
+    
+    private final CommentJpaRepository commentJpaRepository;
+    
+    public CommentExistenceFilterSource(CommentJpaRepository commentJpaRepository) {
+        super(NAME);
+        this.commentJpaRepository = commentJpaRepository;
+    }
+    
+    @Override
+    protected long countIds() {
+        return commentJpaRepository.count();
+    }
+    
+    @Override
+    protected List<String> findIdsAfter(String afterId, Pageable pageable) {
+        return commentJpaRepository.findIdsAfter(afterId, pageable);
+    }
+}
@@ -0,0 +1,191 @@
+package com.blog.platform.comment.infrastructure.cache;
+
+import com.blog.platform.comment.infrastructure.persistence.entity.CommentEntity;
+import com.blog.platform.comment.infrastructure.persistence.repository.CommentJpaRepository;
+import com.blog.platform.common.cache.CacheService;
+import com.blog.platform.common.domain.comment.CommentCreatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * 文章评论树缓存
+ * 每篇文章缓存一份{@link CommentTreeSnapshot}，评论新增、删除、审核事件到达时在文章锁内
+ * 读取当前快照、生成新版本并整体写回，而不是删除缓存等待下次重建；
+ * 原地更新不延长过期时间，快照至多在TTL后从数据库完整重建一次，纠正可能的偏差。
+ * 无法原地更新（父评论不在树中、恢复被隐藏的评论、拿不到锁）时删除缓存，由下次读取重建。
+ * 删除前先递增文章的失效代数；重建在查询数据库前和写入缓存后各读取一次代数，
+ * 不一致说明期间有事件删除过缓存，刚写入的快照可能缺少该事件，随即删除，避免持锁较久的重建把旧快照写回缓存
+ */
+@Component
+public class CommentTreeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentTreeCache.class);
+
+    private static final String KEY_PREFIX = "comment:tree:";
+
+    private static final String GENERATION_PREFIX = "comment:tree:generation:";
+
+    private static final Duration LOCK_TTL = Duration.ofSeconds(5);
+
+    private static final int LOCK_ATTEMPTS = 3;
+
+    private static final long LOCK_RETRY_MILLIS = 20;
+
+    private final CacheService cacheService;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final CommentJpaRepository commentJpaRepository;
+
+    private final Duration ttl;
+
+    private final int maxNodes;
+
+    public CommentTreeCache(CacheService cacheService,
+                            RedisTemplate<String, Object> redisTemplate,
+                            CommentJpaRepository commentJpaRepository,
+                            @Value("${comment-service.tree-cache.ttl-minutes:30}") long ttlMinutes,
+                            @Value("${comment-service.tree-cache.max-nodes:5000}") int maxNodes) {
+        this.cacheService = cacheService;
+        this.redisTemplate = redisTemplate;
+        this.commentJpaRepository = commentJpaRepository;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * 读取文章的评论树快照。未命中时在文章锁内从数据库构建并写入缓存；
+     * 拿不到锁（有事件正在更新）、节点数超过上限或读不到失效代数时返回不缓存的快照
+     */
+    public CommentTreeSnapshot get(String articleId) {
+        String key = cacheKey(articleId);
+        CommentTreeSnapshot cached = cacheService.get(key, CommentTreeSnapshot.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        String lockValue = UUID.randomUUID().toString();
+        if (!cacheService.tryLock(key, lockValue, LOCK_TTL)) {
+            return load(articleId);
+        }
+        try {
+            cached = cacheService.get(key, CommentTreeSnapshot.class);
+            if (cached != null) {
+                return cached;
+            }
+            Long generation = generation(articleId);
+            CommentTreeSnapshot snapshot = load(articleId);
+            if (generation != null && snapshot.size() <= maxNodes) {
+                cacheService.set(key, snapshot, ttl);
+                // 写入后再比较，写入前后发生的删除都能被发现
+                if (!generation.equals(generation(articleId))) {
+                    logger.debug("评论树重建期间缓存被删除，丢弃快照: {}", articleId);
+                    cacheService.delete(key);
+                }
+            }
+            return snapshot;
+        } finally {
+            cacheService.releaseLock(key, lockValue);
+        }
+    }
+
+    /**
+     * 新评论追加到已缓存的树中
+     */
+    public void applyCreated(CommentCreatedEvent event) {
+        update(event.getArticleId(), snapshot -> snapshot.size() >= maxNodes ? null
+                : snapshot.withComment(event.getAggregateId(), event.getParentId(), event.getAuthorId(),
+                        event.getContent(), event.getOccurredOn()));
+    }
+
+    /**
+     * 评论被删除或隐藏时从树中移除该评论及其回复
+     */
+    public void applyRemoved(String articleId, String commentId) {
+        update(articleId, snapshot -> snapshot.withoutSubtree(commentId));
+    }
+
+    public void evict(String articleId) {
+        try {
+            String generationKey = GENERATION_PREFIX + articleId;
+            redisTemplate.opsForValue().increment(generationKey);
+            redisTemplate.expire(generationKey, ttl);
+        } catch (Exception e) {
+            logger.warn("递增评论树失效代数失败: articleId={}, error={}", articleId, e.getMessage());
+        }
+        cacheService.delete(cacheKey(articleId));
+    }
+
+    private void update(String articleId, UnaryOperator<CommentTreeSnapshot> change) {
+        String key = cacheKey(articleId);
+        String lockValue = UUID.randomUUID().toString();
+        if (!acquire(key, lockValue)) {
+            logger.warn("评论树缓存加锁失败，删除缓存等待重建: {}", articleId);
+            evict(articleId);
+            return;
+        }
+        try {
+            CommentTreeSnapshot current = cacheService.get(key, CommentTreeSnapshot.class);
+            if (current == null) {
+                return;
+            }
+            CommentTreeSnapshot next = change.apply(current);
+            if (next == null) {
+                evict(articleId);
+            } else if (next != current) {
+                long remainingSeconds = cacheService.getExpire(key);
+                cacheService.set(key, next, remainingSeconds > 0 ? Duration.ofSeconds(remainingSeconds) : ttl);
+                logger.debug("评论树缓存已更新: {} v{}", articleId, next.getVersion());
+            }
+        } finally {
+            cacheService.releaseLock(key, lockValue);
+        }
+    }
+
+    private boolean acquire(String key, String lockValue) {
+        for (int attempt = 0; attempt < LOCK_ATTEMPTS; attempt++) {
+            if (cacheService.tryLock(key, lockValue, LOCK_TTL)) {
+                return true;
+            }
+            try {
+                Thread.sleep(LOCK_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取文章当前的失效代数，Redis不可用时返回null
+     */
+    private Long generation(String articleId) {
+        try {
+            String generationKey = GENERATION_PREFIX + articleId;
+            Long generation = redisTemplate.opsForValue().increment(generationKey, 0);
+            redisTemplate.expire(generationKey, ttl);
+            return generation;
+        } catch (Exception e) {
+            logger.warn("读取评论树失效代数失败: articleId={}, error={}", articleId, e.getMessage());
+            return null;
+        }
+    }
+
+    private CommentTreeSnapshot load(String articleId) {
+        List<CommentEntity> comments = commentJpaRepository.findActiveCommentsByArticleId(articleId);
+        return CommentTreeSnapshot.of(articleId, 1, comments);
+    }
+
+    private static String cacheKey(String articleId) {
+        return KEY_PREFIX + articleId;
+    }
+}
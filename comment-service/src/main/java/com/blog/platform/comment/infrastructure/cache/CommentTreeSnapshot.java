@@ -0,0 +1,214 @@
+package com.blog.platform.comment.infrastructure.cache;
+
+import com.blog.platform.comment.infrastructure.persistence.entity.CommentEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章评论树的不可变快照，以并列数组保存节点：id、父节点下标、层级及展示字段。
+ * 节点按父先子后的顺序排列（父节点下标总小于子节点），一次顺序扫描即可还原树或剔除子树。
+ * 每次修改都生成version加一的新快照整体替换，读取方不会看到修改了一半的结构
+ */
+public class CommentTreeSnapshot {
+
+    public static final int NO_PARENT = -1;
+
+    private String articleId;
+    private long version;
+    private String[] ids;
+    private int[] parentIndexes;
+    private int[] levels;
+    private String[] authorIds;
+    private String[] contents;
+    private LocalDateTime[] createdAts;
+    private LocalDateTime[] updatedAts;
+
+    public CommentTreeSnapshot() {}
+
+    private CommentTreeSnapshot(String articleId, long version, int size) {
+        this.articleId = articleId;
+        this.version = version;
+        this.ids = new String[size];
+        this.parentIndexes = new int[size];
+        this.levels = new int[size];
+        this.authorIds = new String[size];
+        this.contents = new String[size];
+        this.createdAts = new LocalDateTime[size];
+        this.updatedAts = new LocalDateTime[size];
+    }
+
+    /**
+     * 由文章的活跃评论（按创建时间正序）构建快照；父评论不在列表中的回复会被丢弃
+     */
+    public static CommentTreeSnapshot of(String articleId, long version, List<CommentEntity> comments) {
+        Map<String, List<CommentEntity>> childrenByParent = new HashMap<>();
+        List<CommentEntity> roots = new ArrayList<>();
+        for (CommentEntity comment : comments) {
+            if (comment.getParentId() == null) {
+                roots.add(comment);
+            } else {
+                childrenByParent.computeIfAbsent(comment.getParentId(), key -> new ArrayList<>()).add(comment);
+            }
+        }
+
+        // 按层遍历保证父节点先于子节点写入
+        List<CommentEntity> ordered = new ArrayList<>(comments.size());
+        Map<String, Integer> indexById = new HashMap<>();
+        Deque<CommentEntity> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            CommentEntity comment = queue.poll();
+            indexById.put(comment.getId(), ordered.size());
+            ordered.add(comment);
+            queue.addAll(childrenByParent.getOrDefault(comment.getId(), List.of()));
+        }
+
+        CommentTreeSnapshot snapshot = new CommentTreeSnapshot(articleId, version, ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            CommentEntity comment = ordered.get(i);
+            int parentIndex = comment.getParentId() == null ? NO_PARENT : indexById.get(comment.getParentId());
+            snapshot.ids[i] = comment.getId();
+            snapshot.parentIndexes[i] = parentIndex;
+            snapshot.levels[i] = parentIndex == NO_PARENT ? 0 : snapshot.levels[parentIndex] + 1;
+            snapshot.authorIds[i] = comment.getAuthorId();
+            snapshot.contents[i] = comment.getContent();
+            snapshot.createdAts[i] = comment.getCreatedAt();
+            snapshot.updatedAts[i] = comment.getUpdatedAt();
+        }
+        return snapshot;
+    }
+
+    /**
+     * 追加一条评论，返回新版本快照；评论已存在时原样返回（事件重复投递），
+     * 父评论不在树中时返回null，需要从数据库重建
+     */
+    public CommentTreeSnapshot withComment(String commentId, String parentId, String authorId,
+                                           String content, LocalDateTime createdAt) {
+        if (indexOf(commentId) >= 0) {
+            return this;
+        }
+        int parentIndex = NO_PARENT;
+        if (parentId != null) {
+            parentIndex = indexOf(parentId);
+            if (parentIndex < 0) {
+                return null;
+            }
+        }
+
+        int size = size();
+        CommentTreeSnapshot next = new CommentTreeSnapshot(articleId, version + 1, size + 1);
+        copyRange(this, next, size);
+        next.ids[size] = commentId;
+        next.parentIndexes[size] = parentIndex;
+        next.levels[size] = parentIndex == NO_PARENT ? 0 : levels[parentIndex] + 1;
+        next.authorIds[size] = authorId;
+        next.contents[size] = content;
+        next.createdAts[size] = createdAt;
+        next.updatedAts[size] = createdAt;
+        return next;
+    }
+
+    /**
+     * 移除一条评论及其全部回复，返回新版本快照；评论不在树中时原样返回
+     */
+    public CommentTreeSnapshot withoutSubtree(String commentId) {
+        int target = indexOf(commentId);
+        if (target < 0) {
+            return this;
+        }
+
+        int size = size();
+        int[] remap = new int[size];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            boolean removed = i == target || (parentIndexes[i] != NO_PARENT && remap[parentIndexes[i]] < 0);
+            remap[i] = removed ? -1 : kept++;
+        }
+
+        CommentTreeSnapshot next = new CommentTreeSnapshot(articleId, version + 1, kept);
+        for (int i = 0; i < size; i++) {
+            int j = remap[i];
+            if (j < 0) {
+                continue;
+            }
+            next.ids[j] = ids[i];
+            next.parentIndexes[j] = parentIndexes[i] == NO_PARENT ? NO_PARENT : remap[parentIndexes[i]];
+            next.levels[j] = levels[i];
+            next.authorIds[j] = authorIds[i];
+            next.contents[j] = contents[i];
+            next.createdAts[j] = createdAts[i];
+            next.updatedAts[j] = updatedAts[i];
+        }
+        return next;
+    }
+
+    private int indexOf(String commentId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i].equals(commentId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void copyRange(CommentTreeSnapshot from, CommentTreeSnapshot to, int length) {
+        System.arraycopy(from.ids, 0, to.ids, 0, length);
+        System.arraycopy(from.parentIndexes, 0, to.parentIndexes, 0, length);
+        System.arraycopy(from.levels, 0, to.levels, 0, length);
+        System.arraycopy(from.authorIds, 0, to.authorIds, 0, length);
+        System.arraycopy(from.contents, 0, to.contents, 0, length);
+        System.arraycopy(from.createdAts, 0, to.createdAts, 0, length);
+        System.arraycopy(from.updatedAts, 0, to.updatedAts, 0, length);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public String getArticleId() {
+        return articleId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getId(int index) {
+        return ids[index];
+    }
+
+    public int getParentIndex(int index) {
+        return parentIndexes[index];
+    }
+
+    public int getLevel(int index) {
+        return levels[index];
+    }
+
+    public String getAuthorId(int index) {
+        return authorIds[index];
+    }
+
+    public String getContent(int index) {
+        return contents[index];
+    }
+
+    public LocalDateTime getCreatedAt(int index) {
+        return createdAts[index];
+    }
+
+    public LocalDateTime getUpdatedAt(int index) {
+        return updatedAts[index];
+    }
+
+    @Override
+    public String toString() {
+        return "CommentTreeSnapshot{articleId='" + articleId + "', version=" + version
+                + ", size=" + ids.length + "}";
+    }
+}
@@ -46,7 +46,7 @@ public class CommentReadModel {
     @Field(type = FieldType.Integer)
     private Integer level = 0;
     
-    @Field(type = FieldType.Text)
+    @Field(type = FieldType.Keyword)
     private String path;
     
     public CommentReadModel() {}
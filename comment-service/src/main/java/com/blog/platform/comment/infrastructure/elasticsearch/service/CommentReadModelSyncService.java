@@ -26,21 +26,38 @@ public class CommentReadModelSyncService {
     @Autowired
     private CommentJpaRepository commentJpaRepository;
     
+    @Autowired(required = false)
+    private CommentReadModelWatermark watermark;
+    
     /**
      * Sync single comment to read model
      */
     @Transactional(readOnly = true)
     public void syncComment(String commentId) {
+        syncComment(null, commentId);
+    }
+    
+    /**
+     * Sync single comment to read model, refreshing the parent's reply count and
+     * acknowledging the write watermark of the article on success
+     */
+    @Transactional(readOnly = true)
+    public void syncComment(String articleId, String commentId) {
         try {
             Optional<CommentEntity> commentOpt = commentJpaRepository.findByIdWithStatistics(commentId);
             if (commentOpt.isPresent()) {
                 CommentEntity comment = commentOpt.get();
                 CommentReadModel readModel = convertToReadModel(comment);
                 readModelRepository.save(readModel);
+                if (comment.getParentId() != null) {
+                    refreshComment(comment.getParentId());
+                }
+                markSynced(comment.getArticleId(), commentId);
                 logger.info("Synced comment {} to read model", commentId);
             } else {
                 // Comment might have been deleted, remove from read model
                 readModelRepository.deleteById(commentId);
+                markSynced(articleId, commentId);
                 logger.info("Removed comment {} from read model", commentId);
             }
         } catch (Exception e) {
@@ -76,14 +93,40 @@ public class CommentReadModelSyncService {
      * Remove comment from read model
      */
     public void removeComment(String commentId) {
+        removeComment(null, commentId, null);
+    }
+    
+    /**
+     * Remove comment from read model and refresh the reply count of its parent
+     */
+    @Transactional(readOnly = true)
+    public void removeComment(String articleId, String commentId, String parentId) {
         try {
             readModelRepository.deleteById(commentId);
+            if (parentId != null) {
+                refreshComment(parentId);
+            }
+            markSynced(articleId, commentId);
             logger.info("Removed comment {} from read model", commentId);
         } catch (Exception e) {
             logger.error("Failed to remove comment {} from read model", commentId, e);
         }
     }
     
+    /**
+     * Re-index an existing comment (e.g. a parent whose reply count changed)
+     */
+    private void refreshComment(String commentId) {
+        commentJpaRepository.findByIdWithStatistics(commentId)
+                .ifPresent(comment -> readModelRepository.save(convertToReadModel(comment)));
+    }
+    
+    private void markSynced(String articleId, String commentId) {
+        if (watermark != null) {
+            watermark.recordSynced(articleId, commentId);
+        }
+    }
+    
     /**
      * Update comment statistics in read model
      */
@@ -120,11 +163,16 @@ public class CommentReadModelSyncService {
         // Set statistics if available
         if (comment.getStatistics() != null) {
             readModel.setLikeCount(comment.getStatistics().getLikeCount());
-            readModel.setReplyCount(comment.getStatistics().getReplyCount());
         }
+        readModel.setReplyCount(commentJpaRepository.countActiveRepliesByParentId(comment.getId()));
         
-        // Calculate hierarchy level and path
-        calculateHierarchyInfo(readModel, comment);
+        // Materialized path maintained on insert; older rows fall back to lookup
+        if (comment.getPath() != null) {
+            readModel.setLevel(comment.getDepth());
+            readModel.setPath(comment.getPath());
+        } else {
+            calculateHierarchyInfo(readModel, comment);
+        }
         
         return readModel;
     }
@@ -0,0 +1,101 @@
+package com.blog.platform.comment.infrastructure.elasticsearch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 评论读模型同步水位
+ * 写库后把评论ID按写入时间记入Redis有序集合（全局一份、每篇文章一份），读模型同步成功后移除；
+ * 集合中最早一条的等待时间即读模型的滞后。滞后超过max-lag-ms时读请求回退到数据库。
+ * 同步消息丢失时条目会一直滞留并持续触发回退（偏向正确性），超过保留时间后自动清理
+ */
+@Component
+@ConditionalOnProperty(name = "comment-service.enableSearch", havingValue = "true")
+public class CommentReadModelWatermark {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentReadModelWatermark.class);
+
+    private static final String PENDING_KEY = "comment:read-model:pending";
+
+    private static final String ARTICLE_PENDING_PREFIX = "comment:read-model:pending:";
+
+    private static final Duration PENDING_RETENTION = Duration.ofHours(1);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final long maxLagMillis;
+
+    public CommentReadModelWatermark(RedisTemplate<String, Object> redisTemplate,
+                                     @Value("${comment-service.read-model.max-lag-ms:3000}") long maxLagMillis) {
+        this.redisTemplate = redisTemplate;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /**
+     * 记录一次待同步的写入；同一评论多次写入保留最早的时间
+     */
+    public void recordWrite(String articleId, String commentId) {
+        long now = System.currentTimeMillis();
+        try {
+            ZSetOperations<String, Object> zSet = redisTemplate.opsForZSet();
+            zSet.addIfAbsent(PENDING_KEY, commentId, now);
+            zSet.removeRangeByScore(PENDING_KEY, 0, now - PENDING_RETENTION.toMillis());
+            String articleKey = ARTICLE_PENDING_PREFIX + articleId;
+            zSet.addIfAbsent(articleKey, commentId, now);
+            redisTemplate.expire(articleKey, PENDING_RETENTION);
+        } catch (Exception e) {
+            logger.warn("记录评论读模型写入水位失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 读模型已应用该评论的最新状态
+     */
+    public void recordSynced(String articleId, String commentId) {
+        try {
+            ZSetOperations<String, Object> zSet = redisTemplate.opsForZSet();
+            zSet.remove(PENDING_KEY, commentId);
+            if (articleId != null) {
+                zSet.remove(ARTICLE_PENDING_PREFIX + articleId, commentId);
+            }
+        } catch (Exception e) {
+            logger.warn("记录评论读模型同步水位失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 文章的读模型滞后是否在允许范围内；无法判断时返回false
+     */
+    public boolean isFresh(String articleId) {
+        return lagMillis(ARTICLE_PENDING_PREFIX + articleId) <= maxLagMillis;
+    }
+
+    /**
+     * 全局读模型滞后是否在允许范围内，用于跨文章的查询（如用户评论历史）
+     */
+    public boolean isFresh() {
+        return lagMillis(PENDING_KEY) <= maxLagMillis;
+    }
+
+    private long lagMillis(String key) {
+        try {
+            Set<ZSetOperations.TypedTuple<Object>> oldest = redisTemplate.opsForZSet().rangeWithScores(key, 0, 0);
+            if (oldest == null || oldest.isEmpty()) {
+                return 0;
+            }
+            Double score = oldest.iterator().next().getScore();
+            return score == null ? 0 : System.currentTimeMillis() - score.longValue();
+        } catch (Exception e) {
+            logger.warn("读取评论读模型水位失败: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+}
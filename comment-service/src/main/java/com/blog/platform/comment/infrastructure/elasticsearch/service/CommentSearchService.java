@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @ConditionalOnProperty(name = "comment-service.enableSearch", havingValue = "true")
@@ -25,6 +26,20 @@ public class CommentSearchService {
         return readModelRepository.findByArticleIdAndStatus(articleId, "ACTIVE", pageable);
     }
     
+    /**
+     * Get a single comment
+     */
+    public Optional<CommentReadModel> getComment(String commentId) {
+        return readModelRepository.findById(commentId);
+    }
+    
+    /**
+     * Get active descendants of a comment by its materialized path
+     */
+    public Page<CommentReadModel> getDescendants(String path, Pageable pageable) {
+        return readModelRepository.findByPathPrefix(path + "/", pageable);
+    }
+    
     /**
      * Get root comments for an article (no parent)
      */
@@ -3,7 +3,9 @@ package com.blog.platform.comment.infrastructure.messaging;
 import com.blog.platform.common.domain.comment.CommentCreatedEvent;
 import com.blog.platform.common.domain.comment.CommentDeletedEvent;
 import com.blog.platform.common.domain.comment.CommentModeratedEvent;
+import com.blog.platform.common.domain.comment.CommentStatus;
 import com.blog.platform.common.messaging.MessageConstants;
+import com.blog.platform.comment.infrastructure.cache.CommentTreeCache;
 import com.blog.platform.comment.infrastructure.elasticsearch.service.CommentReadModelSyncService;
 import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
 import org.apache.rocketmq.spring.core.RocketMQListener;
@@ -30,6 +32,9 @@ public class CommentEventConsumer {
         @Autowired(required = false)
         private CommentReadModelSyncService readModelSyncService;
 
+        @Autowired(required = false)
+        private CommentTreeCache commentTreeCache;
+
         @Override
         public void onMessage(CommentCreatedEvent event) {
             try {
@@ -37,10 +42,14 @@ public class CommentEventConsumer {
                            event.getAggregateId(), event.getArticleId());
                 
                 if (readModelSyncService != null) {
-                    readModelSyncService.syncComment(event.getAggregateId());
+                    readModelSyncService.syncComment(event.getArticleId(), event.getAggregateId());
                     logger.info("Synced comment to read model: {}", event.getAggregateId());
                 }
                 
+                if (commentTreeCache != null) {
+                    commentTreeCache.applyCreated(event);
+                }
+                
                 logger.info("Successfully processed comment created event for comment: {} on article: {}", 
                            event.getAggregateId(), event.getArticleId());
             } catch (Exception e) {
@@ -64,16 +73,23 @@ public class CommentEventConsumer {
         @Autowired(required = false)
         private CommentReadModelSyncService readModelSyncService;
 
+        @Autowired(required = false)
+        private CommentTreeCache commentTreeCache;
+
         @Override
         public void onMessage(CommentDeletedEvent event) {
             try {
                 logger.info("Processing comment deleted event for comment: {}", event.getAggregateId());
                 
                 if (readModelSyncService != null) {
-                    readModelSyncService.removeComment(event.getAggregateId());
+                    readModelSyncService.removeComment(event.getArticleId(), event.getAggregateId(), event.getParentId());
                     logger.info("Removed comment from read model: {}", event.getAggregateId());
                 }
                 
+                if (commentTreeCache != null) {
+                    commentTreeCache.applyRemoved(event.getArticleId(), event.getAggregateId());
+                }
+                
                 logger.info("Successfully processed comment deleted event for comment: {}", event.getAggregateId());
             } catch (Exception e) {
                 logger.error("Failed to process comment deleted event for comment: {}", event.getAggregateId(), e);
@@ -95,6 +111,9 @@ public class CommentEventConsumer {
         @Autowired(required = false)
         private CommentReadModelSyncService readModelSyncService;
 
+        @Autowired(required = false)
+        private CommentTreeCache commentTreeCache;
+
         @Override
         public void onMessage(CommentModeratedEvent event) {
             try {
@@ -102,11 +121,20 @@ public class CommentEventConsumer {
                            event.getAggregateId(), event.getNewStatus());
                 
                 if (readModelSyncService != null) {
-                    readModelSyncService.syncComment(event.getAggregateId());
+                    readModelSyncService.syncComment(event.getArticleId(), event.getAggregateId());
                     logger.info("Updated comment moderation status in read model: {} -> {}", 
                                event.getAggregateId(), event.getNewStatus());
                 }
                 
+                if (commentTreeCache != null) {
+                    // 恢复的评论可能带着整棵回复子树重新出现，交由下次读取重建
+                    if (event.getNewStatus() == CommentStatus.ACTIVE) {
+                        commentTreeCache.evict(event.getArticleId());
+                    } else {
+                        commentTreeCache.applyRemoved(event.getArticleId(), event.getAggregateId());
+                    }
+                }
+                
                 logger.info("Successfully processed comment moderated event for comment: {} with status: {}", 
                            event.getAggregateId(), event.getNewStatus());
             } catch (Exception e) {
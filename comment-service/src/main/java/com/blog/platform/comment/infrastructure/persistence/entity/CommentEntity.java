@@ -17,6 +17,16 @@ import java.util.Set;
 @Where(clause = "deleted_at IS NULL")
 public class CommentEntity {
     
+    /**
+     * 物化路径分隔符，路径形如 rootId/childId/.../selfId
+     */
+    public static final String PATH_SEPARATOR = "/";
+    
+    /**
+     * 最大回复深度，保证路径不超过列长度
+     */
+    public static final int MAX_DEPTH = 50;
+    
     @Id
     @Column(name = "id", length = 36)
     private String id;
@@ -30,6 +40,12 @@ public class CommentEntity {
     @Column(name = "parent_id", length = 36)
     private String parentId;
     
+    @Column(name = "path", length = 1900, updatable = false)
+    private String path;
+    
+    @Column(name = "depth", nullable = false, updatable = false)
+    private int depth;
+    
     @Column(name = "content", columnDefinition = "TEXT", nullable = false)
     private String content;
     
@@ -114,6 +130,22 @@ public class CommentEntity {
         this.parentId = parentId;
     }
     
+    public String getPath() {
+        return path;
+    }
+    
+    public void setPath(String path) {
+        this.path = path;
+    }
+    
+    public int getDepth() {
+        return depth;
+    }
+    
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+    
     public String getContent() {
         return content;
     }
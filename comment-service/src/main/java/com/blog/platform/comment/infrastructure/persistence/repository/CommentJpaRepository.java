@@ -4,12 +4,14 @@ import com.blog.platform.comment.infrastructure.persistence.entity.CommentEntity
 import com.blog.platform.common.domain.comment.CommentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +40,45 @@ public interface CommentJpaRepository extends JpaRepository<CommentEntity, Strin
     @Query("SELECT c FROM CommentEntity c WHERE c.articleId = :articleId AND c.status = 'ACTIVE' ORDER BY c.createdAt ASC")
     Page<CommentEntity> findActiveCommentsByArticleId(@Param("articleId") String articleId, Pageable pageable);
     
+    /**
+     * Page of active comments by article without a count query
+     */
+    @Query("SELECT c FROM CommentEntity c WHERE c.articleId = :articleId AND c.status = 'ACTIVE' ORDER BY c.createdAt ASC")
+    Slice<CommentEntity> sliceActiveCommentsByArticleId(@Param("articleId") String articleId, Pageable pageable);
+    
+    /**
+     * Page of comments by author without a count query
+     */
+    @Query("SELECT c FROM CommentEntity c WHERE c.authorId = :authorId")
+    Slice<CommentEntity> sliceByAuthorId(@Param("authorId") String authorId, Pageable pageable);
+    
+    /**
+     * Keyset page of active comments by article, oldest first (idx_article_status_created)
+     */
+    @Query("SELECT c FROM CommentEntity c WHERE c.articleId = :articleId AND c.status = 'ACTIVE' " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    Slice<CommentEntity> findActiveCommentSliceByArticleId(@Param("articleId") String articleId, Pageable pageable);
+    
+    @Query("SELECT c FROM CommentEntity c WHERE c.articleId = :articleId AND c.status = 'ACTIVE' " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    Slice<CommentEntity> findActiveCommentSliceByArticleIdAfter(@Param("articleId") String articleId,
+                                                                @Param("createdAt") LocalDateTime createdAt,
+                                                                @Param("id") String id, Pageable pageable);
+    
+    /**
+     * Keyset page of comments by author, newest first
+     */
+    @Query("SELECT c FROM CommentEntity c WHERE c.authorId = :authorId ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<CommentEntity> findCommentSliceByAuthorId(@Param("authorId") String authorId, Pageable pageable);
+    
+    @Query("SELECT c FROM CommentEntity c WHERE c.authorId = :authorId " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<CommentEntity> findCommentSliceByAuthorIdAfter(@Param("authorId") String authorId,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") String id, Pageable pageable);
+    
     /**
      * Find comments by author ID
      */
@@ -71,6 +112,64 @@ public interface CommentJpaRepository extends JpaRepository<CommentEntity, Strin
     @Query("SELECT c FROM CommentEntity c WHERE c.articleId = :articleId AND c.parentId IS NULL AND c.status = 'ACTIVE' ORDER BY c.createdAt ASC")
     Page<CommentEntity> findRootCommentsByArticleId(@Param("articleId") String articleId, Pageable pageable);
     
+    /**
+     * Keyset page of active root comments by article, oldest first
+     */
+    @Query("SELECT c FROM CommentEntity c WHERE c.articleId = :articleId AND c.parentId IS NULL AND c.status = 'ACTIVE' " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    Slice<CommentEntity> findRootCommentSliceByArticleId(@Param("articleId") String articleId, Pageable pageable);
+    
+    @Query("SELECT c FROM CommentEntity c WHERE c.articleId = :articleId AND c.parentId IS NULL AND c.status = 'ACTIVE' " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    Slice<CommentEntity> findRootCommentSliceByArticleIdAfter(@Param("articleId") String articleId,
+                                                              @Param("createdAt") LocalDateTime createdAt,
+                                                              @Param("id") String id, Pageable pageable);
+    
+    /**
+     * Keyset page of active direct replies, oldest first (idx_parent_created)
+     */
+    @Query("SELECT c FROM CommentEntity c WHERE c.parentId = :parentId AND c.status = 'ACTIVE' " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    Slice<CommentEntity> findActiveReplySliceByParentId(@Param("parentId") String parentId, Pageable pageable);
+    
+    @Query("SELECT c FROM CommentEntity c WHERE c.parentId = :parentId AND c.status = 'ACTIVE' " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    Slice<CommentEntity> findActiveReplySliceByParentIdAfter(@Param("parentId") String parentId,
+                                                             @Param("createdAt") LocalDateTime createdAt,
+                                                             @Param("id") String id, Pageable pageable);
+    
+    /**
+     * First {@code perParent} active replies of each given parent, in one query
+     */
+    @Query(value = "SELECT * FROM (" +
+                   "SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.parent_id ORDER BY c.created_at ASC, c.id ASC) AS rn " +
+                   "FROM comments c WHERE c.parent_id IN (:parentIds) AND c.status = 'ACTIVE' AND c.deleted_at IS NULL" +
+                   ") r WHERE r.rn <= :perParent ORDER BY r.created_at ASC, r.id ASC",
+           nativeQuery = true)
+    List<CommentEntity> findTopActiveRepliesByParentIds(@Param("parentIds") Collection<String> parentIds,
+                                                        @Param("perParent") int perParent);
+    
+    /**
+     * Like count (comment_statistics) and active direct reply count for a batch of comments in one statement:
+     * rows of [commentId, likeCount, replyCount]
+     */
+    @Query("SELECT c.id, COALESCE(s.likeCount, 0), " +
+           "(SELECT COUNT(r) FROM CommentEntity r WHERE r.parentId = c.id AND r.status = 'ACTIVE') " +
+           "FROM CommentEntity c LEFT JOIN c.statistics s WHERE c.id IN :commentIds")
+    List<Object[]> findCommentCountsByIds(@Param("commentIds") Collection<String> commentIds);
+    
+    /**
+     * Active descendants under a materialized path prefix, parents before children
+     */
+    @Query("SELECT c FROM CommentEntity c WHERE c.path LIKE CONCAT(:path, '/%') AND c.status = 'ACTIVE' " +
+           "ORDER BY c.depth ASC, c.createdAt ASC, c.id ASC")
+    List<CommentEntity> findActiveDescendantsByPath(@Param("path") String path, Pageable pageable);
+    
+    @Query("SELECT c.path FROM CommentEntity c WHERE c.id = :commentId")
+    Optional<String> findPathById(@Param("commentId") String commentId);
+    
     /**
      * Find comment with statistics
      */
@@ -135,4 +234,7 @@ public interface CommentJpaRepository extends JpaRepository<CommentEntity, Strin
     Page<CommentEntity> searchByContent(@Param("keyword") String keyword, Pageable pageable);
     
     long countByStatus(CommentStatus status);
+    
+    @Query("SELECT c.id FROM CommentEntity c WHERE c.id > :afterId ORDER BY c.id")
+    List<String> findIdsAfter(@Param("afterId") String afterId, Pageable pageable);
 }
\ No newline at end of file
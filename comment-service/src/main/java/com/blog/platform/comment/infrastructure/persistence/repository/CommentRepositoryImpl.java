@@ -1,5 +1,6 @@
 package com.blog.platform.comment.infrastructure.persistence.repository;
 
+import com.blog.platform.comment.domain.exception.CommentDomainException;
 import com.blog.platform.comment.domain.repository.CommentRepository;
 import com.blog.platform.comment.infrastructure.persistence.entity.CommentEntity;
 import com.blog.platform.common.domain.article.ArticleId;
@@ -156,7 +157,37 @@ public class CommentRepositoryImpl implements CommentRepository {
         entity.setStatus(comment.getStatus());
         entity.setCreatedAt(comment.getCreatedAt());
         entity.setUpdatedAt(comment.getUpdatedAt());
+        if (isNew(comment)) {
+            assignPath(entity);
+        }
         
         return entity;
     }
+    
+    /**
+     * 新建的评论带有尚未发布的创建事件；已有评论的路径列不可更新，保存时无需再查询父评论
+     */
+    private static boolean isNew(Comment comment) {
+        return comment.getDomainEvents().stream().anyMatch(CommentCreatedEvent.class::isInstance);
+    }
+    
+    /**
+     * 计算物化路径和深度；两列不可更新，仅插入时计算。
+     * 父评论已被删除（软删除的行查不到路径）时拒绝回复，避免写入不以根评论开头的路径
+     */
+    private void assignPath(CommentEntity entity) {
+        if (entity.getParentId() == null) {
+            entity.setPath(entity.getId());
+            entity.setDepth(0);
+            return;
+        }
+        String parentPath = commentJpaRepository.findPathById(entity.getParentId())
+                .orElseThrow(() -> new CommentDomainException.CommentNotFoundException(entity.getParentId()));
+        int depth = (int) parentPath.chars().filter(ch -> ch == '/').count() + 1;
+        if (depth > CommentEntity.MAX_DEPTH) {
+            throw new CommentDomainException.CommentNotReplyableException(entity.getParentId());
+        }
+        entity.setPath(parentPath + CommentEntity.PATH_SEPARATOR + entity.getId());
+        entity.setDepth(depth);
+    }
 }
\ No newline at end of file
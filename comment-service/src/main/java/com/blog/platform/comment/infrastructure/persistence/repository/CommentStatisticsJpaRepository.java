@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,12 @@ public interface CommentStatisticsJpaRepository extends JpaRepository<CommentSta
      */
     Optional<CommentStatisticsEntity> findByCommentId(String commentId);
     
+    /**
+     * Like counts for a batch of comments: rows of [commentId, likeCount]
+     */
+    @Query("SELECT s.commentId, s.likeCount FROM CommentStatisticsEntity s WHERE s.commentId IN :commentIds")
+    List<Object[]> findLikeCountsByCommentIds(@Param("commentIds") Collection<String> commentIds);
+    
     /**
      * Find comments with most likes
      */
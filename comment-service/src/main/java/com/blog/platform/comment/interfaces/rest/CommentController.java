@@ -2,6 +2,8 @@ package com.blog.platform.comment.interfaces.rest;
 
 import com.blog.platform.comment.application.dto.*;
 import com.blog.platform.comment.application.service.CommentApplicationService;
+import com.blog.platform.common.repository.CursorPage;
+import com.blog.platform.common.repository.TotalMode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -61,8 +63,22 @@ public class CommentController {
     public ResponseEntity<PageResult<CommentDto>> getCommentsByArticle(
             @PathVariable String articleId,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String totalMode) {
+        PageResult<CommentDto> comments = commentApplicationService.getCommentsByArticleId(articleId, page, size,
+                TotalMode.parse(totalMode, TotalMode.EXACT));
+        return ResponseEntity.ok(comments);
+    }
+    
+    /**
+     * 获取文章的评论列表（游标分页，带after参数时使用，第一页传空值）
+     */
+    @GetMapping(value = "/article/{articleId}", params = "after")
+    public ResponseEntity<CursorPage<CommentDto>> getCommentsByArticleAfter(
+            @PathVariable String articleId,
+            @RequestParam String after,
             @RequestParam(defaultValue = "10") int size) {
-        PageResult<CommentDto> comments = commentApplicationService.getCommentsByArticleId(articleId, page, size);
+        CursorPage<CommentDto> comments = commentApplicationService.getCommentsByArticleIdAfter(articleId, after, size);
         return ResponseEntity.ok(comments);
     }
     
@@ -75,6 +91,44 @@ public class CommentController {
         return ResponseEntity.ok(commentTree);
     }
     
+    /**
+     * 分页获取文章的评论树：一页根评论及每条的前replies条回复（带after参数时使用，第一页传空值）
+     */
+    @GetMapping(value = "/article/{articleId}/tree", params = "after")
+    public ResponseEntity<CursorPage<CommentTreeDto>> getCommentTreeByArticleAfter(
+            @PathVariable String articleId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "3") int replies) {
+        CursorPage<CommentTreeDto> commentTree =
+                commentApplicationService.getCommentTreeByArticleIdAfter(articleId, after, size, replies);
+        return ResponseEntity.ok(commentTree);
+    }
+    
+    /**
+     * 按需加载评论的直接回复（游标分页），after取节点的repliesCursor
+     */
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<CursorPage<CommentTreeDto>> getReplies(
+            @PathVariable String commentId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "3") int replies) {
+        CursorPage<CommentTreeDto> page = commentApplicationService.getRepliesAfter(commentId, after, size, replies);
+        return ResponseEntity.ok(page);
+    }
+    
+    /**
+     * 获取评论的子树（至多limit条回复）
+     */
+    @GetMapping("/{commentId}/subtree")
+    public ResponseEntity<CommentTreeDto> getCommentSubtree(
+            @PathVariable String commentId,
+            @RequestParam(defaultValue = "200") int limit) {
+        CommentTreeDto subtree = commentApplicationService.getCommentSubtree(commentId, limit);
+        return ResponseEntity.ok(subtree);
+    }
+    
     /**
      * 获取用户的评论列表（分页）
      */
@@ -82,8 +136,22 @@ public class CommentController {
     public ResponseEntity<PageResult<CommentDto>> getCommentsByAuthor(
             @PathVariable String authorId,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String totalMode) {
+        PageResult<CommentDto> comments = commentApplicationService.getCommentsByAuthorId(authorId, page, size,
+                TotalMode.parse(totalMode, TotalMode.EXACT));
+        return ResponseEntity.ok(comments);
+    }
+    
+    /**
+     * 获取用户的评论列表（游标分页，带after参数时使用，第一页传空值）
+     */
+    @GetMapping(value = "/author/{authorId}", params = "after")
+    public ResponseEntity<CursorPage<CommentDto>> getCommentsByAuthorAfter(
+            @PathVariable String authorId,
+            @RequestParam String after,
             @RequestParam(defaultValue = "10") int size) {
-        PageResult<CommentDto> comments = commentApplicationService.getCommentsByAuthorId(authorId, page, size);
+        CursorPage<CommentDto> comments = commentApplicationService.getCommentsByAuthorIdAfter(authorId, after, size);
         return ResponseEntity.ok(comments);
     }
     
@@ -0,0 +1,26 @@
+-- Comment Service: 评论物化路径
+
+-- path 为从根评论到自身的ID序列（以/分隔），depth 为回复层级（根评论为0）
+-- 使用 ascii 字符集以便整列建索引，支持按前缀 LIKE 'path/%' 查询子树
+ALTER TABLE comments
+ADD COLUMN path VARCHAR(1900) CHARACTER SET ascii NULL COMMENT '物化路径',
+ADD COLUMN depth INT NOT NULL DEFAULT 0 COMMENT '回复层级',
+ADD INDEX idx_path (path),
+ADD INDEX idx_parent_status_created (parent_id, status, created_at, id),
+ADD INDEX idx_article_root_created (article_id, parent_id, status, created_at, id);
+
+-- 回填已有评论
+UPDATE comments c
+JOIN (
+    WITH RECURSIVE tree AS (
+        SELECT id, CAST(id AS CHAR(1900) CHARACTER SET ascii) AS path, 0 AS depth
+        FROM comments
+        WHERE parent_id IS NULL
+        UNION ALL
+        SELECT child.id, CONCAT(tree.path, '/', child.id), tree.depth + 1
+        FROM comments child
+        JOIN tree ON child.parent_id = tree.id
+    )
+    SELECT id, path, depth FROM tree
+) t ON c.id = t.id
+SET c.path = t.path, c.depth = t.depth;
@@ -2,17 +2,41 @@ package com.blog.platform.comment.application.service;
 
 import com.blog.platform.comment.application.dto.CreateCommentRequest;
 import com.blog.platform.comment.application.dto.CommentDto;
+import com.blog.platform.comment.application.dto.PageResult;
 import com.blog.platform.comment.domain.repository.CommentRepository;
+import com.blog.platform.comment.infrastructure.cache.CommentTreeCache;
+import com.blog.platform.comment.infrastructure.elasticsearch.model.CommentReadModel;
+import com.blog.platform.comment.infrastructure.elasticsearch.service.CommentReadModelWatermark;
+import com.blog.platform.comment.infrastructure.elasticsearch.service.CommentSearchService;
+import com.blog.platform.comment.infrastructure.messaging.CommentEventPublisher;
+import com.blog.platform.comment.infrastructure.persistence.entity.CommentEntity;
 import com.blog.platform.comment.infrastructure.persistence.repository.CommentJpaRepository;
+import com.blog.platform.comment.infrastructure.persistence.repository.CommentStatisticsJpaRepository;
+import com.blog.platform.common.cache.ApproximateCountService;
+import com.blog.platform.common.cache.ExistenceFilterService;
 import com.blog.platform.common.domain.DomainEventPublisher;
+import com.blog.platform.common.domain.comment.Comment;
+import com.blog.platform.common.repository.TotalMode;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,9 +51,34 @@ class CommentApplicationServiceTest {
     @Mock
     private DomainEventPublisher eventPublisher;
     
-    @InjectMocks
+    @Mock
+    private CommentSearchService commentSearchService;
+    
+    @Mock
+    private CommentReadModelWatermark readModelWatermark;
+    
+    @Mock
+    private CommentEventPublisher commentEventPublisher;
+    
+    @Mock
+    private CommentStatisticsJpaRepository commentStatisticsJpaRepository;
+    
+    @Mock
+    private ExistenceFilterService existenceFilterService;
+    
+    @Mock
+    private ApproximateCountService approximateCountService;
+    
+    @Mock
+    private CommentTreeCache commentTreeCache;
+    
     private CommentApplicationService commentApplicationService;
     
+    @BeforeEach
+    void setUp() {
+        commentApplicationService = newService(new DefaultListableBeanFactory());
+    }
+    
     @Test
     void shouldValidateCreateCommentRequest() {
         // Given
@@ -71,4 +120,77 @@ class CommentApplicationServiceTest {
             commentApplicationService.createComment(request);
         });
     }
-}
\ No newline at end of file
+    
+    @Test
+    void shouldServeArticleCommentsFromReadModelWhenFresh() {
+        // Given
+        enableReadModel();
+        CommentReadModel readModel = new CommentReadModel("comment-1", "article-1", "author-1", "From read model");
+        readModel.setStatus("ACTIVE");
+        readModel.setCreatedAt(LocalDateTime.now());
+        readModel.setLikeCount(3L);
+        readModel.setReplyCount(2L);
+        when(readModelWatermark.isFresh("article-1")).thenReturn(true);
+        when(commentSearchService.getArticleComments(eq("article-1"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(readModel), PageRequest.of(0, 10), 1));
+        
+        // When
+        PageResult<CommentDto> result = commentApplicationService.getCommentsByArticleId("article-1", 0, 10, TotalMode.EXACT);
+        
+        // Then
+        assertEquals(1, result.getTotalElements());
+        assertEquals(3, result.getContent().get(0).getLikeCount());
+        assertEquals(2, result.getContent().get(0).getReplyCount());
+        verifyNoInteractions(commentJpaRepository);
+    }
+    
+    @Test
+    void shouldFallBackToDatabaseWhenReadModelLags() {
+        // Given
+        enableReadModel();
+        when(readModelWatermark.isFresh("article-1")).thenReturn(false);
+        when(commentJpaRepository.findActiveCommentsByArticleId(eq("article-1"), any(Pageable.class)))
+                .thenReturn(new PageImpl<CommentEntity>(List.of(), PageRequest.of(0, 10), 0));
+        
+        // When
+        PageResult<CommentDto> result = commentApplicationService.getCommentsByArticleId("article-1", 0, 10, TotalMode.EXACT);
+        
+        // Then
+        assertEquals(0, result.getTotalElements());
+        verifyNoInteractions(commentSearchService);
+    }
+    
+    @Test
+    void shouldRecordReadModelWriteBeforePublishingSyncEvents() {
+        // Given
+        enableReadModel();
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        CreateCommentRequest request = new CreateCommentRequest();
+        request.setArticleId("article-1");
+        request.setAuthorId("author-1");
+        request.setContent("Test comment");
+        
+        // When
+        commentApplicationService.createComment(request);
+        
+        // Then: 同步消费先于登记完成时会找不到待清除的水位
+        InOrder inOrder = inOrder(readModelWatermark, eventPublisher);
+        inOrder.verify(readModelWatermark).recordWrite(eq("article-1"), anyString());
+        inOrder.verify(eventPublisher).publishEvents(any(Comment.class));
+    }
+    
+    private void enableReadModel() {
+        DefaultListableBeanFactory readModelBeans = new DefaultListableBeanFactory();
+        readModelBeans.registerSingleton("commentSearchService", commentSearchService);
+        readModelBeans.registerSingleton("commentReadModelWatermark", readModelWatermark);
+        commentApplicationService = newService(readModelBeans);
+        ReflectionTestUtils.setField(commentApplicationService, "cqrsEnabled", true);
+    }
+    
+    private CommentApplicationService newService(DefaultListableBeanFactory readModelBeans) {
+        return new CommentApplicationService(commentRepository, commentJpaRepository, eventPublisher, Optional.empty(),
+                commentEventPublisher, commentStatisticsJpaRepository, existenceFilterService, approximateCountService,
+                commentTreeCache, readModelBeans.getBeanProvider(CommentSearchService.class),
+                readModelBeans.getBeanProvider(CommentReadModelWatermark.class));
+    }
+}
@@ -0,0 +1,97 @@
+package com.blog.platform.comment.infrastructure.cache;
+
+import com.blog.platform.comment.infrastructure.persistence.repository.CommentJpaRepository;
+import com.blog.platform.common.cache.CacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CommentTreeCacheTest {
+
+    private static final String KEY = "comment:tree:article-1";
+
+    private static final String GENERATION_KEY = "comment:tree:generation:article-1";
+
+    private CacheService cacheService;
+
+    private ValueOperations<String, Object> valueOps;
+
+    private CommentJpaRepository commentJpaRepository;
+
+    private CommentTreeCache treeCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cacheService = mock(CacheService.class);
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        commentJpaRepository = mock(CommentJpaRepository.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(cacheService.tryLock(eq(KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(commentJpaRepository.findActiveCommentsByArticleId("article-1")).thenReturn(List.of());
+        treeCache = new CommentTreeCache(cacheService, redisTemplate, commentJpaRepository, 30, 5000);
+    }
+
+    @Test
+    void get_ShouldCacheSnapshotWhenNothingWasEvictedDuringLoad() {
+        // Given
+        when(valueOps.increment(GENERATION_KEY, 0)).thenReturn(3L);
+
+        // When
+        CommentTreeSnapshot snapshot = treeCache.get("article-1");
+
+        // Then
+        assertThat(snapshot.size()).isZero();
+        verify(cacheService).set(eq(KEY), same(snapshot), any(Duration.class));
+        verify(cacheService, never()).delete(KEY);
+    }
+
+    @Test
+    void get_ShouldDropSnapshotWhenEvictedWhileLoading() {
+        // Given: an event on another instance evicted the tree while the database was queried
+        when(valueOps.increment(GENERATION_KEY, 0)).thenReturn(3L, 4L);
+
+        // When
+        treeCache.get("article-1");
+
+        // Then
+        verify(cacheService).set(eq(KEY), any(CommentTreeSnapshot.class), any(Duration.class));
+        verify(cacheService).delete(KEY);
+    }
+
+    @Test
+    void get_ShouldNotCacheWhenGenerationIsUnavailable() {
+        // Given
+        when(valueOps.increment(GENERATION_KEY, 0)).thenThrow(new IllegalStateException("redis down"));
+
+        // When
+        treeCache.get("article-1");
+
+        // Then
+        verify(cacheService, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    void applyRemoved_ShouldAdvanceGenerationWhenLockIsBusy() {
+        // Given: a rebuild holds the article lock
+        when(cacheService.tryLock(eq(KEY), anyString(), any(Duration.class))).thenReturn(false);
+
+        // When
+        treeCache.applyRemoved("article-1", "c1");
+
+        // Then
+        InOrder order = inOrder(valueOps, cacheService);
+        order.verify(valueOps).increment(GENERATION_KEY);
+        order.verify(cacheService).delete(KEY);
+    }
+}
@@ -0,0 +1,95 @@
+package com.blog.platform.comment.infrastructure.cache;
+
+import com.blog.platform.comment.infrastructure.persistence.entity.CommentEntity;
+import com.blog.platform.common.cache.SmileCacheValueCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommentTreeSnapshotTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    void of_ShouldOrderParentsBeforeChildrenAndDropOrphans() {
+        CommentTreeSnapshot snapshot = CommentTreeSnapshot.of("article-1", 1, List.of(
+                comment("c3", "c2", 3),
+                comment("c1", null, 1),
+                comment("c2", "c1", 2),
+                comment("orphan", "hidden", 4)));
+
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.getId(0)).isEqualTo("c1");
+        assertThat(snapshot.getParentIndex(0)).isEqualTo(CommentTreeSnapshot.NO_PARENT);
+        assertThat(snapshot.getId(1)).isEqualTo("c2");
+        assertThat(snapshot.getParentIndex(1)).isZero();
+        assertThat(snapshot.getId(2)).isEqualTo("c3");
+        assertThat(snapshot.getParentIndex(2)).isEqualTo(1);
+        assertThat(snapshot.getLevel(2)).isEqualTo(2);
+    }
+
+    @Test
+    void withComment_ShouldAppendNewVersionAndIgnoreDuplicates() {
+        CommentTreeSnapshot snapshot = CommentTreeSnapshot.of("article-1", 1, List.of(comment("c1", null, 1)));
+
+        CommentTreeSnapshot next = snapshot.withComment("c2", "c1", "author", "reply", NOW);
+
+        assertThat(next.getVersion()).isEqualTo(2);
+        assertThat(next.size()).isEqualTo(2);
+        assertThat(next.getParentIndex(1)).isZero();
+        assertThat(next.getLevel(1)).isEqualTo(1);
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(next.withComment("c2", "c1", "author", "reply", NOW)).isSameAs(next);
+        assertThat(next.withComment("c3", "missing", "author", "reply", NOW)).isNull();
+    }
+
+    @Test
+    void withoutSubtree_ShouldRemoveDescendantsAndRemapParents() {
+        CommentTreeSnapshot snapshot = CommentTreeSnapshot.of("article-1", 1, List.of(
+                comment("c1", null, 1),
+                comment("c2", "c1", 2),
+                comment("c3", null, 3),
+                comment("c4", "c2", 4),
+                comment("c5", "c3", 5)));
+
+        CommentTreeSnapshot next = snapshot.withoutSubtree("c2");
+
+        assertThat(next.getVersion()).isEqualTo(2);
+        assertThat(next.size()).isEqualTo(3);
+        assertThat(next.getId(2)).isEqualTo("c5");
+        assertThat(next.getId(next.getParentIndex(2))).isEqualTo("c3");
+        assertThat(next.withoutSubtree("c2")).isSameAs(next);
+    }
+
+    @Test
+    void shouldSurviveCacheCodecRoundTrip() throws Exception {
+        CommentTreeSnapshot snapshot = CommentTreeSnapshot.of("article-1", 7, List.of(
+                comment("c1", null, 1),
+                comment("c2", "c1", 2)));
+        SmileCacheValueCodec codec = new SmileCacheValueCodec();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        codec.encode(snapshot, out);
+        byte[] data = out.toByteArray();
+        Object decoded = codec.decode(data, 0, data.length);
+
+        assertThat(decoded).isInstanceOf(CommentTreeSnapshot.class);
+        CommentTreeSnapshot copy = (CommentTreeSnapshot) decoded;
+        assertThat(copy.getVersion()).isEqualTo(7);
+        assertThat(copy.size()).isEqualTo(2);
+        assertThat(copy.getParentIndex(1)).isZero();
+        assertThat(copy.getCreatedAt(1)).isEqualTo(NOW.plusMinutes(2));
+    }
+
+    private static CommentEntity comment(String id, String parentId, int minute) {
+        CommentEntity entity = new CommentEntity(id, "article-1", "author-" + id, "content " + id);
+        entity.setParentId(parentId);
+        entity.setCreatedAt(NOW.plusMinutes(minute));
+        entity.setUpdatedAt(NOW.plusMinutes(minute));
+        return entity;
+    }
+}
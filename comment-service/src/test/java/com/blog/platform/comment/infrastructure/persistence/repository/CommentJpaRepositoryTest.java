@@ -1,6 +1,7 @@
 package com.blog.platform.comment.infrastructure.persistence.repository;
 
 import com.blog.platform.comment.infrastructure.persistence.entity.CommentEntity;
+import com.blog.platform.comment.infrastructure.persistence.entity.CommentStatisticsEntity;
 import com.blog.platform.common.domain.comment.CommentStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -232,4 +233,69 @@ class CommentJpaRepositoryTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getContent()).containsIgnoringCase("searchable");
     }
-}
\ No newline at end of file
+    
+    @Test
+    void findTopActiveRepliesByParentIds_ShouldLimitRepliesPerParentAndCountInOneQuery() {
+        // Given: comment-001 has replies 002..005, comment-010 has a single reply
+        for (int i = 3; i <= 5; i++) {
+            CommentEntity reply = new CommentEntity("comment-00" + i, "article-001", "author-00" + i, "Reply " + i);
+            reply.setParentId("comment-001");
+            entityManager.persistAndFlush(reply);
+        }
+        CommentEntity otherRoot = new CommentEntity("comment-010", "article-001", "author-010", "Other root");
+        entityManager.persistAndFlush(otherRoot);
+        CommentEntity otherReply = new CommentEntity("comment-011", "article-001", "author-011", "Other reply");
+        otherReply.setParentId("comment-010");
+        entityManager.persistAndFlush(otherReply);
+        CommentStatisticsEntity statistics = new CommentStatisticsEntity(testComment);
+        statistics.setLikeCount(7L);
+        entityManager.persistAndFlush(statistics);
+        entityManager.clear();
+        
+        // When
+        List<CommentEntity> replies = commentRepository.findTopActiveRepliesByParentIds(
+                List.of("comment-001", "comment-010"), 2);
+        List<Object[]> counts = commentRepository.findCommentCountsByIds(List.of("comment-001", "comment-010", "comment-011"));
+        
+        // Then
+        assertThat(replies).extracting(CommentEntity::getParentId)
+                .containsExactlyInAnyOrder("comment-001", "comment-001", "comment-010");
+        assertThat(counts).extracting(row -> row[0] + ":" + row[1] + ":" + row[2])
+                .containsExactlyInAnyOrder("comment-001:7:4", "comment-010:0:1", "comment-011:0:0");
+    }
+    
+    @Test
+    void findActiveDescendantsByPath_ShouldReturnSubtreeOnly() {
+        // Given
+        CommentEntity nested = new CommentEntity("comment-003", "article-001", "author-003", "Nested reply");
+        nested.setParentId("comment-002");
+        nested.setPath("comment-001/comment-002/comment-003");
+        nested.setDepth(2);
+        entityManager.persistAndFlush(nested);
+        CommentEntity sibling = new CommentEntity("comment-004", "article-001", "author-004", "Root with similar prefix");
+        sibling.setPath("comment-0010");
+        entityManager.persistAndFlush(sibling);
+        CommentEntity child = new CommentEntity("comment-005", "article-001", "author-005", "Reply to comment-002");
+        child.setParentId("comment-002");
+        child.setPath("comment-001/comment-002/comment-005");
+        child.setDepth(2);
+        entityManager.persistAndFlush(child);
+        entityManager.getEntityManager()
+                .createQuery("UPDATE CommentEntity c SET c.path = 'comment-001/comment-002', c.depth = 1 WHERE c.id = 'comment-002'")
+                .executeUpdate();
+        entityManager.getEntityManager()
+                .createQuery("UPDATE CommentEntity c SET c.path = 'comment-001' WHERE c.id = 'comment-001'")
+                .executeUpdate();
+        entityManager.clear();
+        
+        // When
+        List<CommentEntity> subtree = commentRepository.findActiveDescendantsByPath("comment-001", PageRequest.of(0, 10));
+        List<CommentEntity> limited = commentRepository.findActiveDescendantsByPath("comment-001", PageRequest.of(0, 1));
+        
+        // Then
+        assertThat(subtree).extracting(CommentEntity::getId)
+                .containsExactly("comment-002", "comment-003", "comment-005");
+        assertThat(limited).extracting(CommentEntity::getId).containsExactly("comment-002");
+        assertThat(commentRepository.findPathById("comment-003")).contains("comment-001/comment-002/comment-003");
+    }
+}
@@ -0,0 +1,79 @@
+package com.blog.platform.comment.infrastructure.persistence.repository;
+
+import com.blog.platform.comment.domain.exception.CommentDomainException;
+import com.blog.platform.comment.infrastructure.persistence.entity.CommentEntity;
+import com.blog.platform.common.domain.article.ArticleId;
+import com.blog.platform.common.domain.comment.Comment;
+import com.blog.platform.common.domain.comment.CommentContent;
+import com.blog.platform.common.domain.comment.CommentId;
+import com.blog.platform.common.domain.comment.CommentStatus;
+import com.blog.platform.common.domain.user.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CommentRepositoryImplTest {
+
+    private CommentJpaRepository commentJpaRepository;
+
+    private CommentRepositoryImpl commentRepository;
+
+    @BeforeEach
+    void setUp() {
+        commentJpaRepository = mock(CommentJpaRepository.class);
+        when(commentJpaRepository.save(any(CommentEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        commentRepository = new CommentRepositoryImpl(commentJpaRepository);
+    }
+
+    @Test
+    void save_ShouldAppendNewReplyToParentPath() {
+        // Given
+        when(commentJpaRepository.findPathById("root")).thenReturn(Optional.of("root"));
+        Comment reply = Comment.createReply(new ArticleId("article-1"), new UserId("user-1"),
+                new CommentContent("reply"), new CommentId("root"));
+
+        // When
+        commentRepository.save(reply);
+
+        // Then
+        ArgumentCaptor<CommentEntity> saved = ArgumentCaptor.forClass(CommentEntity.class);
+        verify(commentJpaRepository).save(saved.capture());
+        assertThat(saved.getValue().getPath()).isEqualTo("root/" + reply.getId().getValue());
+        assertThat(saved.getValue().getDepth()).isEqualTo(1);
+    }
+
+    @Test
+    void save_ShouldNotLookUpParentPathWhenUpdatingExistingComment() {
+        // Given
+        Comment existing = Comment.reconstruct(new CommentId("reply"), new ArticleId("article-1"),
+                new UserId("user-1"), new CommentContent("reply"), new CommentId("root"),
+                CommentStatus.ACTIVE, LocalDateTime.now(), LocalDateTime.now());
+
+        // When
+        commentRepository.save(existing);
+
+        // Then
+        verify(commentJpaRepository, never()).findPathById(anyString());
+    }
+
+    @Test
+    void save_ShouldRejectReplyWhenParentIsGone() {
+        // Given: the parent was soft-deleted, so its row is filtered out
+        when(commentJpaRepository.findPathById("root")).thenReturn(Optional.empty());
+        Comment reply = Comment.createReply(new ArticleId("article-1"), new UserId("user-1"),
+                new CommentContent("reply"), new CommentId("root"));
+
+        // When / Then
+        assertThatThrownBy(() -> commentRepository.save(reply))
+                .isInstanceOf(CommentDomainException.CommentNotFoundException.class);
+        verify(commentJpaRepository, never()).save(any(CommentEntity.class));
+    }
+}
@@ -1,11 +1,14 @@
 package com.blog.platform.user.application.service;
 
+import com.blog.platform.common.cache.ExistenceFilterService;
 import com.blog.platform.common.domain.user.*;
 import com.blog.platform.user.domain.exception.UserDomainException;
 import com.blog.platform.user.application.dto.*;
 import com.blog.platform.user.domain.repository.UserRepository;
 import com.blog.platform.user.infrastructure.security.JwtTokenProvider;
+import com.blog.platform.user.infrastructure.cache.UserExistenceFilterSource;
 import com.blog.platform.user.infrastructure.messaging.UserEventPublisher;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,13 +24,16 @@ public class UserApplicationService {
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserEventPublisher userEventPublisher;
+    private final ObjectProvider<ExistenceFilterService> existenceFilterService;
     
     public UserApplicationService(UserRepository userRepository, 
                                 JwtTokenProvider jwtTokenProvider,
-                                UserEventPublisher userEventPublisher) {
+                                UserEventPublisher userEventPublisher,
+                                ObjectProvider<ExistenceFilterService> existenceFilterService) {
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
         this.userEventPublisher = userEventPublisher;
+        this.existenceFilterService = existenceFilterService;
     }
     
     /**
@@ -52,6 +58,8 @@ public class UserApplicationService {
         
         // 保存用户
         User savedUser = userRepository.save(user);
+        existenceFilterService.ifAvailable(filter ->
+                filter.put(UserExistenceFilterSource.NAME, savedUser.getId().getValue()));
         
         // 发布用户注册事件
         UserRegisteredEvent event = new UserRegisteredEvent(
@@ -101,6 +109,11 @@ public class UserApplicationService {
      */
     @Transactional(readOnly = true)
     public UserDto getUserProfile(String userId) {
+        // 布隆过滤器判定不存在的ID不再查询数据库
+        ExistenceFilterService filter = existenceFilterService.getIfAvailable();
+        if (filter != null && !filter.mightContain(UserExistenceFilterSource.NAME, userId)) {
+            throw new UserDomainException("用户不存在");
+        }
         UserId id = UserId.of(userId);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserDomainException("用户不存在"));
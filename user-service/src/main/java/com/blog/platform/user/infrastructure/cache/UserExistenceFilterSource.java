@@ -0,0 +1,34 @@
+package com.blog.platform.user.infrastructure.cache;
+
+import com.blog.platform.user.infrastructure.persistence.repository.UserJpaRepository;
+import com.blog.platform.common.cache.PagedExistenceFilterSource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 用户ID存在性过滤器数据源
+ */
+@Component
+public class UserExistenceFilterSource extends PagedExistenceFilterSource {
+    
+    public static final String NAME = "user";
+    
+    private final UserJpaRepository userJpaRepository;
+    
+    public UserExistenceFilterSource(UserJpaRepository userJpaRepository) {
+        super(NAME);
+        this.userJpaRepository = userJpaRepository;
+    }
+    
+    @Override
+    protected long countIds() {
+        return userJpaRepository.count();
+    }
+    
+    @Override
+    protected List<String> findIdsAfter(String afterId, Pageable pageable) {
+        return userJpaRepository.findIdsAfter(afterId, pageable);
+    }
+}
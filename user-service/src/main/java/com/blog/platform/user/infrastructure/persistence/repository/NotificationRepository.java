@@ -3,12 +3,14 @@ package com.blog.platform.user.infrastructure.persistence.repository;
 import com.blog.platform.user.infrastructure.persistence.entity.NotificationEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -16,6 +18,16 @@ public interface NotificationRepository extends JpaRepository<NotificationEntity
     
     Page<NotificationEntity> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
     
+    @Query("SELECT n FROM NotificationEntity n WHERE n.userId = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<NotificationEntity> findSliceByUserId(@Param("userId") String userId, Pageable pageable);
+    
+    @Query("SELECT n FROM NotificationEntity n WHERE n.userId = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<NotificationEntity> findSliceByUserIdAfter(@Param("userId") String userId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id, Pageable pageable);
+    
     List<NotificationEntity> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(String userId);
     
     @Query("SELECT COUNT(n) FROM NotificationEntity n WHERE n.userId = :userId AND n.isRead = false")
@@ -96,4 +96,10 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, String> {
            "LOWER(u.nickname) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     Page<UserEntity> findByKeyword(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    /**
+     * Find user IDs after the given ID (keyset batches for full scans)
+     */
+    @Query("SELECT u.id FROM UserEntity u WHERE u.id > :afterId ORDER BY u.id")
+    List<String> findIdsAfter(@Param("afterId") String afterId, Pageable pageable);
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.blog.platform.user.interfaces.rest;
 
+import com.blog.platform.common.repository.CursorPage;
+import com.blog.platform.common.repository.KeysetCursor;
 import com.blog.platform.user.infrastructure.persistence.entity.NotificationEntity;
 import com.blog.platform.user.infrastructure.persistence.repository.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +22,8 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class NotificationController {
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
     @Autowired
     private NotificationRepository notificationRepository;
     
@@ -60,16 +65,7 @@ public class NotificationController {
         
         List<Map<String, Object>> notifications = new ArrayList<>();
         for (NotificationEntity entity : notificationPage.getContent()) {
-            Map<String, Object> notification = new HashMap<>();
-            notification.put("id", entity.getId());
-            notification.put("type", entity.getType().name());
-            notification.put("title", entity.getTitle());
-            notification.put("content", entity.getContent());
-            notification.put("referenceId", entity.getReferenceId());
-            notification.put("referenceType", entity.getReferenceType());
-            notification.put("isRead", entity.getIsRead());
-            notification.put("createdAt", entity.getCreatedAt());
-            notifications.add(notification);
+            notifications.add(toMap(entity));
         }
         
         result.put("content", notifications);
@@ -81,6 +77,30 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(result));
     }
     
+    /**
+     * 游标分页，带after参数（第一页传空值）时使用，按(createdAt, id)倒序，不执行COUNT
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>> getNotificationsAfter(
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        if (userId == null || userId.isEmpty()) {
+            return ResponseEntity.ok(ApiResponse.success(new CursorPage<>(new ArrayList<>(), pageSize, false, null)));
+        }
+        
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Pageable pageable = PageRequest.of(0, pageSize);
+        Slice<NotificationEntity> slice = cursor == null
+                ? notificationRepository.findSliceByUserId(userId, pageable)
+                : notificationRepository.findSliceByUserIdAfter(userId, cursor.getSortKey(), cursor.getLongId(), pageable);
+        
+        return ResponseEntity.ok(ApiResponse.success(CursorPage.from(slice, this::toMap,
+                entity -> KeysetCursor.of(entity.getCreatedAt(), entity.getId()))));
+    }
+    
     @PutMapping("/{id}/read")
     public ResponseEntity<ApiResponse<Void>> markAsRead(
             @PathVariable Long id,
@@ -99,4 +119,17 @@ public class NotificationController {
         }
         return ResponseEntity.ok(ApiResponse.success("全部标记已读成功", null));
     }
+    
+    private Map<String, Object> toMap(NotificationEntity entity) {
+        Map<String, Object> notification = new HashMap<>();
+        notification.put("id", entity.getId());
+        notification.put("type", entity.getType().name());
+        notification.put("title", entity.getTitle());
+        notification.put("content", entity.getContent());
+        notification.put("referenceId", entity.getReferenceId());
+        notification.put("referenceType", entity.getReferenceType());
+        notification.put("isRead", entity.getIsRead());
+        notification.put("createdAt", entity.getCreatedAt());
+        return notification;
+    }
 }
@@ -1,5 +1,6 @@
 package com.blog.platform.user.application.service;
 
+import com.blog.platform.common.cache.ExistenceFilterService;
 import com.blog.platform.common.domain.user.*;
 import com.blog.platform.user.application.dto.AuthTokenDto;
 import com.blog.platform.user.application.dto.LoginRequest;
@@ -9,6 +10,7 @@ import com.blog.platform.user.infrastructure.security.JwtTokenProvider;
 import com.blog.platform.user.infrastructure.messaging.UserEventPublisher;
 import net.jqwik.api.*;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.util.Optional;
 
@@ -33,7 +35,7 @@ class UserAuthenticationProperties {
         UserRepository userRepository = Mockito.mock(UserRepository.class);
         JwtTokenProvider jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
         UserEventPublisher userEventPublisher = Mockito.mock(UserEventPublisher.class);
-        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher);
+        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher, noExistenceFilter());
         
         Username usernameObj = Username.of(username);
         Email email = Email.of(username + "@example.com");
@@ -68,7 +70,7 @@ class UserAuthenticationProperties {
         UserRepository userRepository = Mockito.mock(UserRepository.class);
         JwtTokenProvider jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
         UserEventPublisher userEventPublisher = Mockito.mock(UserEventPublisher.class);
-        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher);
+        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher, noExistenceFilter());
         
         Username usernameObj = Username.of(username);
         Email email = Email.of(username + "@example.com");
@@ -92,7 +94,7 @@ class UserAuthenticationProperties {
         UserRepository userRepository = Mockito.mock(UserRepository.class);
         JwtTokenProvider jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
         UserEventPublisher userEventPublisher = Mockito.mock(UserEventPublisher.class);
-        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher);
+        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher, noExistenceFilter());
         
         Username usernameObj = Username.of(username);
         when(userRepository.findByUsername(usernameObj)).thenReturn(Optional.empty());
@@ -111,7 +113,7 @@ class UserAuthenticationProperties {
         UserRepository userRepository = Mockito.mock(UserRepository.class);
         JwtTokenProvider jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
         UserEventPublisher userEventPublisher = Mockito.mock(UserEventPublisher.class);
-        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher);
+        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher, noExistenceFilter());
         
         Username usernameObj = Username.of(username);
         Email email = Email.of(username + "@example.com");
@@ -143,4 +145,9 @@ class UserAuthenticationProperties {
                 .ofMinLength(6)
                 .ofMaxLength(20);
     }
+    
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<ExistenceFilterService> noExistenceFilter() {
+        return Mockito.mock(ObjectProvider.class);
+    }
 }
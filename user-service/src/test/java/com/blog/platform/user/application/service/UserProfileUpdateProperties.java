@@ -1,5 +1,6 @@
 package com.blog.platform.user.application.service;
 
+import com.blog.platform.common.cache.ExistenceFilterService;
 import com.blog.platform.common.domain.user.*;
 import com.blog.platform.user.application.dto.UpdateProfileRequest;
 import com.blog.platform.user.application.dto.UserDto;
@@ -9,6 +10,7 @@ import com.blog.platform.user.infrastructure.security.JwtTokenProvider;
 import com.blog.platform.user.infrastructure.messaging.UserEventPublisher;
 import net.jqwik.api.*;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -37,7 +39,7 @@ class UserProfileUpdateProperties {
         UserRepository userRepository = Mockito.mock(UserRepository.class);
         JwtTokenProvider jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
         UserEventPublisher userEventPublisher = Mockito.mock(UserEventPublisher.class);
-        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher);
+        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher, noExistenceFilter());
         
         Username usernameObj = Username.of(username);
         Email email = Email.of(username + "@example.com");
@@ -86,7 +88,7 @@ class UserProfileUpdateProperties {
         UserRepository userRepository = Mockito.mock(UserRepository.class);
         JwtTokenProvider jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
         UserEventPublisher userEventPublisher = Mockito.mock(UserEventPublisher.class);
-        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher);
+        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher, noExistenceFilter());
         
         UserId userIdObj = UserId.of(userId);
         when(userRepository.findById(userIdObj)).thenReturn(Optional.empty());
@@ -111,7 +113,7 @@ class UserProfileUpdateProperties {
         UserRepository userRepository = Mockito.mock(UserRepository.class);
         JwtTokenProvider jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
         UserEventPublisher userEventPublisher = Mockito.mock(UserEventPublisher.class);
-        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher);
+        UserApplicationService userApplicationService = new UserApplicationService(userRepository, jwtTokenProvider, userEventPublisher, noExistenceFilter());
         
         Username usernameObj = Username.of(username);
         Email email = Email.of(username + "@example.com");
@@ -199,4 +201,9 @@ class UserProfileUpdateProperties {
                 .ofLength(36)
                 .map(s -> s.substring(0, 8) + "-" + s.substring(8, 12) + "-" + s.substring(12, 16) + "-" + s.substring(16, 20) + "-" + s.substring(20, 32));
     }
+    
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<ExistenceFilterService> noExistenceFilter() {
+        return Mockito.mock(ObjectProvider.class);
+    }
 }